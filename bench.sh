@@ -0,0 +1,8 @@
+# Builds the library together with the benchmarks in src/benchmarks and runs them (see
+# src/benchmarks/javacli/BenchmarkRunner.java). Arguments are passed on as filters, ex: ./bench.sh Number
+# The benchmarks run on the class path like the tests, with the Vector API so both delimiter scans are measured
+rm -rf ./src/bench-jv
+javac --add-modules jdk.incubator.vector -d ./src/bench-jv $(find ./src/src/javacli ./src/benchmarks -name '*.java') 2>&1 | grep -v -e 'incubat' -e '^1 warning$'
+[ -d ./src/bench-jv/javacli ] || exit 1
+
+java --add-modules jdk.incubator.vector -cp ./src/bench-jv javacli.BenchmarkRunner "$@" 2>&1 | grep -v 'incubat'
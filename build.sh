@@ -1,3 +1,19 @@
-javac -d ./src/jv $(find ./src/ -name '*.java')
+# Start from empty output directories, so classes of deleted sources are not left in the jars
+rm -rf ./src/jv ./src/processor-jv
+
+# The Vector API scan of DelimiterScanner always warns that jdk.incubator.vector is incubating, which -Werror cannot
+# leave out, so the build fails on any other warning instead
+output=$(javac -Xlint:all -d ./src/jv $(find ./src/src -name '*.java') 2>&1) || { echo "$output"; exit 1; }
+echo "$output" | grep -v -e 'using incubating module(s): jdk.incubator.vector' -e '^1 warning$' | grep -q . && { echo "$output"; exit 1; }
 cd src/jv
-jar -cf ../../release/javacli.jar ./javacli
\ No newline at end of file
+jar --create --file ../../release/javacli.jar module-info.class ./javacli
+cd ../..
+
+# The annotation processor that writes plugin command index files needs java.compiler, so it is a separate jar
+javac -Xlint:all -Werror -cp ./src/jv -d ./src/processor-jv $(find ./src/processor -name '*.java') || exit 1
+cp -r ./src/processor/META-INF ./src/processor-jv/
+jar --create --file ./release/javacli-processor.jar -C ./src/processor-jv .
+
+# The jar is a java.base-only module. To build a minimal runtime for an application module:
+#   jlink --module-path release/javacli.jar:app.jar --add-modules app --output runtime
+# Add jdk.incubator.vector to --add-modules (and to java when the application runs) to scan long value lists with the Vector API
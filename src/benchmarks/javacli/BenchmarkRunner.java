@@ -0,0 +1,132 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// BenchmarkRunner.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli;
+
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class BenchmarkRunner
+//
+// Runs the benchmarks of the library, without a harness library so they build with javac alone (see
+// bench.sh). A benchmark is a public static void method with no arguments whose name starts with "bench",
+// in one of the classes listed below. It times its code with measure(), usually once for the library's
+// way and once for the plain JDK way it replaces, so the two lines can be compared. The numbers are only
+// comparable between runs on the same machine
+//
+public class BenchmarkRunner {
+
+    private static final Class<?>[] BENCHMARK_CLASSES = {
+            javacli.helper.DelimiterScannerBenchmark.class,
+            javacli.helper.ListConversionBenchmark.class,
+            javacli.helper.NumberParserBenchmark.class,
+            ParseCacheBenchmark.class,
+    };
+
+    private static final int WARMUP_ROUNDS = 5; // Untimed rounds, so the code is compiled before it is timed
+    private static final int ROUNDS = 10; // Timed rounds, the median is reported
+
+    private static volatile Object sink; // Every result is written here, so the JIT cannot drop the code that computes it
+
+
+    // ----------------------------------------------------------------------------------------------------
+    // public interface Body
+    //
+    // The code to time. It returns its result, so the result is used
+    //
+    public interface Body {
+        Object run() throws Exception;
+    }
+    // end: public interface Body
+
+
+    private BenchmarkRunner() {
+    }
+
+
+    // Arguments are optional filters, only classes whose simple name contains one of them are run (ex: ./bench.sh Number)
+    public static void main(String[] args) throws Exception {
+        System.out.println(String.format("%-60s %14s %14s %14s", "benchmark", "median ns/op", "min ns/op", "max ns/op"));
+
+        for (Class<?> benchmarkClass : BENCHMARK_CLASSES) {
+            if (args.length > 0 && Arrays.stream(args).noneMatch(benchmarkClass.getSimpleName()::contains)) continue;
+
+            List<Method> benchmarks = new ArrayList<>();
+            for (Method m : benchmarkClass.getDeclaredMethods()) {
+                if (m.getName().startsWith("bench") && Modifier.isStatic(m.getModifiers()) && m.getParameterCount() == 0) benchmarks.add(m);
+            }
+            benchmarks.sort(Comparator.comparing(Method::getName)); // getDeclaredMethods has no order
+
+            for (Method benchmark : benchmarks) {
+                try { benchmark.invoke(null); }
+                catch (InvocationTargetException e) { throw new Exception(benchmarkClass.getSimpleName() + "." + benchmark.getName() + " failed", e.getCause()); }
+            }
+        }
+    }
+
+
+    // ====================================================================================================
+    // public static void measure
+    //
+    // Times some code and prints the time of one operation, the median of several rounds
+    //
+    // Arguments--
+    //
+    // name:        the name of the measurement
+    //
+    // operations:  the number of operations each run of the body does, ex: the number of elements it converts
+    //
+    // body:        the code to time
+    //
+    // Returns--
+    //
+    // None
+    //
+    public static void measure(String name, int operations, Body body) throws Exception {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) sink = body.run();
+
+        double[] nanosPerOperation = new double[ROUNDS];
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            sink = body.run();
+            nanosPerOperation[round] = (double) (System.nanoTime() - start) / operations;
+        }
+        report(name, nanosPerOperation);
+    }
+    // end: public static void measure
+
+
+    // ====================================================================================================
+    // public static void report
+    //
+    // Prints times that were measured some other way than with measure(), ex: in new JVMs
+    //
+    // Arguments--
+    //
+    // name:                the name of the measurement
+    //
+    // nanosPerOperation:   the time of one operation in each round, sorted by this method
+    //
+    // Returns--
+    //
+    // None
+    //
+    public static void report(String name, double[] nanosPerOperation) {
+        Arrays.sort(nanosPerOperation);
+        System.out.println(String.format("%-60s %14.1f %14.1f %14.1f",
+                name, nanosPerOperation[nanosPerOperation.length / 2], nanosPerOperation[0], nanosPerOperation[nanosPerOperation.length - 1]));
+    }
+    // end: public static void report
+
+}
+// end: public class BenchmarkRunner
@@ -0,0 +1,138 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// ParseCacheBenchmark.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli;
+
+
+import javacli.annotations.Argument;
+import javacli.annotations.Option;
+import javacli.helper.ParseCache;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+
+import static javacli.BenchmarkRunner.measure;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class ParseCacheBenchmark
+//
+// A parse answered from the parse cache against one that is not, for a command with a long list of
+// numbers, a map, and a few single values. The cache is meant for runs that start a new JVM each time, so
+// the first parse of a new JVM is timed too (cold), once without the cache and once with a cache that
+// already holds the result. The other measurements repeat the parse in one JVM (warm)
+//
+public class ParseCacheBenchmark {
+
+    private static final int COLD_RUNS = 7; // New JVMs started for each cold measurement, the median is reported
+
+    public static class Build {
+        @Option(name = "threads", nargs = 1, type = int.class, defaultValue = "4")
+        public static int threads;
+
+        @Option(name = "timeout", nargs = 1, type = Duration.class)
+        public static Duration timeout;
+
+        @Option(name = "output", nargs = 1, type = Path.class)
+        public static Path output;
+
+        @Option(name = "ids", nargs = -1, type = Integer.class, multiple = true)
+        public static List<Integer> ids;
+
+        @Option(name = "define", abbreviation = 'D', nargs = 1, type = Long.class, isMap = true)
+        public static Map<String, Long> define;
+
+        @Argument(name = "target")
+        public static String target;
+    }
+
+
+    private static String[] argv() {
+        StringJoiner ids = new StringJoiner(",");
+        for (int i = 0; i < 2000; i++) ids.add(String.valueOf(i * 7));
+
+        List<String> argv = new ArrayList<>(List.of("--threads", "16", "--timeout", "90s", "--output", "out/build", "--ids", ids.toString()));
+        for (int i = 0; i < 50; i++) argv.addAll(List.of("-D", "key" + i + "=" + i));
+        argv.add("all");
+        return argv.toArray(new String[0]);
+    }
+
+    private static Path primedCache(String[] argv) throws Exception {
+        Path cacheFile = Files.createTempFile("javacli-bench", ".cache");
+        cacheFile.toFile().deleteOnExit();
+        OptionParser parser = new OptionParser(Build.class);
+        parser.enableCache(cacheFile);
+        parser.parse(argv);
+        return cacheFile;
+    }
+
+
+    // Run in a new JVM by benchCold: one parse, with the cache file given as the argument or without a cache, printing its time
+    public static void main(String[] args) throws Exception {
+        long start = System.nanoTime();
+        OptionParser parser = new OptionParser(Build.class);
+        if (args.length > 0) parser.enableCache(Path.of(args[0]));
+        parser.parse(argv());
+        System.out.println(System.nanoTime() - start);
+    }
+
+
+    public static void benchWarm() throws Exception {
+        String[] argv = argv();
+        Path cacheFile = primedCache(argv);
+
+        measure("parse without the cache, warm", 1, () -> {
+            new OptionParser(Build.class).parse(argv);
+            return Build.ids;
+        });
+        measure("parse with a cache hit, warm", 1, () -> {
+            OptionParser parser = new OptionParser(Build.class);
+            parser.enableCache(cacheFile);
+            parser.parse(argv);
+            return Build.ids;
+        });
+
+        ParseCache cache = new ParseCache(cacheFile);
+        List<Class<?>> classes = List.of(Build.class);
+        List<String> args = Arrays.asList(argv);
+        byte[] key = cache.key(classes, args);
+        measure("ParseCache.key, warm", 1, () -> cache.key(classes, args));
+        measure("ParseCache.lookup of a hit, warm", 1, () -> cache.lookup(key));
+    }
+
+
+    public static void benchCold() throws Exception {
+        Path cacheFile = primedCache(argv());
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        String classPath = System.getProperty("java.class.path");
+
+        // The runs with and without the cache alternate, so a change in the load of the machine affects both alike
+        double[][] nanos = new double[2][COLD_RUNS];
+        for (int run = 0; run < COLD_RUNS; run++) {
+            for (int cached = 0; cached < 2; cached++) {
+                List<String> command = new ArrayList<>(List.of(java, "-cp", classPath, ParseCacheBenchmark.class.getName()));
+                if (cached == 1) command.add(cacheFile.toString());
+
+                Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+                try (BufferedReader out = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+                    String line = out.readLine();
+                    if (process.waitFor() != 0 || line == null) throw new IllegalStateException("the parse in a new JVM failed: " + line);
+                    nanos[cached][run] = Long.parseLong(line.trim());
+                }
+            }
+        }
+        BenchmarkRunner.report("first parse of a new JVM, without the cache", nanos[0]);
+        BenchmarkRunner.report("first parse of a new JVM, cache hit", nanos[1]);
+    }
+
+}
+// end: public class ParseCacheBenchmark
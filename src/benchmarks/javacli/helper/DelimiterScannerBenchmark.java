@@ -0,0 +1,55 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// DelimiterScannerBenchmark.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.helper;
+
+
+import java.util.Random;
+
+import static javacli.BenchmarkRunner.measure;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class DelimiterScannerBenchmark
+//
+// The vector scan of DelimiterScanner against the scalar one and String.split, for a value list of short
+// numbers (a comma every few characters) and one of long paths (a comma every hundred characters)
+//
+public class DelimiterScannerBenchmark {
+
+    private static final int LENGTH = 4 * 1024 * 1024; // Characters in each list
+
+
+    private static String list(int partLength) {
+        Random random = new Random(46);
+        StringBuilder text = new StringBuilder(LENGTH);
+        while (text.length() < LENGTH) {
+            for (int i = 0; i < partLength; i++) text.append((char) ('a' + random.nextInt(26)));
+            text.append(',');
+        }
+        return text.substring(0, LENGTH);
+    }
+
+
+    public static void benchDenseList() throws Exception {
+        String text = list(4);
+        if (DelimiterScanner.isVectorized()) measure("DelimiterScanner dense list, vector (per char)", LENGTH, () -> VectorDelimiterScanner.find(text, ','));
+        measure("DelimiterScanner dense list, scalar (per char)", LENGTH, () -> DelimiterScanner.findScalar(text, ','));
+        measure("DelimiterScanner dense list, String.split (per char)", LENGTH, () -> text.split(","));
+    }
+
+
+    public static void benchSparseList() throws Exception {
+        String text = list(100);
+        if (DelimiterScanner.isVectorized()) measure("DelimiterScanner sparse list, vector (per char)", LENGTH, () -> VectorDelimiterScanner.find(text, ','));
+        measure("DelimiterScanner sparse list, scalar (per char)", LENGTH, () -> DelimiterScanner.findScalar(text, ','));
+        measure("DelimiterScanner sparse list, String.split (per char)", LENGTH, () -> text.split(","));
+    }
+
+}
+// end: public class DelimiterScannerBenchmark
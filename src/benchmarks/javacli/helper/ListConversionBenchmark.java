@@ -0,0 +1,61 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// ListConversionBenchmark.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.helper;
+
+
+import java.nio.file.Path;
+import java.util.*;
+
+import static javacli.BenchmarkRunner.measure;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class ListConversionBenchmark
+//
+// TypeConverter.convertAll, which converts long lists in parallel chunks, against converting the same list
+// one element at a time on the calling thread. The parallel conversion can only be faster with more than
+// one processor, so the number of processors is part of each name
+//
+public class ListConversionBenchmark {
+
+    private static final int COUNT = 1_000_000; // Elements in each list
+
+
+    private static List<String> list(boolean paths) {
+        Random random = new Random(30);
+        List<String> list = new ArrayList<>(COUNT);
+        for (int i = 0; i < COUNT; i++)
+            list.add((paths) ? "/data/run-" + random.nextInt(1000) + "/part-" + i + ".bin" : String.valueOf(random.nextInt()));
+        return list;
+    }
+
+    private static void compare(String label, Class<?> type, List<String> texts) throws Exception {
+        int processors = Runtime.getRuntime().availableProcessors();
+        TypeConverter.Converter converter = TypeConverter.forType(type);
+
+        measure("convertAll " + label + ", " + processors + " processors (per element)", COUNT, () -> TypeConverter.convertAll(type, texts));
+        measure("one at a time " + label + " (per element)", COUNT, () -> {
+            Object[] results = new Object[texts.size()];
+            for (int i = 0; i < results.length; i++) results[i] = converter.convert(texts.get(i));
+            return Arrays.asList(results);
+        });
+    }
+
+
+    public static void benchIntegers() throws Exception {
+        compare("Integer", Integer.class, list(false));
+    }
+
+
+    public static void benchPaths() throws Exception {
+        compare("Path", Path.class, list(true));
+    }
+
+}
+// end: public class ListConversionBenchmark
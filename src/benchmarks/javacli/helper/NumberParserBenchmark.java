@@ -0,0 +1,103 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// NumberParserBenchmark.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.helper;
+
+
+import java.util.Random;
+
+import static javacli.BenchmarkRunner.measure;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class NumberParserBenchmark
+//
+// NumberParser against the JDK methods it replaced (Integer.decode, Long.decode, Double.parseDouble), for
+// whole arguments and for the value of a key=value argument, which the JDK methods can only parse from a
+// substring
+//
+public class NumberParserBenchmark {
+
+    private static final int COUNT = 100_000; // Numbers parsed by each run
+
+
+    private static String[] numbers(boolean decimal) {
+        Random random = new Random(32);
+        String[] numbers = new String[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            numbers[i] = (decimal) ?
+                    String.valueOf(random.nextInt(1_000_000) / 1000.0) :
+                    String.valueOf(random.nextInt(Integer.MAX_VALUE) - Integer.MAX_VALUE / 2);
+        }
+        return numbers;
+    }
+
+
+    public static void benchInt() throws Exception {
+        String[] numbers = numbers(false);
+        measure("NumberParser.parseInt", COUNT, () -> {
+            long sum = 0;
+            for (String n : numbers) sum += NumberParser.parseInt(n, 0, n.length());
+            return sum;
+        });
+        measure("Integer.decode", COUNT, () -> {
+            long sum = 0;
+            for (String n : numbers) sum += Integer.decode(n);
+            return sum;
+        });
+    }
+
+
+    public static void benchLong() throws Exception {
+        String[] numbers = numbers(false);
+        measure("NumberParser.parseLong", COUNT, () -> {
+            long sum = 0;
+            for (String n : numbers) sum += NumberParser.parseLong(n, 0, n.length());
+            return sum;
+        });
+        measure("Long.decode", COUNT, () -> {
+            long sum = 0;
+            for (String n : numbers) sum += Long.decode(n);
+            return sum;
+        });
+    }
+
+
+    public static void benchDouble() throws Exception {
+        String[] numbers = numbers(true);
+        measure("NumberParser.parseDouble", COUNT, () -> {
+            double sum = 0;
+            for (String n : numbers) sum += NumberParser.parseDouble(n, 0, n.length());
+            return sum;
+        });
+        measure("Double.parseDouble", COUNT, () -> {
+            double sum = 0;
+            for (String n : numbers) sum += Double.parseDouble(n);
+            return sum;
+        });
+    }
+
+
+    public static void benchKeyValue() throws Exception {
+        String[] pairs = numbers(false);
+        for (int i = 0; i < COUNT; i++) pairs[i] = "key" + i + "=" + pairs[i];
+
+        measure("NumberParser.parseInt of the value of key=value", COUNT, () -> {
+            long sum = 0;
+            for (String p : pairs) sum += NumberParser.parseInt(p, p.indexOf('=') + 1, p.length());
+            return sum;
+        });
+        measure("Integer.decode of the value substring of key=value", COUNT, () -> {
+            long sum = 0;
+            for (String p : pairs) sum += Integer.decode(p.substring(p.indexOf('=') + 1));
+            return sum;
+        });
+    }
+
+}
+// end: public class NumberParserBenchmark
@@ -0,0 +1,125 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// CommandIndexProcessor.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.processor;
+
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class CommandIndexProcessor
+//
+// Annotation processor that writes the META-INF/javacli/commands index of a plugin jar, with one line
+// for each class annotated with @Command. Put release/javacli-processor.jar on the processor path when
+// compiling a plugin. The annotation is read by name, so the processor does not need the javacli jar
+//
+@SupportedAnnotationTypes("javacli.annotations.Command")
+public class CommandIndexProcessor extends AbstractProcessor {
+
+    private static final String INDEX_FILE = "META-INF/javacli/commands"; // Same as javacli.helper.CommandIndex.INDEX_FILE
+
+    private final Map<String, String> lines = new TreeMap<>(); // Index lines by command name, collected over every round
+
+
+    // ====================================================================================================
+    // public SourceVersion getSupportedSourceVersion
+    //
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+    // end: public SourceVersion getSupportedSourceVersion
+
+
+    // ====================================================================================================
+    // public boolean process
+    //
+    // Collects the @Command classes of a round, and writes the index once the last round is done
+    //
+    // Arguments--
+    //
+    // annotations: the annotation types of this round
+    //
+    // roundEnv:    the elements of this round
+    //
+    // Returns--
+    //
+    // False, so other processors can also handle @Command
+    //
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.CLASS) continue; // @Command on fields lists sub commands for --help
+
+                AnnotationMirror command = this.mirrorOf(element, annotation);
+                String name = this.valueOf(command, "name");
+                String help = this.valueOf(command, "help");
+                String className = this.processingEnv.getElementUtils().getBinaryName((TypeElement) element).toString();
+
+                if (this.lines.containsKey(name)) {
+                    this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "command name " + name + " is used more than once", element);
+                    continue;
+                }
+                // Tabs and line breaks would break the line format
+                this.lines.put(name, name + "\t" + className + "\t" + help.replaceAll("[\t\r\n]+", " "));
+            }
+        }
+
+        if (roundEnv.processingOver() && !this.lines.isEmpty()) this.writeIndex();
+        return false;
+    }
+    // end: public boolean process
+
+
+    // ====================================================================================================
+    // Private helpers
+    private void writeIndex() {
+        try {
+            FileObject indexFile = this.processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_FILE);
+            try (Writer writer = indexFile.openWriter()) {
+                writer.write("# Generated by javacli.processor.CommandIndexProcessor: name, class, help\n");
+                for (String line : this.lines.values()) writer.write(line + "\n");
+            }
+        } catch (IOException e) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "could not write " + INDEX_FILE + ": " + e.getMessage());
+        }
+    }
+
+    private AnnotationMirror mirrorOf(Element element, TypeElement annotation) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (mirror.getAnnotationType().asElement().equals(annotation)) return mirror;
+        }
+        return null;
+    }
+
+    // Gets an annotation value as text, including the default if it was not specified
+    private String valueOf(AnnotationMirror mirror, String key) {
+        Map<? extends ExecutableElement, ? extends AnnotationValue> values = this.processingEnv.getElementUtils().getElementValuesWithDefaults(mirror);
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : values.entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(key)) return String.valueOf(entry.getValue().getValue());
+        }
+        return "";
+    }
+    // end: Private helpers
+
+}
+// end: public class CommandIndexProcessor
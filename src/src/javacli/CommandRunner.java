@@ -0,0 +1,227 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// CommandRunner.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli;
+
+
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.security.CodeSource;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class CommandRunner
+//
+// Runs a command in the current JVM, ex: from a test suite or a workflow orchestrator, with its own
+// standard streams and an exit code instead of a new process. While it runs, the library prints help and
+// errors to the given streams and exits through Invocation, so --help or a parse error ends the run
+// rather than the JVM. Output the command writes to System.out directly is not captured; it should use
+// Invocation.out() instead.
+//
+// The option fields of a definition class are static, so runs of the same class share them, even from
+// different runners. Runs that are not isolated are therefore made one at a time across every runner in
+// the JVM. An isolated runner loads the command's classes again in its own class loader for each run, so
+// every run has its own fields and runs can overlap
+//
+public class CommandRunner {
+
+    // ----------------------------------------------------------------------------------------------------
+    // public interface Command
+    //
+    // The code of a command, ex: the body of its main method
+    //
+    public interface Command {
+        void run(String[] args) throws Exception;
+    }
+    // end: public interface Command
+
+
+    private static final Object sharedRunLock = new Object(); // Held by every run that is not isolated, since they share static fields
+
+    private final Command command; // The command, for runs that are not isolated
+    private final Class<?> mainClass; // The class with the main method, or null if the runner was given a Command
+    private boolean isolated; // Whether each run loads mainClass in its own class loader
+
+
+    // ----------------------------------------------------------------------------------------------------
+    // public CommandRunner
+    //
+    // Arguments--
+    //
+    // mainClass:   the class with the public static void main(String[]) method of the command
+    //
+    public CommandRunner(Class<?> mainClass) throws Exception {
+        Method main = findMain(mainClass);
+        this.mainClass = mainClass;
+        this.command = args -> invokeMain(main, args);
+    }
+    // end: public CommandRunner
+
+
+    // ----------------------------------------------------------------------------------------------------
+    // public CommandRunner
+    //
+    // Arguments--
+    //
+    // command: the code of the command. A runner created this way cannot be isolated
+    //
+    public CommandRunner(Command command) {
+        this.mainClass = null;
+        this.command = command;
+    }
+    // end: public CommandRunner
+
+
+    // ====================================================================================================
+    // public CommandRunner setIsolated
+    //
+    // Sets if each run loads the classes of the command again, from the jar or directory of the main
+    // class, in a class loader of its own. The library itself is shared by every run
+    //
+    // Arguments--
+    //
+    // isolated:    whether to isolate runs
+    //
+    // Returns--
+    //
+    // This runner
+    //
+    public CommandRunner setIsolated(boolean isolated) {
+        if (isolated && this.mainClass == null) throw new IllegalStateException("only a runner created with a main class can be isolated");
+        if (isolated && codeSourceOf(this.mainClass) == null)
+            throw new IllegalStateException("the classes of " + this.mainClass.getName() + " were not loaded from a jar or directory");
+        this.isolated = isolated;
+        return this;
+    }
+    // end: public CommandRunner setIsolated
+
+
+    // ====================================================================================================
+    // public int run
+    //
+    // Runs the command once and waits for it to end
+    //
+    // Arguments--
+    //
+    // argv:    the command line arguments
+    //
+    // stdin:   the standard input of the command
+    //
+    // stdout:  the standard output of the command, including help messages
+    //
+    // stderr:  the standard error of the command, including the stack trace of an uncaught exception
+    //
+    // Returns--
+    //
+    // The exit code: 0 if the command returns, the status given to Invocation.exit, 2 for a mistake in the
+    // arguments, or 1 if the command throws an exception
+    //
+    public int run(String[] argv, InputStream stdin, PrintStream stdout, PrintStream stderr) {
+        Invocation previous = Invocation.begin(stdin, stdout, stderr);
+        try {
+            if (this.isolated) this.runIsolated(argv.clone());
+            else synchronized (sharedRunLock) { this.command.run(argv.clone()); }
+            return 0;
+        } catch (Invocation.ExitException e) {
+            return e.getStatus();
+        } catch (Exception e) {
+            e.printStackTrace(stderr);
+            return 1;
+        } finally {
+            Invocation.end(previous);
+        }
+    }
+    // end: public int run
+
+
+    // ====================================================================================================
+    // private void runIsolated
+    //
+    // Runs the main method of a copy of the main class loaded in a new class loader, which is closed
+    // afterwards so its classes can be unloaded
+    //
+    private void runIsolated(String[] args) throws Exception {
+        URL location = codeSourceOf(this.mainClass);
+        try (IsolatingClassLoader loader = new IsolatingClassLoader(location, this.mainClass.getClassLoader())) {
+            Class<?> isolatedMain = Class.forName(this.mainClass.getName(), true, loader);
+            invokeMain(findMain(isolatedMain), args);
+        }
+    }
+    // end: private void runIsolated
+
+
+    // ====================================================================================================
+    // Private helpers
+    private static Method findMain(Class<?> mainClass) throws Exception {
+        Method main = mainClass.getMethod("main", String[].class);
+        if (!Modifier.isStatic(main.getModifiers())) throw new NoSuchMethodException(mainClass.getName() + ".main(String[]) is not static");
+        return main;
+    }
+
+    // Calls a main method, throwing what it throws rather than an InvocationTargetException
+    private static void invokeMain(Method main, String[] args) throws Exception {
+        try {
+            main.invoke(null, (Object) args);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) throw (Exception) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw e;
+        }
+    }
+
+    private static URL codeSourceOf(Class<?> mainClass) {
+        CodeSource codeSource = mainClass.getProtectionDomain().getCodeSource();
+        return (codeSource != null) ? codeSource.getLocation() : null;
+    }
+    // end: Private helpers
+
+
+    // ----------------------------------------------------------------------------------------------------
+    // private static class IsolatingClassLoader
+    //
+    // Loads the classes of one jar or directory itself before asking its parent, so they are new copies
+    // with their own static fields. Java and library classes always come from the parent, so the runs share
+    // the library and Invocation can track them
+    //
+    private static class IsolatingClassLoader extends URLClassLoader {
+
+        static {
+            ClassLoader.registerAsParallelCapable();
+        }
+
+        private IsolatingClassLoader(URL location, ClassLoader parent) {
+            super(new URL[] {location}, parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("javacli."))
+                return super.loadClass(name, resolve);
+
+            synchronized (this.getClassLoadingLock(name)) {
+                Class<?> c = this.findLoadedClass(name);
+                if (c == null) {
+                    try { c = this.findClass(name); }
+                    catch (ClassNotFoundException e) { return super.loadClass(name, resolve); } // Not in the command's jar or directory
+                }
+                if (resolve) this.resolveClass(c);
+                return c;
+            }
+        }
+
+    }
+    // end: private static class IsolatingClassLoader
+
+}
+// end: public class CommandRunner
@@ -0,0 +1,229 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// Invocation.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli;
+
+
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class Invocation
+//
+// The standard streams and exit of the command that is running. Outside a CommandRunner these are
+// System.in, System.out, System.err, and System.exit. Inside one they are the streams given to the run,
+// and exit(status) ends the run with that exit code instead of the JVM. The library reads and writes
+// through this class, and a command that should also run in process should too. The run is tracked per
+// thread and is not inherited, since a pooled thread created during a run outlives it. Tasks the library
+// runs on other threads (ex: FanOut items and pipeline stages) are given the run with wrap(), and a
+// command that starts threads of its own should do the same
+//
+public class Invocation {
+
+    // ----------------------------------------------------------------------------------------------------
+    // public static class ExitException
+    //
+    // Thrown by exit(status) inside a CommandRunner, to end the run. It must not be caught by the command
+    //
+    public static class ExitException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int status; // Exit code of the run
+
+        public ExitException(int status) {
+            super("exit " + status, null, false, false); // No stack trace, it is only used to unwind the run
+            this.status = status;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+    }
+    // end: public static class ExitException
+
+
+    private static final ThreadLocal<Invocation> current = new ThreadLocal<>(); // The run of each thread, or null outside a CommandRunner
+
+    private final InputStream in;
+    private final PrintStream out;
+    private final PrintStream err;
+    private final List<Runnable> exitActions = new ArrayList<>(); // Run when the run ends, in order
+
+
+    private Invocation(InputStream in, PrintStream out, PrintStream err) {
+        this.in = in;
+        this.out = out;
+        this.err = err;
+    }
+
+
+    // ====================================================================================================
+    // Standard streams of the current run, or of the process outside a CommandRunner
+    public static InputStream in() {
+        Invocation invocation = current.get();
+        return (invocation != null) ? invocation.in : System.in;
+    }
+
+    public static PrintStream out() {
+        Invocation invocation = current.get();
+        return (invocation != null) ? invocation.out : System.out;
+    }
+
+    public static PrintStream err() {
+        Invocation invocation = current.get();
+        return (invocation != null) ? invocation.err : System.err;
+    }
+    // end: Standard streams
+
+
+    // ====================================================================================================
+    // public static boolean isInProcess
+    //
+    // Checks if the current thread is running a command in a CommandRunner
+    //
+    // Arguments--
+    //
+    // None
+    //
+    // Returns--
+    //
+    // Whether exit(status) ends a run rather than the JVM
+    //
+    public static boolean isInProcess() {
+        return current.get() != null;
+    }
+    // end: public static boolean isInProcess
+
+
+    // ====================================================================================================
+    // public static void exit
+    //
+    // Ends the command with an exit code
+    //
+    // Arguments--
+    //
+    // status:  the exit code
+    //
+    // Returns--
+    //
+    // Never returns. Throws ExitException inside a CommandRunner, and calls System.exit otherwise
+    //
+    public static void exit(int status) {
+        if (isInProcess()) throw new ExitException(status);
+        System.exit(status);
+    }
+    // end: public static void exit
+
+
+    // ====================================================================================================
+    // public static void atExit
+    //
+    // Runs an action when the command ends: when the run ends inside a CommandRunner, or when the JVM shuts
+    // down otherwise
+    //
+    // Arguments--
+    //
+    // action:  the action to run
+    //
+    // Returns--
+    //
+    // None
+    //
+    public static void atExit(Runnable action) {
+        Invocation invocation = current.get();
+        if (invocation == null) {
+            Runtime.getRuntime().addShutdownHook(new Thread(action, "javacli-exit"));
+            return;
+        }
+
+        synchronized (invocation.exitActions) {
+            invocation.exitActions.add(action);
+        }
+    }
+    // end: public static void atExit
+
+
+    // ====================================================================================================
+    // public static <T> Callable<T> wrap
+    //
+    // Wraps a task so it runs in the run of the calling thread, whichever thread it is run on
+    //
+    // Arguments--
+    //
+    // task:    the task to run on another thread
+    //
+    // Returns--
+    //
+    // A task that uses the streams and exit of the current run while it runs, or the task itself outside a
+    // CommandRunner
+    //
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        Invocation invocation = current.get();
+        if (invocation == null) return task;
+
+        return () -> {
+            Invocation previous = current.get();
+            current.set(invocation);
+            try { return task.call(); }
+            finally { restore(previous); }
+        };
+    }
+    // end: public static <T> Callable<T> wrap
+
+
+    public static Runnable wrap(Runnable task) {
+        Invocation invocation = current.get();
+        if (invocation == null) return task;
+
+        return () -> {
+            Invocation previous = current.get();
+            current.set(invocation);
+            try { task.run(); }
+            finally { restore(previous); }
+        };
+    }
+
+
+    // ====================================================================================================
+    // Runs, used by CommandRunner
+    static Invocation begin(InputStream in, PrintStream out, PrintStream err) {
+        Invocation previous = current.get();
+        current.set(new Invocation(in, out, err));
+        return previous;
+    }
+
+    static void end(Invocation previous) {
+        Invocation invocation = current.get();
+        try {
+            List<Runnable> actions;
+            synchronized (invocation.exitActions) { actions = new ArrayList<>(invocation.exitActions); }
+            for (Runnable action : actions) {
+                try { action.run(); }
+                catch (RuntimeException e) { e.printStackTrace(invocation.err); } // Every action still runs, as with shutdown hooks
+            }
+            invocation.out.flush();
+            invocation.err.flush();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    private static void restore(Invocation previous) {
+        if (previous != null) current.set(previous);
+        else current.remove();
+    }
+    // end: Runs
+
+}
+// end: public class Invocation
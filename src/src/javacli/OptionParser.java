@@ -10,26 +10,55 @@ package javacli;
 
 
 import javacli.annotations.Argument;
+import javacli.annotations.Command;
+import javacli.annotations.ForEach;
+import javacli.annotations.Format;
 import javacli.annotations.Option;
 import javacli.annotations.Version;
+import javacli.annotations.Watch;
+import javacli.helper.ArgumentBuffer;
 import javacli.helper.CLIHelper;
+import javacli.helper.CommandIndex;
+import javacli.helper.CommandTokenizer;
+import javacli.helper.GlobExpander;
+import javacli.helper.LazyValue;
+import javacli.helper.OptionMap;
+import javacli.helper.ParseCache;
 import javacli.helper.ParsedData;
+import javacli.helper.RuntimeStats;
+import javacli.helper.TypeConverter;
+import javacli.io.IOResources;
+import javacli.io.PathWatcher;
+import javacli.io.RecordWriter;
 import javacli.parser.AnnotationSyntax;
-import javacli.parser.LongOption;
-import javacli.parser.ShortOption;
-
-import java.beans.PropertyEditor;
-import java.beans.PropertyEditorManager;
+import javacli.parser.ConstraintSet;
+import javacli.parser.OptionScope;
+import javacli.parser.ParseListener;
+import javacli.parser.ParseMachine;
+import javacli.parser.PathCheckSet;
+import javacli.parser.ReservedOptions;
+import javacli.pipeline.FanOut;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
+import java.nio.channels.Channels;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 
 // +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
 // public class OptionParser
 //
-// Option parser and handler class
+// Option parser and handler class. Closing the parser closes any streams, channels, and files opened for
+// I/O typed options and arguments
 //
-public class OptionParser {
+public class OptionParser implements AutoCloseable {
 
     // App information
     private final ArrayList<Class<?>> optionsDefinitionClasses; // The class containing the option/argument definitions
@@ -53,10 +82,33 @@ public class OptionParser {
     private ArrayList<Class<?>> optionFieldTypes;
     private ArrayList<String> argumentFieldNames;
     private ArrayList<Class<?>> argumentFieldTypes;
+    private ArrayList<String> forEachFieldNames;
 
     // Option and argument information
-    private final ArrayList<String> inputArgs = new ArrayList<>(); // List of arguments to the program
-    private final HashMap<String, List<String>> optionArgs = new HashMap<>(); // Map of arguments to options where the option name is the key and the arguments are the values
+    private ArrayList<String> inputArgs = new ArrayList<>(); // List of arguments to the program, new for each parse since a ParsedData may keep it
+    private OptionScope scope; // Scope of the current command. Each scope in its chain holds the arguments of its own options
+    private final ParseMachine parseMachine = new ParseMachine(); // Reads the command line into the scopes, reused for every parse
+    private OptionScope reservedScope = new OptionScope(ReservedOptions.class, null); // Arguments of the reserved options (ex: --jobs) of the last parse
+    private final Set<String> reservedOptions = new HashSet<>(); // Reserved options accepted by the commands selected in the current parse
+
+    // Runtime report of --stats, null unless it was given. The phase times are System.nanoTime() values of the last parse
+    private RuntimeStats stats;
+    private long parseStarted;
+    private long schemaBuilt;
+    private long argumentsParsed;
+
+    // Parse result cache, null unless enabled with enableCache()
+    private ParseCache parseCache;
+    private ParseCache.Entry cacheEntry; // The command line of the current parse as it is read, or null if it is not cached
+
+    // Plugin commands listed by index files, null unless enabled with enablePluginCommands()
+    private CommandIndex commandIndex;
+
+    // Streams and channels opened for I/O typed options and arguments, closed by close()
+    private final IOResources ioResources = new IOResources();
+
+    // Writers opened by records(), ended by close()
+    private final List<RecordWriter> recordWriters = new ArrayList<>();
 
 
     // ----------------------------------------------------------------------------------------------------
@@ -122,6 +174,10 @@ public class OptionParser {
         return argumentFieldNames;
     }
 
+    public ArrayList<String> getForEachFieldNames() {
+        return forEachFieldNames;
+    }
+
     public ArrayList<Class<?>> getArgumentFieldTypes() {
         return argumentFieldTypes;
     }
@@ -129,25 +185,198 @@ public class OptionParser {
 
 
     // ====================================================================================================
-    // public int getCount
+    // public void enableCache
     //
-    // Gets the count parameter from an annotation
+    // Enables the on-disk parse result cache. Repeat invocations with the same arguments, environment, and
+    // option definition classes reuse the converted values from a previous run instead of parsing again.
+    // Entries are invalidated automatically when the options or arguments of a definition class change, or
+    // when a different build of Java-CLI is used
     //
     // Arguments--
     //
-    // key:     the name of the variable/annotation name to get
+    // cacheFile:       the file to store cached results in, created if it does not exist
+    //
+    // environmentKeys: names of environment variables whose values affect the parse result
     //
     // Returns--
     //
-    // o.count: the count parameter
+    // None
     //
-    public int getCount(String key) {
-        for (Field f : this.optionsDefinitionClass.getFields()) {
+    public void enableCache(Path cacheFile, String... environmentKeys) {
+        this.parseCache = new ParseCache(cacheFile, environmentKeys);
+    }
+    // end: public void enableCache
+
+
+    // ====================================================================================================
+    // public void close
+    //
+    // Ends the output of the writers opened by records(), and closes the streams and channels opened for
+    // I/O typed options and arguments (InputStream, OutputStream, ReadableByteChannel, FileChannel).
+    // Standard input and output are never closed
+    //
+    // Arguments--
+    //
+    // None
+    //
+    // Returns--
+    //
+    // None
+    //
+    @Override
+    public void close() throws IOException {
+        try {
+            for (RecordWriter writer : this.recordWriters) writer.close();
+            this.recordWriters.clear();
+        } finally {
+            this.ioResources.close();
+        }
+    }
+    // end: public void close
+
+
+    // ====================================================================================================
+    // public void enablePluginCommands
+    //
+    // Adds the plugin commands listed in the META-INF/javacli/commands index file of every jar visible to
+    // a class loader (see CommandIndex). Only the index files are read: a plugin command class is loaded
+    // when the command is selected, and --help lists the commands from their index entries
+    //
+    // Arguments--
+    //
+    // loader:  the class loader to find plugin jars with, ex: Thread.currentThread().getContextClassLoader()
+    //
+    // Returns--
+    //
+    // None
+    //
+    public void enablePluginCommands(ClassLoader loader) throws IOException {
+        this.commandIndex = CommandIndex.load(loader);
+    }
+    // end: public void enablePluginCommands
+
+
+    // ====================================================================================================
+    // private Class<?> commandClassFor
+    //
+    // Finds the definition class of a sub command, loading it if it is a plugin command
+    //
+    // Arguments--
+    //
+    // name:    the argument that may name a command
+    //
+    // Returns--
+    //
+    // The definition class, or null if the argument is not a command name
+    //
+    private Class<?> commandClassFor(String name) throws Exception {
+        int commandIndex = this.definitionClassNames.indexOf(name);
+        if (commandIndex >= 0) return this.optionsDefinitionClasses.get(commandIndex);
+
+        // A class annotated with @Command can also be selected by the command's name
+        for (Class<?> definitionClass : this.optionsDefinitionClasses) {
+            Command command = definitionClass.getAnnotation(Command.class);
+            if (command != null && command.name().equals(name) && definitionClass != this.optionsDefinitionClasses.get(0))
+                return definitionClass;
+        }
+
+        CommandIndex.Entry plugin = (this.commandIndex != null) ? this.commandIndex.get(name) : null;
+        if (plugin == null) return null;
+
+        Class<?> pluginClass = null;
+        try { pluginClass = plugin.load(); }
+        catch (ClassNotFoundException | LinkageError e) {
+            CLIHelper.cliAssert(false,
+                    "a plugin command class could not be loaded",
+                    "command " + name + ", class " + plugin.getClassName());
+        }
+        return pluginClass;
+    }
+    // end: private Class<?> commandClassFor
+
+
+    // ====================================================================================================
+    // private OptionScope selectCommand
+    //
+    // Switches to a sub command if an argument names one
+    //
+    // Arguments--
+    //
+    // name:    the argument that may name a command
+    //
+    // scope:   the scope of the current command
+    //
+    // Returns--
+    //
+    // The scope of the selected command, or null if the argument is not a command name
+    //
+    private OptionScope selectCommand(String name, OptionScope scope) throws Exception {
+        Class<?> commandClass = this.commandClassFor(name);
+        if (commandClass == null) return null;
+
+        this.optionsDefinitionClass = commandClass;
+        this.definitionClassName = this.optionsDefinitionClass.getName();
+        this.init();
+        return new OptionScope(this.optionsDefinitionClass, scope); // Options of the commands before this one stay valid
+    }
+    // end: private OptionScope selectCommand
+
+
+    // ====================================================================================================
+    // private String generateHelp
+    //
+    // Generates the help message of the current command, listing the plugin commands for the top level command
+    //
+    // Arguments--
+    //
+    // None
+    //
+    // Returns--
+    //
+    // The help message
+    //
+    private String generateHelp() {
+        List<Option> reserved = new ArrayList<>(); // Reserved options enabled for the current command, in declaration order
+        for (Field f : ReservedOptions.class.getFields()) {
             Option o = f.getAnnotation(Option.class);
-            if (o != null && o.name().equals(key)) return o._countValue();
+            if (o != null && this.reservedOptions.contains(o.name())) reserved.add(o);
         }
 
-        return 0;
+        StringBuilder help = new StringBuilder(new CLIHelper().generateHelp(this.optionsDefinitionClass, this.definitionClassName, this.version,
+                reserved, ReservedOptions.class));
+
+        if (this.commandIndex != null && this.optionsDefinitionClass == this.optionsDefinitionClasses.get(0) &&
+                !this.commandIndex.getCommands().isEmpty()) {
+            help.append("\n\nplugin commands:");
+            for (CommandIndex.Entry plugin : this.commandIndex.getCommands()) {
+                help.append("\n\t")
+                        .append(plugin.getName())
+                        .append(" [OPTIONS]\t")
+                        .append((!plugin.getHelp().equals("")) ? ": " + plugin.getHelp() : "");
+            }
+        }
+
+        return help.toString();
+    }
+    // end: private String generateHelp
+
+
+    // ====================================================================================================
+    // public int getCount
+    //
+    // Gets the number of times a doCount option was used in the last parse
+    //
+    // Arguments--
+    //
+    // key:     the name of the option
+    //
+    // Returns--
+    //
+    // The number of uses, 0 if the option was not used or nothing has been parsed
+    //
+    public int getCount(String key) {
+        OptionScope owner = (this.scope != null) ? this.scope.findByName(key) : null;
+        return (owner != null) ? owner.getCount(key) : 0;
     }
     // end: public int getCount
 
@@ -176,6 +405,7 @@ public class OptionParser {
         this.optionFieldTypes = new ArrayList<>();
         this.argumentFieldNames = new ArrayList<>();
         this.argumentFieldTypes = new ArrayList<>();
+        this.forEachFieldNames = new ArrayList<>();
         this.version = "";
         this.definitionClassName = this.optionsDefinitionClass.getSimpleName();
 
@@ -201,41 +431,72 @@ public class OptionParser {
                 this.versions.add(v);
                 this.version = v.version();
             }
+            if (f.getAnnotation(ForEach.class) != null) {
+                this.forEachFieldNames.add(f.getName());
+                this.reservedOptions.add("jobs");
+            }
         }
+        if (this.optionsDefinitionClass.getAnnotation(Watch.class) != null) this.reservedOptions.add("watch");
+        if (this.optionsDefinitionClass.getAnnotation(Format.class) != null) this.reservedOptions.add("format");
     }
     // end: private void init
 
 
     // ====================================================================================================
-    // private void parseSpecialOptions
+    // private void handleSpecialOption
     //
-    // Parse and handle special options such as --version and --help
+    // Handles special options such as --version and --help
     //
     // Arguments--
     //
-    // args:    the string array of command line arguments
+    // name:    the name of the special option, "help" or "version"
     //
     // Returns--
     //
     // None
     //
-    private void parseSpecialOptions(String[] args) {
-        // Check for special options
-        for (String arg : args) {
-            // Check for --help
-            if (arg.equals("--help")) {
-                System.out.println(new CLIHelper().generateHelp(this.optionsDefinitionClass, this.definitionClassName, this.version));
-                System.exit(0);
-            }
+    private void handleSpecialOption(String name) {
+        // Check for --help
+        if (name.equals("help")) {
+            Invocation.out().println(this.generateHelp());
+            Invocation.exit(0);
+        }
 
-            // Check for --version
-            if (this.versions.size() > 0 && (arg.equals("--version") || (arg.startsWith("-") && arg.contains("" + this.versions.get(0).abbreviation()) && !this.version.equals("")))) {
-                System.out.println(this.definitionClassNames + ", version " + this.version);
-                System.exit(0);
-            }
+        // Check for --version
+        if (name.equals("version")) {
+            Invocation.out().println(this.definitionClassNames + ", version " + this.version);
+            Invocation.exit(0);
         }
     }
-    // end: private void parseSpecialOptions
+    // end: private void handleSpecialOption
+
+
+    // ====================================================================================================
+    // private void handleStatsOption
+    //
+    // Handles --stats, which prints a runtime report (see RuntimeStats) to the standard error when the
+    // program exits
+    //
+    // Arguments--
+    //
+    // format:  the argument of --stats, "text" or "json"
+    //
+    // Returns--
+    //
+    // None
+    //
+    private void handleStatsOption(String format) throws Exception {
+        CLIHelper.cliAssert((format.equals(RuntimeStats.TEXT) || format.equals(RuntimeStats.JSON)),
+                "the format of the runtime report must be text or json",
+                "in option stats, got " + format);
+        CLIHelper.cliAssert((RuntimeStats.isAvailable()),
+                "the runtime report needs the java.management module",
+                "in option stats");
+
+        this.stats = new RuntimeStats(format);
+        this.stats.printOnExit(Invocation.err());
+    }
+    // end: private void handleStatsOption
 
 
     // ====================================================================================================
@@ -258,36 +519,88 @@ public class OptionParser {
     private void castAndAdd(Field f, Class<?> castType, Object data, boolean dataIsCollection) throws Exception {
         // Check for casting for multiple types
         try {
-            if (!dataIsCollection) {
-                PropertyEditor editor = PropertyEditorManager.findEditor(castType);
-                editor.setAsText(data.toString());
-                f.set(this.optionsDefinitionClasses, editor.getValue());
+            // I/O types are opened by name (or "-" for standard input/output) rather than converted from text
+            if (IOResources.isSupported(castType)) {
+                if (!dataIsCollection) { this.setField(f, this.ioResources.open(castType, data.toString())); }
+                else {
+                    List<Object> resources = new ArrayList<>();
+                    for (Object name : (List<?>) data) resources.add(this.ioResources.open(castType, name.toString()));
+                    this.setField(f, resources);
+                }
+            }
+            else if (!dataIsCollection) {
+                // Primitive fields are set directly to avoid boxing, other types go through their converter
+                if (castType != f.getType() || !TypeConverter.setPrimitive(f, null, data.toString()))
+                    this.setField(f, TypeConverter.convert(castType, data.toString()));
             }
             // Check for casting for multiple types
+            // The collected arguments are already a list of strings, so they are used without copying. The view is
+            // read-only, since clear() and the other List methods of the buffer would change the parse result
+            else if (castType == String.class && data instanceof ArgumentBuffer) {
+                this.setField(f, Collections.unmodifiableList((ArgumentBuffer) data));
+            }
             else {
-                List<?> uncastedDataList = (List<?>) data; // List of uncasted data of any type
-                List<Object> castedDataList = new ArrayList<>(); // Initialize a second arraylist to hold the correct type of data
-
-                // Loop through each element of the uncasted data and cast it using the PropertyEditor
-                for (Object dataElem : uncastedDataList) {
-                    PropertyEditor editor = PropertyEditorManager.findEditor(castType);
-                    editor.setAsText(dataElem.toString());
-                    castedDataList.add(editor.getValue()); // Add the casted data to the second arraylist
-                }
-
-                // Set the data
-                f.set(this.optionsDefinitionClasses, castedDataList);
+                // Cast every element with the TypeConverter, in parallel chunks for large lists, and set the data
+                this.setField(f, TypeConverter.convertAll(castType, (List<?>) data));
             }
         } catch (Exception e) {
+            // Only name the element that failed, lists can have millions of elements
             CLIHelper.cliAssert(false,
                     "invalid argument type",
-                    "data is " + data,
+                    "data is " + ((e instanceof TypeConverter.ElementException) ?
+                            ((TypeConverter.ElementException) e).getText() + " (element " + ((TypeConverter.ElementException) e).getIndex() + ")" :
+                            data),
                     "expected type " + f.getType().getSimpleName());
         }
     }
     // end: private void castAndAdd
 
 
+    // ====================================================================================================
+    // private void setField
+    //
+    // Sets an option or argument field to a value, wrapped in a LazyValue if the field is a Supplier
+    //
+    // Arguments--
+    //
+    // f:       the field to set
+    //
+    // value:   the value to set
+    //
+    // Returns--
+    //
+    // None
+    //
+    private void setField(Field f, Object value) throws Exception {
+        f.set(this.optionsDefinitionClasses, (f.getType() == Supplier.class) ? LazyValue.of(value) : value);
+    }
+    // end: private void setField
+
+
+    // ====================================================================================================
+    // private void castAndAddMap
+    //
+    // Splits the key=value arguments of a map option, casts the values, and sets the field to the map.
+    // Later uses of a key replace earlier ones
+    //
+    // Arguments--
+    //
+    // f:       the field to add it to
+    //
+    // o:       the annotation of the map option
+    //
+    // data:    the key=value arguments in the order they were specified
+    //
+    // Returns--
+    //
+    // None
+    //
+    private void castAndAddMap(Field f, Option o, List<String> data) throws Exception {
+        f.set(this.optionsDefinitionClasses, OptionMap.fromArguments(o, data));
+    }
+    // end: private void castAndAddMap
+
+
     // ====================================================================================================
     // public void parse
     //
@@ -302,141 +615,779 @@ public class OptionParser {
     // None
     //
     public void parse(String[] args) throws Exception {
+        this.parse(Arrays.asList(args));
+    }
+    // end: public void parse
+
+
+    // ====================================================================================================
+    // public void parse
+    //
+    // Parses a whole command string, splitting it into arguments with POSIX shell quoting rules (see
+    // CommandTokenizer). Useful when commands arrive as single strings, ex: from a chat bot or console.
+    // Like parse(String[]), this sets the fields of the definition classes, so parses run one at a time;
+    // parseLazily(CharSequence) and Schema.parseCommand return a result of their own instead
+    //
+    // Arguments--
+    //
+    // command: the command string, ex: --tag "release 2" -v input.txt
+    //
+    // Returns--
+    //
+    // None
+    //
+    public void parse(CharSequence command) throws Exception {
+        this.parse(CommandTokenizer.tokenize(command));
+    }
+    // end: public void parse
+
+
+    // ====================================================================================================
+    // private synchronized void parse
+    //
+    // Parses a list of arguments and sets the option and argument fields. The fields are shared by every
+    // parse of the same definition classes, so parses on one parser run one at a time
+    //
+    // Arguments--
+    //
+    // args:    the command line arguments
+    //
+    // Returns--
+    //
+    // None
+    //
+    private synchronized void parse(List<String> args) throws Exception {
+        // Check for a cached result of this exact invocation before reading the arguments
+        byte[] cacheKey = null;
+        boolean cached = false;
+        if (this.parseCache != null) {
+            cacheKey = this.parseCache.key(this.optionsDefinitionClasses, args);
+            cached = this.loadCachedResult(cacheKey);
+        }
+        if (!cached) {
+            this.cacheEntry = (this.parseCache != null) ? new ParseCache.Entry() : null;
+            this.parseOrExit(args);
+
+            // Set the options of the current command and of every command it was selected from, so options
+            // defined by a parent command are bound to the parent's fields. Only the current command has arguments
+            for (OptionScope scope = this.scope; scope != null; scope = scope.getParent())
+                this.bindFields(scope.getDefinitionClass(), scope.getOptionArgs(), (scope == this.scope) ? this.inputArgs : null);
+        }
+        if (this.stats != null) this.stats.recordParse(this.parseStarted, this.schemaBuilt, this.argumentsParsed, System.nanoTime());
+
+        // Save the command line as it was read for the next identical invocation
+        if (this.cacheEntry != null) this.storeCachedResult(cacheKey);
+        this.cacheEntry = null;
+    }
+    // end: private synchronized void parse
+
+
+    // ====================================================================================================
+    // public ParsedData parseLazily
+    //
+    // Parses the arguments and checks them like parse(), but does not set any fields. The values are
+    // converted by the typed getters of the result (ex: getInt("port")) the first time each is read, so
+    // options the program does not read are never converted
+    //
+    // Arguments--
+    //
+    // args:    the list of command line args from the main method
+    //
+    // Returns--
+    //
+    // The parse result
+    //
+    public ParsedData parseLazily(String[] args) throws Exception {
+        return this.parseLazily(Arrays.asList(args));
+    }
+    // end: public ParsedData parseLazily
+
+
+    // ====================================================================================================
+    // public ParsedData parseLazily
+    //
+    // Parses a whole command string like parse(CharSequence), but does not set any fields, see
+    // parseLazily(String[]). Each call returns its own result, so results of different commands can be
+    // used at the same time. The arguments are read by the parser straight from the tokenizer's buffer
+    //
+    // Arguments--
+    //
+    // command: the command string, ex: --tag "release 2" -v input.txt
+    //
+    // Returns--
+    //
+    // The parse result
+    //
+    public ParsedData parseLazily(CharSequence command) throws Exception {
+        return this.parseLazily(CommandTokenizer.tokenize(command));
+    }
+    // end: public ParsedData parseLazily
+
+
+    // ====================================================================================================
+    // private synchronized ParsedData parseLazily
+    //
+    // Parses a list of arguments into a result of its own, without setting any fields
+    //
+    // Arguments--
+    //
+    // args:    the command line arguments
+    //
+    // Returns--
+    //
+    // The parse result
+    //
+    private synchronized ParsedData parseLazily(List<String> args) throws Exception {
+        this.cacheEntry = null;
+        ParsedData parsedData = this.parseOrExit(args);
+        if (this.stats != null) this.stats.recordParse(this.parseStarted, this.schemaBuilt, this.argumentsParsed, this.argumentsParsed);
+        return parsedData;
+    }
+    // end: private synchronized ParsedData parseLazily
+
+
+    // ====================================================================================================
+    // public synchronized void parse
+    //
+    // Parses command line arguments as a stream of events, without collecting them or setting any fields.
+    // Each option, positional argument, and sub command is passed to the listener as soon as it is read,
+    // so the arguments can be produced lazily and there can be any number of them. Checks that need the
+    // whole command line (the number of positional arguments, @Constraint, and @PathCheck) are not made.
+    // --help and --version are handled as in parse(String[]), but a mistake in the arguments is thrown
+    // rather than printing the help message and exiting, and so is any exception from the listener
+    //
+    // Arguments--
+    //
+    // args:        the command line arguments, read once and in order
+    //
+    // listener:    the listener to pass the options, arguments, and sub commands to
+    //
+    // Returns--
+    //
+    // None
+    //
+    public synchronized void parse(Iterable<String> args, ParseListener listener) throws Exception {
+        this.optionsDefinitionClass = this.optionsDefinitionClasses.get(0);
+        this.reservedOptions.clear();
+        this.init();
+        new AnnotationSyntax().parseOptionDefinitions(this);
+
+        this.parseMachine.run(args.iterator(), new OptionScope(this.optionsDefinitionClass, null), null, new ParseMachine.Handler() {
+            @Override
+            public OptionScope onCommand(String word, OptionScope scope) throws Exception {
+                OptionScope commandScope = selectCommand(word, scope);
+                if (commandScope != null) listener.onCommand(commandScope.getDefinitionClass());
+                return commandScope;
+            }
+
+            @Override
+            public void onOption(OptionScope owner, Option option, List<String> values) throws Exception {
+                listener.onOption(option, values);
+            }
+
+            @Override
+            public void onPositional(String argument) throws Exception {
+                listener.onPositional(argument);
+            }
+
+            @Override
+            public void onSpecialOption(String name) {
+                handleSpecialOption(name);
+            }
+
+            @Override
+            public void onEnd(OptionScope scope) throws Exception {
+                listener.onEnd();
+            }
+        });
+    }
+    // end: public synchronized void parse
+
+
+    // ====================================================================================================
+    // public <T, R> void forEach
+    //
+    // Runs a task for every value of a @ForEach argument of the last parse, a few values at a time (see
+    // FanOut). The number of values in progress at once is --jobs if it was given, otherwise the jobs of
+    // the @ForEach annotation. A glob argument is read as values finish and is closed afterwards
+    //
+    // Arguments--
+    //
+    // argumentName:    the name of the variadic or glob argument with @ForEach
+    //
+    // task:            the code to run for each value
+    //
+    // output:          called on the calling thread with the result of each value that succeeds
+    //
+    // Returns--
+    //
+    // None
+    //
+    @SuppressWarnings("unchecked")
+    public <T, R> void forEach(String argumentName, FanOut.Task<T, R> task, Consumer<? super R> output) throws Exception {
+        Field field = null;
+        for (Field f : this.optionsDefinitionClass.getFields()) {
+            Argument a = f.getAnnotation(Argument.class);
+            if (a != null && a.name().equals(argumentName) && f.getAnnotation(ForEach.class) != null) field = f;
+        }
+        CLIHelper.cliAssert((field != null),
+                "forEach was called for an argument without @ForEach",
+                "in argument " + argumentName + " of " + this.definitionClassName);
+
+        FanOut fanOut = new FanOut(field.getAnnotation(ForEach.class));
+        List<String> jobs = this.reservedScope.getOptionArgs().get("jobs");
+        if (jobs != null) fanOut.setJobs(parseJobs(jobs.get(jobs.size() - 1)));
+
+        Object values = field.get(this.optionsDefinitionClasses);
+        if (values instanceof Stream) {
+            try (Stream<T> paths = (Stream<T>) values) {
+                fanOut.run(paths.iterator(), task, output);
+            }
+        }
+        else fanOut.run(((List<T>) values).iterator(), task, output);
+    }
+    // end: public <T, R> void forEach
+
+
+    public <T> void forEach(String argumentName, FanOut.Task<T, ?> task) throws Exception {
+        this.forEach(argumentName, task, result -> { });
+    }
+
+
+    // ====================================================================================================
+    // public void watch
+    //
+    // Runs the work of a @Watch command. Without --watch, the handler runs once and this returns. With
+    // --watch, the handler runs once and then again each time a file given to a Path or File typed option
+    // or argument of the last parse changes (see PathWatcher), with the fields still set from the parse,
+    // until the thread is interrupted or the handler calls Invocation.exit. A directory is watched with
+    // everything below it, and a glob argument is watched for new matches as well
+    //
+    // Arguments--
+    //
+    // handler: the work of the command. It is given an empty set on the first run, when everything should
+    //          be processed, and the changed paths after that
+    //
+    // Returns--
+    //
+    // None
+    //
+    public void watch(PathWatcher.Handler handler) throws Exception {
+        Watch watch = this.commandAnnotation(Watch.class);
+        CLIHelper.cliAssert((watch != null),
+                "watch was called for a command without @Watch",
+                "in command " + this.definitionClassName);
+
+        handler.run(Collections.emptySet());
+        if (!this.reservedScope.getOptionArgs().containsKey("watch")) return;
+
+        PathWatcher watcher = new PathWatcher(watch.debounce());
+        this.addWatchedPaths(watcher);
+        CLIHelper.cliAssert((!watcher.isEmpty()),
+                "--watch was given but no files were given to watch",
+                "in command " + this.definitionClassName);
+        watcher.run(handler);
+    }
+    // end: public void watch
+
+
+    // ====================================================================================================
+    // private <A extends Annotation> A commandAnnotation
+    //
+    // Finds an annotation of the selected command, or of a command it was selected from
+    //
+    // Arguments--
+    //
+    // annotationType:  the type of the annotation, ex: Watch.class
+    //
+    // Returns--
+    //
+    // The annotation of the closest command that has it, or null if none does
+    //
+    private <A extends Annotation> A commandAnnotation(Class<A> annotationType) {
+        A annotation = this.optionsDefinitionClass.getAnnotation(annotationType);
+        for (OptionScope s = this.scope; s != null && annotation == null; s = s.getParent())
+            annotation = s.getDefinitionClass().getAnnotation(annotationType);
+        return annotation;
+    }
+    // end: private <A extends Annotation> A commandAnnotation
+
+
+    // ====================================================================================================
+    // private void addWatchedPaths
+    //
+    // Adds the values of the Path and File typed options and arguments of the last parse to a watcher. An
+    // option that was not given is watched at its default value, if it has one
+    //
+    // Arguments--
+    //
+    // watcher: the watcher to add the paths to
+    //
+    // Returns--
+    //
+    // None
+    //
+    private void addWatchedPaths(PathWatcher watcher) {
+        for (OptionScope s = this.scope; s != null; s = s.getParent()) {
+            int argumentIndex = 0;
+            for (Field f : s.getDefinitionClass().getFields()) {
+                Option o = f.getAnnotation(Option.class);
+                Argument a = f.getAnnotation(Argument.class);
+
+                if (o != null && !o.isMap() && (o.type() == Path.class || o.type() == File.class)) {
+                    List<String> values = s.getOptionArgs().get(o.name());
+                    if (values != null) for (String value : values) watcher.add(Paths.get(value));
+                    else if (!o.defaultValue().equals("")) watcher.add(Paths.get(o.defaultValue()));
+                }
+                // Only the selected command has positional arguments
+                if (a != null && s == this.scope && argumentIndex < this.inputArgs.size() && (a.type() == Path.class || a.type() == File.class)) {
+                    List<String> values = (a.variadic()) ?
+                            this.inputArgs.subList(argumentIndex, this.inputArgs.size()) :
+                            Collections.singletonList(this.inputArgs.get(argumentIndex));
+                    for (String value : values) {
+                        if (a.glob()) watcher.addGlob(value);
+                        else watcher.add(Paths.get(value));
+                    }
+                }
+                if (a != null) argumentIndex++;
+            }
+        }
+    }
+    // end: private void addWatchedPaths
+
+
+    // ====================================================================================================
+    // public RecordWriter records
+    //
+    // Opens a writer for the results of a @Format command, in the format of --format if it was given and
+    // the default of the annotation otherwise. The records are written to the standard output in large
+    // blocks (see RecordWriter), and the writer must be closed to end the output, which close() of this
+    // parser also does
+    //
+    // Arguments--
+    //
+    // columns: the column names of the records
+    //
+    // Returns--
+    //
+    // The writer
+    //
+    public RecordWriter records(String... columns) throws Exception {
+        Format format = this.commandAnnotation(Format.class);
+        CLIHelper.cliAssert((format != null),
+                "records was called for a command without @Format",
+                "in command " + this.definitionClassName);
+
+        List<String> given = this.reservedScope.getOptionArgs().get("format");
+        String name = (given != null) ? given.get(given.size() - 1) : format.defaultFormat();
+        CLIHelper.cliAssert((RecordWriter.FORMATS.contains(name)),
+                "the output format must be one of " + String.join(", ", RecordWriter.FORMATS),
+                "in the @Format of " + this.definitionClassName + ", got " + name);
+
+        Invocation.out().flush(); // Anything printed before the records comes first
+        RecordWriter writer = RecordWriter.open(name, Channels.newChannel(Invocation.out()), columns);
+        this.recordWriters.add(writer);
+        return writer;
+    }
+    // end: public RecordWriter records
+
+
+    // ====================================================================================================
+    // private ParsedData parseOrExit
+    //
+    // Parses the arguments from the top level command, printing the help message and exiting if they are not valid
+    //
+    // Arguments--
+    //
+    // args:    the command line arguments
+    //
+    // Returns--
+    //
+    // The parse result
+    //
+    private ParsedData parseOrExit(List<String> args) throws Exception {
+        // Every parse starts at the top level command, with nothing parsed yet
+        this.parseStarted = System.nanoTime();
+        this.optionsDefinitionClass = this.optionsDefinitionClasses.get(0);
+        this.inputArgs = new ArrayList<>();
+        this.reservedScope = new OptionScope(ReservedOptions.class, null);
+        this.reservedOptions.clear();
+        this.reservedOptions.add("stats"); // Every command can print a runtime report
+        this.stats = null;
+
         this.init(); // Set up information about the options
         new AnnotationSyntax().parseOptionDefinitions(this); // Parse the option definitions in the optionDefinitionsClass
+        this.schemaBuilt = System.nanoTime();
 
         ParsedData parsedData = null; // Initialize a data structure to hold the parsed information
-        try { parsedData = this.parseAndExitUponError(Arrays.asList(args)); } // Try parsing the options and args and catch any errors by printing the help menu
+        try { parsedData = this.parseAndExitUponError(args); } // Try parsing the options and args and catch any errors by printing the help menu
+        catch (Invocation.ExitException e) { throw e; } // --help or --version in a CommandRunner, which already printed
         catch (Exception e) {
-            System.out.println(new CLIHelper().generateHelp(this.optionsDefinitionClass, this.definitionClassName, this.version));
-            System.exit(2);
+            Invocation.out().println(this.generateHelp());
+            Invocation.exit(2);
         }
+        this.argumentsParsed = System.nanoTime();
+        return parsedData;
+    }
+    // end: private ParsedData parseOrExit
 
-        // Set parse information
-        ArrayList<String> inputArgs = parsedData.getParsedArguments();
-        HashMap<String, List<String>> optionArgs = parsedData.getParsedOptions();
 
-        // Try setting variables in the option definition class
+    // ====================================================================================================
+    // private void bindFields
+    //
+    // Sets the option and argument fields of one definition class
+    //
+    // Arguments--
+    //
+    // definitionClass: the class with the fields to set
+    //
+    // optionArgs:      the arguments of the options of the class that were specified
+    //
+    // inputArgs:       the arguments to the program, or null if the class is a parent command and has no arguments to set
+    //
+    // Returns--
+    //
+    // None
+    //
+    private void bindFields(Class<?> definitionClass, HashMap<String, List<String>> optionArgs, List<String> inputArgs) throws Exception {
         int argCount = 0;
+        for (Field f : definitionClass.getFields()) {
+            this.bindField(f, definitionClass, optionArgs, inputArgs, argCount);
+            if (f.getAnnotation(Argument.class) != null) argCount++;
+        }
+    }
+    // end: private void bindFields
 
-        for (Field f : this.optionsDefinitionClass.getFields()) {
-            // The field is an option
-            if (f.getAnnotation(Option.class) != null) {
-                Option o = f.getAnnotation(Option.class);
-                String oName = f.getName().replaceAll("_", "-");
-                // The option was specified by the user
-                if (optionArgs.containsKey(oName)) {
-                    Class<?> castType = this.options.get(this.optionNames.indexOf(oName)).type();
-                    List<String> data = optionArgs.get(oName);
-
-                    // Cast and add single argument options
-                    if (optionArgs.get(oName).size() == 1 && (o.nargs() == 1 || o.nargs() == 0)) { this.castAndAdd(f, castType, data.get(0), false); }
-                    // Cast and add multiple argument options
-                    else { this.castAndAdd(f, castType, data, true); }
+
+    // ====================================================================================================
+    // private void bindField
+    //
+    // Sets one option or argument field. Other fields are left as they are
+    //
+    // Arguments--
+    //
+    // f:               the field to set
+    //
+    // definitionClass: the class with the field
+    //
+    // optionArgs:      the arguments of the options of the class that were specified
+    //
+    // inputArgs:       the arguments to the program, or null if the class is a parent command and has no arguments to set
+    //
+    // argumentIndex:   the position of the field among the argument fields of the class, if it is an argument
+    //
+    // Returns--
+    //
+    // None
+    //
+    private void bindField(Field f, Class<?> definitionClass, HashMap<String, List<String>> optionArgs, List<String> inputArgs,
+                           int argumentIndex) throws Exception {
+        // The field is an option
+        if (f.getAnnotation(Option.class) != null) {
+            Option o = f.getAnnotation(Option.class);
+            String oName = f.getName().replaceAll("_", "-");
+            // The option was specified by the user
+            if (optionArgs.containsKey(oName)) {
+                Class<?> castType = o.type();
+                List<String> data = optionArgs.get(oName);
+
+                // Cast and add key=value pairs of map options
+                if (o.isMap()) { this.castAndAddMap(f, o, data); }
+                // Cast and add single argument options. Flags are always single, and a multiple option with a List
+                // variable is a list even if it was used once
+                else if (data.size() == 1 && (o.nargs() == 0 || (o.nargs() == 1 && !bindsList(f, o)))) { this.castAndAdd(f, castType, data.get(0), false); }
+                // Cast and add multiple argument options
+                else { this.castAndAdd(f, castType, data, true); }
+            }
+            // The option wasn't specified
+            else {
+                LazyValue<Object> providedDefault = LazyValue.forDefault(o, definitionClass); // Nothing is computed until the value is read
+
+                // If the option is a map, set it to an empty map
+                if (o.isMap()) {
+                    f.set(this.optionsDefinitionClasses, new OptionMap<>());
                 }
-                // The option wasn't specified
-                else {
-                    // If the option is a flag, set it to false
-                    if (f.getAnnotation(Option.class).nargs() == 0) {
-                        f.set(this.optionsDefinitionClasses, false);
-                    }
-                    // If the option has arguments and a default value, set it to the default value
-                    else if (f.getAnnotation(Option.class).nargs() == 1 && !f.getAnnotation(Option.class).defaultValue().equals("")) {
-                        this.castAndAdd(f, f.getAnnotation(Option.class).type(), f.getAnnotation(Option.class).defaultValue(), false);
-                    }
+                // If the option is a flag, set it to false
+                else if (o.nargs() == 0) {
+                    f.set(this.optionsDefinitionClasses, false);
                 }
+                // If the option has a defaultProvider or defaultFactory, a Supplier variable computes the default when
+                // it is first read, and other variables are set to the computed default now. Only Supplier variables
+                // are lazy, and the default is computed again by every parse, cached or not
+                else if (providedDefault != null) {
+                    f.set(this.optionsDefinitionClasses, (f.getType() == Supplier.class) ? providedDefault : providedDefault.get());
+                }
+                // A Supplier variable converts its default value when it is first read
+                else if (f.getType() == Supplier.class) {
+                    String defaultText = o.defaultValue();
+                    f.set(this.optionsDefinitionClasses, (defaultText.equals("")) ?
+                            LazyValue.of(null) :
+                            new LazyValue<>(() -> TypeConverter.convert(o.type(), defaultText)));
+                }
+                // If the option has arguments and a default value, set it to the default value
+                else if (o.nargs() == 1 && !o.defaultValue().equals("")) {
+                    this.castAndAdd(f, o.type(), o.defaultValue(), false);
+                }
+            }
+        }
+
+        // The field is an argument
+        if (f.getAnnotation(Argument.class) != null && inputArgs != null) {
+            Class<?> argCastType = f.getAnnotation(Argument.class).type();
+            // Expand glob patterns to a lazy stream of the matching paths
+            if (f.getAnnotation(Argument.class).glob()) f.set(this.optionsDefinitionClasses, GlobExpander.expand(inputArgs.get(argumentIndex)));
+            // A variadic argument is a list of every remaining argument
+            else if (f.getAnnotation(Argument.class).variadic()) this.castAndAdd(f, argCastType, new ArrayList<>(inputArgs.subList(argumentIndex, inputArgs.size())), true);
+            // Cast the value and set the variable
+            else this.castAndAdd(f, argCastType, inputArgs.get(argumentIndex), false);
+        }
+    }
+    // end: private void bindField
+
+
+    // Whether a multiple option is bound to a List variable (ex: List<String>) rather than to a variable of its type
+    private static boolean bindsList(Field f, Option o) {
+        return o.multiple() && f.getType() != o.type() && f.getType().isAssignableFrom(List.class);
+    }
+
+
+    // Reads the argument of --jobs, or returns 0 if it is not an integer
+    private static int parseJobs(String text) {
+        try { return Integer.parseInt(text); }
+        catch (NumberFormatException e) { return 0; }
+    }
+
+
+    // ====================================================================================================
+    // private boolean loadCachedResult
+    //
+    // Applies the cached result of this invocation, if there is one: the scope chain and positional
+    // arguments are rebuilt from the cached command line, and the fields are set to the cached values
+    // without converting anything. The definition classes are not read again, since the cache key changes
+    // with them. Only the checks that depend on more than the arguments (@PathCheck) are made again,
+    // printing the help message and exiting if they fail, and only the fields that cannot be cached (see
+    // ParseCache.Entry) are bound again
+    //
+    // Arguments--
+    //
+    // cacheKey:    the key of this invocation
+    //
+    // Returns--
+    //
+    // Whether a cached result was found and applied
+    //
+    private boolean loadCachedResult(byte[] cacheKey) throws Exception {
+        byte[] payload = this.parseCache.lookup(cacheKey);
+        ParseCache.Entry entry = (payload != null) ? ParseCache.Entry.decode(payload, this.optionsDefinitionClasses.get(0).getClassLoader()) : null;
+        if (entry == null) return false;
+        for (int commandIndex : entry.getCommands()) {
+            if (commandIndex < 0 || commandIndex >= this.optionsDefinitionClasses.size()) return false;
+        }
+
+        // Select the same sub commands, starting at the top level command with nothing parsed as parseOrExit does
+        this.parseStarted = System.nanoTime();
+        List<OptionScope> chain = new ArrayList<>();
+        chain.add(new OptionScope(this.optionsDefinitionClasses.get(0), null));
+        for (int commandIndex : entry.getCommands())
+            chain.add(new OptionScope(this.optionsDefinitionClasses.get(commandIndex), chain.get(chain.size() - 1)));
+
+        // Find every field before anything is set, so an entry that does not fit is a miss rather than half applied
+        Field[] fields = new Field[entry.getFieldCount()];
+        for (int field = 0; field < fields.length; field++) {
+            int depth = entry.getFieldDepth(field);
+            if (depth < 0 || depth >= chain.size()) return false;
+            try { fields[field] = chain.get(depth).getDefinitionClass().getField(entry.getFieldName(field)); }
+            catch (NoSuchFieldException e) { return false; } // Cannot happen for an entry of the same definition classes
+        }
+
+        this.optionsDefinitionClass = chain.get(chain.size() - 1).getDefinitionClass();
+        this.definitionClassName = (chain.size() == 1) ? this.optionsDefinitionClass.getSimpleName() : this.optionsDefinitionClass.getName();
+        this.inputArgs = new ArrayList<>(entry.getArguments());
+        this.reservedScope = new OptionScope(ReservedOptions.class, null); // A cached result never has reserved options, see storeCachedResult
+        this.reservedOptions.clear();
+        this.stats = null;
+        this.schemaBuilt = System.nanoTime();
+
+        try {
+            // The arguments of each option are kept as strings in the scopes, for getCount, watch, and @PathCheck
+            for (int use = 0; use < entry.getOptionCount(); use++) {
+                int depth = entry.getOptionDepth(use);
+                OptionScope owner = (depth >= 0 && depth < chain.size()) ? chain.get(depth) : null;
+                Option option = (owner != null) ? owner.getOption(entry.getOptionName(use)) : null;
+                CLIHelper.cliAssert((option != null), "a cached option does not exist", "in option " + entry.getOptionName(use));
+                owner.addArguments(option, entry.getOptionValues(use));
             }
+            this.scope = chain.get(chain.size() - 1);
 
-            // The field is an argument
-            if (f.getAnnotation(Argument.class) != null) {
-                Class<?> argCastType = this.arguments.get(this.argumentNames.indexOf(f.getName())).type();
-                // Cast the value and set the variable
-                this.castAndAdd(f, argCastType, inputArgs.get(argCount), false);
-                argCount++;
+            // Files may have been created or deleted since the result was cached
+            PathCheckSet.check(this.scope, this.inputArgs);
+        }
+        catch (Invocation.ExitException e) { throw e; }
+        catch (Exception e) {
+            // The help message needs the schema and reserved options of the selected commands, as a parse reads them
+            this.reservedOptions.add("stats");
+            for (OptionScope s : chain) {
+                this.optionsDefinitionClass = s.getDefinitionClass();
+                this.init();
             }
+            Invocation.out().println(this.generateHelp());
+            Invocation.exit(2);
         }
+        this.argumentsParsed = System.nanoTime();
+
+        for (int field = 0; field < fields.length; field++) {
+            Object value = entry.getFieldValue(field);
+            if (value != ParseCache.Entry.REBIND) {
+                fields[field].set(this.optionsDefinitionClasses, value);
+                continue;
+            }
+
+            OptionScope s = chain.get(entry.getFieldDepth(field));
+            this.bindField(fields[field], s.getDefinitionClass(), s.getOptionArgs(), (s == this.scope) ? this.inputArgs : null,
+                    argumentIndex(s.getDefinitionClass(), fields[field]));
+        }
+        return true;
     }
-    // end: public void parse
+    // end: private boolean loadCachedResult
 
 
     // ====================================================================================================
-    // private ParsedData parseAndExitUponError
+    // private void storeCachedResult
     //
-    // Parses options and throws errors
+    // Saves the command line of the current parse as it was read, with the value of every option and
+    // argument field it set. Nothing is saved if a plugin command was selected or a reserved option was
+    // used, or if the result is too large for a slot of the cache
     //
     // Arguments--
     //
-    // inputList:   the String[] args list from java main as a List<String>
+    // cacheKey:    the key of this invocation
     //
     // Returns--
     //
-    // ParsedData object containing the parsed args and options
+    // None
     //
-    private ParsedData parseAndExitUponError(List<String> inputList) throws Exception {
-        int parseCounter = 0; // Initialize a variable to keep track of which element in inputList is being parsed
-
-        // Loop through each of the elements in inputList and parse them
-        while (parseCounter < inputList.size()) {
-            String inputStr = inputList.get(parseCounter); // Get the element in inputList that is going to be parsed currently
-
-            // Check if the string is an argument to the program
-            // The parseCounter in incremented automatically when parsing options so arguments to options will not be added to inputArgs
-            if (!inputStr.startsWith("-") && !inputStr.startsWith("--")) {
-                if (this.definitionClassNames.contains(inputStr)) {
-                    this.optionsDefinitionClass = this.optionsDefinitionClasses.get(
-                            this.definitionClassNames.indexOf(inputStr)
-                    );
-                    this.definitionClassName = this.optionsDefinitionClass.getName();
-                    this.init();
-                    parseCounter++;
+    private void storeCachedResult(byte[] cacheKey) throws Exception {
+        if (!this.reservedScope.getOptionArgs().isEmpty()) return; // Reserved options act on the run (ex: --stats), so the run is not cached
+        if (this.cacheEntry.getCommands().contains(-1)) return; // Plugin commands are not part of the cache key, so their results are not cached
+
+        this.cacheEntry.setArguments(this.inputArgs);
+        for (OptionScope s = this.scope; s != null; s = s.getParent()) {
+            int depth = depthOf(s);
+            for (Field f : s.getDefinitionClass().getFields()) {
+                Option o = f.getAnnotation(Option.class);
+                boolean isArgument = f.getAnnotation(Argument.class) != null && s == this.scope;
+                if (o == null && !isArgument) continue;
+
+                boolean specified = o == null || s.getOptionArgs().containsKey(o.name());
+                boolean providedDefault = o != null && (o.defaultProvider() != Supplier.class || !o.defaultFactory().equals(""));
+                // An option that was not given, has no default, and is not a flag or map is left as it was by bindField
+                if (!specified && !o.isMap() && o.nargs() != 0 && !providedDefault && f.getType() != Supplier.class && o.defaultValue().equals(""))
                     continue;
-                }
 
-                this.inputArgs.add(inputStr);
-                parseCounter++;
-                continue;
+                // Computed defaults are computed again and Supplier variables hold computations, so they are bound on every run
+                if (f.getType() == Supplier.class || (!specified && providedDefault)) this.cacheEntry.addField(depth, f.getName(), ParseCache.Entry.REBIND);
+                else this.cacheEntry.addField(depth, f.getName(), f.get(this.optionsDefinitionClasses));
             }
+        }
+        this.parseCache.store(cacheKey, this.cacheEntry.encode());
+    }
+    // end: private void storeCachedResult
 
-            this.parseSpecialOptions(Arrays.stream(inputList.toArray()).toArray(String[]::new)); // Parse for and handle special options like --help and --version
 
-            // Check if there is an "--" signifying all following strings are arguments
-            if (inputStr.equals("--")) {
-                ArrayList<String> allArgs = new ArrayList<>();
+    // Position of an argument field among the argument fields of its class, as bindFields counts them
+    private static int argumentIndex(Class<?> definitionClass, Field field) {
+        int index = 0;
+        for (Field f : definitionClass.getFields()) {
+            if (f.equals(field)) return index;
+            if (f.getAnnotation(Argument.class) != null) index++;
+        }
+        return index;
+    }
 
-                // Add everything after the -- to the argument list
-                for (int a = inputList.indexOf(inputStr) + 1; a < inputList.size(); a++) {
-                    allArgs.add(inputList.get(a));
-                }
 
-                this.inputArgs.addAll(allArgs);
-                break; // End the parsing as there will be nothing left to parse
+    // Index of a scope in its chain, 0 for the top level command
+    private static int depthOf(OptionScope scope) {
+        int depth = 0;
+        for (OptionScope s = scope.getParent(); s != null; s = s.getParent()) depth++;
+        return depth;
+    }
+
+
+    // ====================================================================================================
+    // private ParsedData parseAndExitUponError
+    //
+    // Parses options and throws errors
+    //
+    // Arguments--
+    //
+    // inputList:   the String[] args list from java main as a List<String>
+    //
+    // Returns--
+    //
+    // ParsedData object containing the parsed args and options
+    //
+    private ParsedData parseAndExitUponError(List<String> inputList) throws Exception {
+        // Read the options, arguments, and sub commands. Each option's arguments are stored in the scope that defines it
+        this.parseMachine.run(inputList.iterator(), new OptionScope(this.optionsDefinitionClass, null), this.reservedScope, new ParseMachine.Handler() {
+            @Override
+            public OptionScope onCommand(String word, OptionScope scope) throws Exception {
+                OptionScope commandScope = selectCommand(word, scope);
+                if (commandScope != null && cacheEntry != null) cacheEntry.addCommand(optionsDefinitionClasses.indexOf(commandScope.getDefinitionClass()));
+                return commandScope;
+            }
+
+            @Override
+            public void onOption(OptionScope owner, Option option, List<String> values) throws Exception {
+                // A reserved option can only be used by a command that has the feature behind it
+                CLIHelper.cliAssert((owner != reservedScope || reservedOptions.contains(option.name())),
+                        "a specified option does not exist",
+                        "in option " + option.name());
+                CLIHelper.cliAssert((owner != reservedScope || !option.name().equals("jobs") || parseJobs(values.get(0)) > 0),
+                        "the number of jobs must be a positive integer",
+                        "in option jobs, got " + values.get(0));
+                CLIHelper.cliAssert((owner != reservedScope || !option.name().equals("format") || RecordWriter.FORMATS.contains(values.get(0))),
+                        "the output format must be one of " + String.join(", ", RecordWriter.FORMATS),
+                        "in option format, got " + values.get(0));
+                if (owner == reservedScope && option.name().equals("stats")) handleStatsOption(values.get(0));
+
+                if (cacheEntry != null && owner != reservedScope) cacheEntry.addOption(depthOf(owner), option.name(), values);
+                owner.addArguments(option, values);
             }
 
-            // Parse long options
-            if (inputStr.startsWith("--")) {
-                LongOption longOptionParser = new LongOption(this.options, this.optionNames, this.optionArgs);
-                parseCounter = longOptionParser.parseLongOption(inputList, inputStr, parseCounter);
-                continue;
+            @Override
+            public void onPositional(String argument) {
+                inputArgs.add(argument);
             }
 
-            // Parse short options
-            if (inputStr.startsWith("-")) {
-                ShortOption shortOptionParser = new ShortOption(this.options, this.optionAbbreviations, this.optionArgs);
-                parseCounter = shortOptionParser.parseShortOption(inputList, inputStr, parseCounter);
+            @Override
+            public void onSpecialOption(String name) {
+                handleSpecialOption(name);
             }
 
-            // Update parseCounter each time through the while loop
-            parseCounter++;
-        }
+            @Override
+            public void onEnd(OptionScope scope) {
+                OptionParser.this.scope = scope;
+            }
+        });
 
         // Check that the correct number of arguments have been specified
-        CLIHelper.cliAssert((this.inputArgs.size() == this.arguments.size()), // Check that the number of input args is the same as the number of argument annotations
+        // A variadic last argument takes any number of the remaining arguments
+        boolean variadic = !this.arguments.isEmpty() && this.arguments.get(this.arguments.size() - 1).variadic();
+        CLIHelper.cliAssert((this.inputArgs.size() == this.arguments.size()) || // Check that the number of input args is the same as the number of argument annotations
+                        (variadic && this.inputArgs.size() >= this.arguments.size() - 1),
                 "incorrect number of command line arguments specified",
-                "expected " + this.arguments.size() + " args, but got " + this.inputArgs.size(),
+                "expected " + ((variadic) ? "at least " + (this.arguments.size() - 1) : this.arguments.size()) + " args, but got " + this.inputArgs.size(),
                 "specified arguments are: " + this.inputArgs);
 
-        // Return optionArgs and inputArgs as one object
-        return new ParsedData(this.optionArgs, this.inputArgs);
+        // Check the @Constraint rules about which options can be specified together, for each command in the chain
+        for (OptionScope scope = this.scope; scope != null; scope = scope.getParent())
+            ConstraintSet.forClass(scope.getDefinitionClass(), scope.getOptionNames()).check(scope.getOptionArgs().keySet());
+
+        // Check the @PathCheck paths of every command in the chain, all at once
+        PathCheckSet.check(this.scope, this.inputArgs);
+
+        // Return the scope chain with the option arguments and inputArgs as one object
+        return new ParsedData(this.scope, this.inputArgs);
     }
     // end: private void parseAndExitUponError
 
@@ -28,5 +28,9 @@ public @interface Argument {
 
     Class<?> type() default String.class; // Specifies the expected type of the argument
 
+    boolean glob() default false; // Specifies if the argument is a glob pattern to expand to a Stream<Path> of the matching paths
+
+    boolean variadic() default false; // Specifies if the argument collects every remaining positional argument (any number, including none) into a List<type>. Only the last argument can be variadic
+
 }
 // end: public interface Argument
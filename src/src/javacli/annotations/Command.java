@@ -8,7 +8,7 @@ import java.lang.annotation.Target;
 
 
 @Retention(RetentionPolicy.RUNTIME)
-@Target(ElementType.FIELD)
+@Target({ElementType.FIELD, ElementType.TYPE}) // On a field to list a sub command in --help, on a class to index a plugin command
 public @interface Command {
 
     String name();
@@ -0,0 +1,43 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// Constraint.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.annotations;
+
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public interface Constraint
+//
+// Rule about which options may be specified together, declared on the option definition class
+//
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Repeatable(Constraints.class)
+public @interface Constraint {
+
+    enum Type {
+        MUTUALLY_EXCLUSIVE, // At most one of the options may be specified
+        REQUIRED_TOGETHER, // Either all or none of the options must be specified
+        AT_LEAST_ONE, // At least one of the options must be specified
+        REQUIRES // If the "when" option is specified, all of the options must be specified
+    }
+
+    Type type(); // Specifies the kind of rule
+
+    String[] options(); // Specifies the names of the options the rule applies to
+
+    String when() default ""; // Specifies the option that triggers a REQUIRES rule
+
+}
+// end: public interface Constraint
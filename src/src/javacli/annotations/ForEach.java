@@ -0,0 +1,38 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// ForEach.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.annotations;
+
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public interface ForEach
+//
+// Declares that each value of a variadic or glob argument is processed on its own, concurrently, with
+// OptionParser.forEach. A command with a @ForEach argument also accepts the reserved --jobs option, which
+// overrides the number of values processed at once
+//
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface ForEach {
+
+    int jobs() default 0; // Specifies the number of values processed at once (the number of processors if 0)
+
+    boolean ordered() default true; // Specifies if results are output in the order of the values, otherwise as soon as they are done
+
+    boolean failFast() default true; // Specifies if the first failure stops the other values, otherwise every failure is collected and reported at the end
+
+    boolean virtualThreads() default true; // Specifies if virtual threads are used when the JDK has them, otherwise a pool of jobs platform threads
+
+}
+// end: public interface ForEach
@@ -13,6 +13,7 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.util.function.Supplier;
 
 
 // +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
@@ -38,13 +39,22 @@ public @interface Option {
 
     String defaultValue() default ""; // Specifies the default value for the option
 
-    boolean showDefault() default false; // Specifies if the default value should be shown in the help message
+    @SuppressWarnings("rawtypes") // An annotation default cannot be a parameterized class literal
+    Class<? extends Supplier> defaultProvider() default Supplier.class; // Specifies a Supplier class that computes the default value on every parse, or on the first get() of a Supplier variable (none if Supplier.class)
+
+    String defaultFactory() default ""; // Specifies a public static method with no arguments in the definition class that computes the default value on every parse, or on the first get() of a Supplier variable
+
+    boolean showDefault() default false; // Specifies if the default value should be shown in the help message (computing it for a provider or factory)
 
     boolean isFlag() default false; // Specifies if the option is a flag (one that has 0 arguments. Obvious case being --version)
 
+    boolean isMap() default false; // Specifies if the option collects repeated key=value arguments into a Map<String, type>
+
+    String[] keyPatterns() default {}; // Specifies regular expressions that the keys of a map option must match (any key if empty)
+
     boolean doCount() default false; // Specifies if the number of times the option shows up should be counted (obvious case being --verbose)
 
-    int _countValue() default 0; // The number of times the option has been included, if doCount == true
+    int _countValue() default 0; // Not changed by parsing, the count of a parse is read with OptionParser.getCount or ParsedData.getCount
 
 }
 // end: public interface option
\ No newline at end of file
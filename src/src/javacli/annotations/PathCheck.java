@@ -0,0 +1,38 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// PathCheck.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.annotations;
+
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public interface PathCheck
+//
+// File system checks for the values of a Path or File typed option or argument, declared on its field
+// next to @Option or @Argument. Every value of every checked field is checked at once when a command
+// line is parsed
+//
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface PathCheck {
+
+    boolean mustExist() default false; // Specifies that the path must exist
+
+    boolean readable() default false; // Specifies that the path must exist and be readable
+
+    boolean isDirectory() default false; // Specifies that the path must be an existing directory
+
+    boolean writableParent() default false; // Specifies that the directory the path is in must exist and be writable, ex: for an output file
+
+}
+// end: public interface PathCheck
@@ -0,0 +1,119 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// ArgumentBuffer.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.helper;
+
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class ArgumentBuffer
+//
+// Append-only list of the arguments given to one option. Appending is amortized O(1), so an option
+// used k times costs O(k) in total, and the buffer is read through its List methods without copying.
+// The parser also reuses one buffer, emptied with clear(), to collect the values of each option it reads,
+// so a buffer is only given to user code wrapped in Collections.unmodifiableList
+//
+public class ArgumentBuffer extends AbstractList<String> implements RandomAccess {
+
+    private String[] elements; // Backing array, grown by doubling
+    private int size; // Number of arguments
+
+
+    // ----------------------------------------------------------------------------------------------------
+    // public ArgumentBuffer
+    //
+    public ArgumentBuffer() {
+        this.elements = new String[4];
+    }
+    // end: public ArgumentBuffer
+
+
+    // ====================================================================================================
+    // public void append
+    //
+    // Adds one argument to the end of the buffer
+    //
+    // Arguments--
+    //
+    // argument:    the argument to add
+    //
+    // Returns--
+    //
+    // None
+    //
+    public void append(String argument) {
+        if (this.size == this.elements.length) this.elements = Arrays.copyOf(this.elements, this.size * 2);
+        this.elements[this.size++] = argument;
+    }
+    // end: public void append
+
+
+    // ====================================================================================================
+    // public void appendAll
+    //
+    // Adds arguments to the end of the buffer, in order
+    //
+    // Arguments--
+    //
+    // arguments:   the arguments to add
+    //
+    // Returns--
+    //
+    // None
+    //
+    public void appendAll(List<String> arguments) {
+        int required = this.size + arguments.size();
+        if (required > this.elements.length) this.elements = Arrays.copyOf(this.elements, Math.max(required, this.size * 2));
+
+        for (String argument : arguments) this.elements[this.size++] = argument;
+    }
+    // end: public void appendAll
+
+
+    // ====================================================================================================
+    // public void clear
+    //
+    // Removes every argument, keeping the backing array so the buffer can be refilled without allocating
+    //
+    // Arguments--
+    //
+    // None
+    //
+    // Returns--
+    //
+    // None
+    //
+    @Override
+    public void clear() {
+        Arrays.fill(this.elements, 0, this.size, null);
+        this.size = 0;
+    }
+    // end: public void clear
+
+
+    // ====================================================================================================
+    // List methods
+    @Override
+    public String get(int index) {
+        if (index < 0 || index >= this.size) throw new IndexOutOfBoundsException("index " + index + ", size " + this.size);
+        return this.elements[index];
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+    // end: List methods
+
+}
+// end: public class ArgumentBuffer
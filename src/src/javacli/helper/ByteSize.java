@@ -0,0 +1,87 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// ByteSize.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.helper;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public final class ByteSize
+//
+// A number of bytes, the option type to use when values may have a binary size suffix: k, m, g, or t
+// (case-insensitive, ex: --buffer 64k is 65536 bytes). Integer options never accept a suffix, so a size
+// is opted into by declaring the option with type = ByteSize.class
+//
+public final class ByteSize {
+
+    private final long bytes;
+
+
+    // ----------------------------------------------------------------------------------------------------
+    // public ByteSize
+    //
+    // Arguments--
+    //
+    // bytes:   the number of bytes
+    //
+    public ByteSize(long bytes) {
+        this.bytes = bytes;
+    }
+    // end: public ByteSize
+
+
+    // ====================================================================================================
+    // public static ByteSize parse
+    //
+    // Parses a size, see NumberParser.parseSize
+    //
+    // Arguments--
+    //
+    // text:    the text to parse, ex: 64k, 0x100, or 4096
+    //
+    // Returns--
+    //
+    // The size
+    //
+    public static ByteSize parse(CharSequence text) {
+        return new ByteSize(NumberParser.parseSize(text, 0, text.length()));
+    }
+    // end: public static ByteSize parse
+
+
+    // ====================================================================================================
+    // GET methods
+    public long toBytes() {
+        return bytes;
+    }
+
+    public int toIntExact() {
+        return Math.toIntExact(bytes);
+    }
+    // end: GET methods
+
+
+    // ====================================================================================================
+    // Object methods
+    @Override
+    public boolean equals(Object other) {
+        return (other instanceof ByteSize) && ((ByteSize) other).bytes == this.bytes;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(this.bytes);
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(this.bytes);
+    }
+    // end: Object methods
+
+}
+// end: public final class ByteSize
@@ -1,6 +1,7 @@
 package javacli.helper;
 
 
+import javacli.Invocation;
 import javacli.annotations.Argument;
 import javacli.annotations.Command;
 import javacli.annotations.Option;
@@ -11,16 +12,22 @@ import java.lang.reflect.Field;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 
 public class CLIHelper {
 
+    public CLIHelper() {
+    }
+
+
     public static void cliAssert(boolean assertion, String failureMessage, String... extraArgs) throws Exception {
         if (!assertion) {
             String err = "ERROR: javacli Assertion Failed; " + failureMessage + ((extraArgs.length > 0) ? " -\n\t" + String.join("\n\t", extraArgs) : "");
 
-            System.out.println(err + "\n\n");
+            Invocation.out().println(err + "\n\n");
             throw new Exception("Assertion Failed: " + failureMessage);
         }
     }
@@ -40,6 +47,32 @@ public class CLIHelper {
     // help:    the built help message
     //
     public String generateHelp(Class<?> optionsDefinitionClass, String name, String version) {
+        return this.generateHelp(optionsDefinitionClass, name, version, Collections.emptyList(), null);
+    }
+
+
+    // ====================================================================================================
+    // public String generateHelp
+    //
+    // Generates a help message to print, with options the library adds to the command
+    //
+    // Arguments--
+    //
+    // optionsDefinitionClass:  the class with the option and argument definitions
+    //
+    // name:                    the name of the command
+    //
+    // version:                 the version of the command, or "" if it has none
+    //
+    // extraOptions:            options listed after the command's own, ex: reserved options
+    //
+    // extraDefinitionClass:    the class that defines the extra options
+    //
+    // Returns--
+    //
+    // help:    the built help message
+    //
+    public String generateHelp(Class<?> optionsDefinitionClass, String name, String version, List<Option> extraOptions, Class<?> extraDefinitionClass) {
         StringBuilder help = new StringBuilder();
 
         // Add the app name and version if able
@@ -56,7 +89,7 @@ public class CLIHelper {
                 Argument argument = f.getAnnotation(Argument.class);
 
                 help.append(argument.name().toUpperCase())
-                        .append(" ");
+                        .append((argument.variadic()) ? "... " : " ");
             } catch (NullPointerException ignored) {}
         }
 
@@ -69,15 +102,7 @@ public class CLIHelper {
             Option option = f.getAnnotation(Option.class);
 
             // Append the help information for that option
-            if (option != null) {
-                help.append("\t")
-                        .append((option.abbreviation() != Character.MIN_VALUE) ? option.abbreviation() + ", " + option.name() : option.name())
-                        .append(" ")
-                        .append((!option.isFlag()) ? ((option.type() != String.class) ? option.type().getSimpleName().toUpperCase() : "TEXT") : "")
-                        .append((!option.defaultValue().equals("")) ? ((option.showDefault()) ? " (" + option.defaultValue() + ")" : "") : "")
-                        .append((!option.help().equals("")) ? "\t: " + option.help() : "")
-                        .append("\n");
-            }
+            if (option != null) appendOption(help, option, optionsDefinitionClass);
 
             // Get and append the version option if one exists
             Version v = f.getAnnotation(Version.class);
@@ -89,6 +114,8 @@ public class CLIHelper {
             }
         }
 
+        for (Option option : extraOptions) appendOption(help, option, extraDefinitionClass);
+
         // Add the help option to the end
         help.append("\thelp\t: Print this message and exit");
 
@@ -115,6 +142,108 @@ public class CLIHelper {
     // end: private String generateHelp
 
 
+    // ====================================================================================================
+    // public String generateHelp
+    //
+    // Generates a help message to print for a command without a definition class, ex: a built Schema
+    //
+    // Arguments--
+    //
+    // name:                the name of the command
+    //
+    // version:             the version of the command, or "" if it has none
+    //
+    // versionAbbreviation: the abbreviation of --version
+    //
+    // options:             the options of the command
+    //
+    // arguments:           the positional arguments of the command
+    //
+    // commands:            the help message of each sub command by name
+    //
+    // Returns--
+    //
+    // help:    the built help message
+    //
+    public String generateHelp(String name, String version, char versionAbbreviation, List<Option> options, List<Argument> arguments,
+                               Map<String, String> commands) {
+        StringBuilder help = new StringBuilder();
+
+        // Add the app name and version if able
+        help.append(name)
+                .append((!version.equals("")) ? ", version " + version + "\n\n" : "\n\n");
+
+        // Add the usage statement
+        help.append("usage: ")
+                .append(name)
+                .append(" [OPTIONS] ");
+        for (Argument argument : arguments)
+            help.append(argument.name().toUpperCase()).append((argument.variadic()) ? "... " : " ");
+        help.append("\n\n");
+
+        for (Option option : options) appendOption(help, option, null);
+        if (!version.equals("")) {
+            help.append("\t")
+                    .append((versionAbbreviation != Character.MIN_VALUE) ? versionAbbreviation + ", version" : "version")
+                    .append("\t: Print the version and exit\n");
+        }
+        help.append("\thelp\t: Print this message and exit");
+
+        if (!commands.isEmpty()) {
+            help.append("\n\n");
+            for (Map.Entry<String, String> command : commands.entrySet()) {
+                help.append("\n\t")
+                        .append(command.getKey())
+                        .append(" [OPTIONS]\t")
+                        .append((!command.getValue().equals("")) ? ": " + command.getValue() : "");
+            }
+        }
+
+        return help.toString();
+    }
+    // end: public String generateHelp
+
+
+    // Appends the help line of one option
+    private static void appendOption(StringBuilder help, Option option, Class<?> definitionClass) {
+        help.append("\t")
+                .append((option.abbreviation() != Character.MIN_VALUE) ? option.abbreviation() + ", " + option.name() : option.name())
+                .append(" ")
+                .append((option.isMap()) ? "KEY=" : "")
+                .append((!option.isFlag()) ? ((option.type() != String.class) ? option.type().getSimpleName().toUpperCase() : "TEXT") : "")
+                .append((option.showDefault()) ? " (" + describeDefault(option, definitionClass) + ")" : "")
+                .append((!option.help().equals("")) ? "\t: " + option.help() : "")
+                .append("\n");
+    }
+
+
+    // ====================================================================================================
+    // private static String describeDefault
+    //
+    // Gets the default value of an option to show in the help message, computing it if the option has a
+    // defaultProvider or defaultFactory
+    //
+    // Arguments--
+    //
+    // option:          the option
+    //
+    // definitionClass: the class that defines the option
+    //
+    // Returns--
+    //
+    // The default value as text
+    //
+    private static String describeDefault(Option option, Class<?> definitionClass) {
+        try {
+            LazyValue<Object> providedDefault = LazyValue.forDefault(option, definitionClass);
+            return (providedDefault != null) ? String.valueOf(providedDefault.get()) : option.defaultValue();
+        } catch (Exception e) {
+            return "unknown"; // The help message is still printed if the default cannot be computed
+        }
+    }
+    // end: private static String describeDefault
+
+
     // ====================================================================================================
     // private void changeAnnotationValue
     //
@@ -165,7 +294,7 @@ public class CLIHelper {
     @SuppressWarnings("unchecked")
     private void disableAccessWarnings() {
         try {
-            Class unsafeClass = Class.forName("sun.misc.Unsafe");
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
             Field field = unsafeClass.getDeclaredField("theUnsafe");
             field.setAccessible(true);
             Object unsafe = field.get(null);
@@ -173,7 +302,7 @@ public class CLIHelper {
             Method putObjectVolatile = unsafeClass.getDeclaredMethod("putObjectVolatile", Object.class, long.class, Object.class);
             Method staticFieldOffset = unsafeClass.getDeclaredMethod("staticFieldOffset", Field.class);
 
-            Class loggerClass = Class.forName("jdk.internal.module.IllegalAccessLogger");
+            Class<?> loggerClass = Class.forName("jdk.internal.module.IllegalAccessLogger");
             Field loggerField = loggerClass.getDeclaredField("logger");
             Long offset = (Long) staticFieldOffset.invoke(unsafe, loggerField);
             putObjectVolatile.invoke(unsafe, loggerClass, offset, null);
@@ -0,0 +1,155 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// CommandIndex.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.helper;
+
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class CommandIndex
+//
+// The plugin commands listed in the META-INF/javacli/commands index files of every jar on a class path.
+// Each line of an index file is "name<TAB>class name<TAB>help", and lines starting with # are comments.
+// The index files are written at build time by javacli.processor.CommandIndexProcessor for classes with
+// @Command. Command classes are only loaded when they are selected, so listing the commands (ex: for
+// --help) does not load or reflect over any plugin class
+//
+public class CommandIndex {
+
+    public static final String INDEX_FILE = "META-INF/javacli/commands"; // Resource name of the index file in each jar
+
+
+    // ----------------------------------------------------------------------------------------------------
+    // public static class Entry
+    //
+    // One command listed in an index file
+    //
+    public static class Entry {
+
+        private final String name; // Name of the command on the command line
+        private final String className; // Binary name of the command's definition class
+        private final String help; // Summary of the command for --help
+        private final ClassLoader loader; // Loader to load the class with
+
+        private Entry(String name, String className, String help, ClassLoader loader) {
+            this.name = name;
+            this.className = className;
+            this.help = help;
+            this.loader = loader;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getClassName() {
+            return className;
+        }
+
+        public String getHelp() {
+            return help;
+        }
+
+        // Loads the definition class of the command
+        public Class<?> load() throws ClassNotFoundException {
+            return Class.forName(this.className, true, this.loader);
+        }
+
+    }
+    // end: public static class Entry
+
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(); // Commands by name, in class path order
+
+
+    private CommandIndex() {
+    }
+
+
+    // ====================================================================================================
+    // public static CommandIndex load
+    //
+    // Reads every index file visible to a class loader. If two jars list the same command name, the one
+    // earlier on the class path is used
+    //
+    // Arguments--
+    //
+    // loader:  the class loader to find index files and load command classes with
+    //
+    // Returns--
+    //
+    // The commands of all the index files
+    //
+    public static CommandIndex load(ClassLoader loader) throws IOException {
+        CommandIndex index = new CommandIndex();
+
+        Enumeration<URL> indexFiles = loader.getResources(INDEX_FILE);
+        while (indexFiles.hasMoreElements()) {
+            URL indexFile = indexFiles.nextElement();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(indexFile.openStream(), StandardCharsets.UTF_8))) {
+                for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                    if (line.isBlank() || line.startsWith("#")) continue;
+
+                    String[] fields = line.split("\t", 3);
+                    if (fields.length < 2) continue; // Malformed lines are skipped rather than breaking every command
+                    index.entries.putIfAbsent(fields[0], new Entry(fields[0], fields[1], (fields.length == 3) ? fields[2] : "", loader));
+                }
+            }
+        }
+
+        return index;
+    }
+    // end: public static CommandIndex load
+
+
+    // ====================================================================================================
+    // public Entry get
+    //
+    // Gets a command by name
+    //
+    // Arguments--
+    //
+    // name:    the name of the command
+    //
+    // Returns--
+    //
+    // The command, or null if no index file lists it
+    //
+    public Entry get(String name) {
+        return this.entries.get(name);
+    }
+    // end: public Entry get
+
+
+    // ====================================================================================================
+    // public Collection<Entry> getCommands
+    //
+    // Gets every command, in class path order
+    //
+    // Arguments--
+    //
+    // None
+    //
+    // Returns--
+    //
+    // The commands
+    //
+    public Collection<Entry> getCommands() {
+        return Collections.unmodifiableCollection(this.entries.values());
+    }
+    // end: public Collection<Entry> getCommands
+
+}
+// end: public class CommandIndex
@@ -0,0 +1,138 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// CommandTokenizer.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.helper;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class CommandTokenizer
+//
+// Splits a whole command string into arguments the way a POSIX shell does, in one pass over the characters.
+//
+// Arguments are separated by unquoted whitespace. Inside single quotes every character is literal. Inside
+// double quotes a backslash only escapes $, `, ", \, and newline. Outside quotes a backslash escapes any
+// character, and a backslash before a newline joins the lines, so it is removed entirely and is never an
+// argument by itself. Quotes are removed, so "" is an empty argument. No expansion ($VAR, *, ~) is done. The tokenizer keeps no state, so it is safe to use from
+// any number of threads
+//
+public class CommandTokenizer {
+
+    private CommandTokenizer() {
+    }
+
+
+    // ====================================================================================================
+    // public static ArgumentBuffer tokenize
+    //
+    // Splits a command string into arguments
+    //
+    // Arguments--
+    //
+    // command: the command string, ex: deploy --tag 'release 2' -v
+    //
+    // Returns--
+    //
+    // The arguments, in order
+    //
+    public static ArgumentBuffer tokenize(CharSequence command) throws Exception {
+        ArgumentBuffer tokens = new ArgumentBuffer();
+        StringBuilder quoted = null; // Characters of the current argument, only used once it has quotes or escapes
+        int length = command.length();
+        int i = 0;
+
+        while (i < length) {
+            // Skip the whitespace between arguments
+            while (i < length && isSpace(command.charAt(i))) i++;
+            if (i == length) break;
+
+            // Arguments without quotes or escapes (the common case) are copied straight from the command
+            int start = i;
+            while (i < length && !isSpace(command.charAt(i)) && !isSpecial(command.charAt(i))) i++;
+            if (i == length || isSpace(command.charAt(i))) {
+                tokens.append(command.subSequence(start, i).toString());
+                continue;
+            }
+
+            if (quoted == null) quoted = new StringBuilder();
+            quoted.setLength(0);
+            quoted.append(command, start, i);
+            boolean hasQuotes = false; // Whether the argument has quotes, which make it an argument even if empty
+
+            while (i < length && !isSpace(command.charAt(i))) {
+                char c = command.charAt(i++);
+                switch (c) {
+                    case '\'':
+                        int close = i;
+                        while (close < length && command.charAt(close) != '\'') close++;
+                        CLIHelper.cliAssert((close < length),
+                                "a single quote in the command is not closed",
+                                "quote opened at index " + (i - 1));
+                        quoted.append(command, i, close);
+                        i = close + 1;
+                        hasQuotes = true;
+                        break;
+                    case '"':
+                        i = appendDoubleQuoted(command, i, quoted);
+                        hasQuotes = true;
+                        break;
+                    case '\\':
+                        if (i == length) break; // A trailing backslash is dropped
+                        if (command.charAt(i) != '\n') quoted.append(command.charAt(i));
+                        i++;
+                        break;
+                    default:
+                        quoted.append(c);
+                }
+            }
+
+            // Only escaped newlines or a trailing backslash (ex: the \ of "a \<newline> b") leave nothing
+            if (hasQuotes || quoted.length() > 0) tokens.append(quoted.toString());
+        }
+
+        return tokens;
+    }
+    // end: public static ArgumentBuffer tokenize
+
+
+    // ====================================================================================================
+    // Private helpers
+
+    // Appends the contents of a double quoted section that starts at index i, and returns the index after the closing quote
+    private static int appendDoubleQuoted(CharSequence command, int i, StringBuilder quoted) throws Exception {
+        int open = i - 1;
+        int length = command.length();
+
+        while (i < length) {
+            char c = command.charAt(i++);
+            if (c == '"') return i;
+
+            if (c == '\\' && i < length) {
+                char next = command.charAt(i);
+                if (next == '$' || next == '`' || next == '"' || next == '\\') { quoted.append(next); i++; continue; }
+                if (next == '\n') { i++; continue; }
+            }
+            quoted.append(c);
+        }
+
+        CLIHelper.cliAssert(false,
+                "a double quote in the command is not closed",
+                "quote opened at index " + open);
+        return i;
+    }
+
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r';
+    }
+
+    private static boolean isSpecial(char c) {
+        return c == '\'' || c == '"' || c == '\\';
+    }
+    // end: Private helpers
+
+}
+// end: public class CommandTokenizer
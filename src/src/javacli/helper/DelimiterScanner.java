@@ -0,0 +1,95 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// DelimiterScanner.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.helper;
+
+
+import java.util.Arrays;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class DelimiterScanner
+//
+// Finds every occurrence of a delimiter (ex: the commas of a value list) in one pass, as an array of
+// offsets. When the runtime has the jdk.incubator.vector module (ex: java --add-modules
+// jdk.incubator.vector), a whole vector of characters is compared at a time (see VectorDelimiterScanner).
+// Otherwise, and for text shorter than a few vectors, the characters are scanned one at a time. Both
+// give the same offsets
+//
+public class DelimiterScanner {
+
+    // Whether the vector scan can be used. Without the module, VectorDelimiterScanner is never loaded
+    private static final boolean VECTORIZED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private static final int VECTOR_MIN_LENGTH = 256; // Shorter text is scanned faster without setting up vectors
+
+
+    private DelimiterScanner() {
+    }
+
+
+    // ====================================================================================================
+    // public static boolean isVectorized
+    //
+    // Checks if long text is scanned with the Vector API
+    //
+    // Arguments--
+    //
+    // None
+    //
+    // Returns--
+    //
+    // Whether the runtime has the jdk.incubator.vector module
+    //
+    public static boolean isVectorized() {
+        return VECTORIZED;
+    }
+    // end: public static boolean isVectorized
+
+
+    // ====================================================================================================
+    // public static int[] find
+    //
+    // Finds the offsets of every occurrence of a delimiter
+    //
+    // Arguments--
+    //
+    // text:        the text to scan
+    //
+    // delimiter:   the character to find
+    //
+    // Returns--
+    //
+    // The offsets, in increasing order
+    //
+    public static int[] find(String text, char delimiter) {
+        if (VECTORIZED && text.length() >= VECTOR_MIN_LENGTH) return VectorDelimiterScanner.find(text, delimiter);
+        return findScalar(text, delimiter);
+    }
+    // end: public static int[] find
+
+
+    // ====================================================================================================
+    // static int[] findScalar
+    //
+    // Finds the offsets of every occurrence of a delimiter one character at a time. The fallback of find,
+    // and the end of the text that does not fill a vector
+    //
+    static int[] findScalar(String text, char delimiter) {
+        int[] offsets = new int[16];
+        int count = 0;
+        for (int i = text.indexOf(delimiter); i >= 0; i = text.indexOf(delimiter, i + 1)) {
+            if (count == offsets.length) offsets = Arrays.copyOf(offsets, count * 2);
+            offsets[count++] = i;
+        }
+        return Arrays.copyOf(offsets, count);
+    }
+    // end: static int[] findScalar
+
+}
+// end: public class DelimiterScanner
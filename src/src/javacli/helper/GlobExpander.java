@@ -0,0 +1,289 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// GlobExpander.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.helper;
+
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class GlobExpander
+//
+// Expands glob patterns (with PathMatcher "glob:" syntax) to a lazy, parallel stream of matching paths.
+// The directory walk starts at the longest prefix of the pattern without glob characters and reads each
+// directory only when the stream needs more paths. Splitting the stream hands pending directories to
+// other threads, so a parallel stream walks the tree on all cores. Matches are in no particular order,
+// and symbolic links to directories are not followed
+//
+public class GlobExpander {
+
+    private static final String GLOB_CHARACTERS = "*?[{"; // Characters that make a path segment a pattern
+    private static final int MAX_SPLIT_READS = 16; // Most directories read ahead to find directories for a split
+
+
+    private GlobExpander() {
+    }
+
+
+    // ====================================================================================================
+    // public static Stream<Path> expand
+    //
+    // Expands a glob pattern. A pattern without glob characters is returned as a single path, whether or not it exists
+    //
+    // Arguments--
+    //
+    // pattern: the pattern to expand, ex: src/**/*.log
+    //
+    // Returns--
+    //
+    // A parallel stream of the matching paths, which should be closed if it is not fully consumed
+    //
+    public static Stream<Path> expand(String pattern) {
+        Path patternPath = Paths.get(pattern);
+
+        // Walk from the directory of the leading path segments that contain no glob characters
+        int literalSegments = literalSegments(patternPath);
+        if (literalSegments == patternPath.getNameCount()) return Stream.of(patternPath);
+        Path base = baseDirectory(pattern);
+
+        // A pattern with ** can match at any depth, otherwise only as deep as the number of remaining segments
+        int maxDepth = (pattern.contains("**")) ? Integer.MAX_VALUE : patternPath.getNameCount() - literalSegments;
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + patternPath);
+
+        Set<DirectoryStream<Path>> openStreams = ConcurrentHashMap.newKeySet();
+        WalkSpliterator walker = new WalkSpliterator(matcher, maxDepth, openStreams);
+        walker.pending.add(new PendingDirectory(base, 1));
+
+        return StreamSupport.stream(walker, true).onClose(() -> {
+            for (DirectoryStream<Path> openStream : openStreams) closeQuietly(openStream);
+        });
+    }
+    // end: public static Stream<Path> expand
+
+
+    // ====================================================================================================
+    // public static Path baseDirectory
+    //
+    // Gets the directory every match of a glob pattern is in: the leading path segments that contain no glob
+    // characters
+    //
+    // Arguments--
+    //
+    // pattern: the pattern, ex: src/**/*.log
+    //
+    // Returns--
+    //
+    // The directory (ex: src), the empty path for the working directory, or the pattern itself if it has
+    // no glob characters
+    //
+    public static Path baseDirectory(String pattern) {
+        Path patternPath = Paths.get(pattern);
+        int literalSegments = literalSegments(patternPath);
+        if (literalSegments == patternPath.getNameCount()) return patternPath;
+
+        Path root = patternPath.getRoot();
+        if (literalSegments == 0) return (root != null) ? root : Paths.get("");
+        return (root != null) ? root.resolve(patternPath.subpath(0, literalSegments)) : patternPath.subpath(0, literalSegments);
+    }
+    // end: public static Path baseDirectory
+
+
+    // ====================================================================================================
+    // public static boolean isGlob
+    //
+    // Checks if text contains glob characters
+    //
+    // Arguments--
+    //
+    // text:    the text to check
+    //
+    // Returns--
+    //
+    // Whether the text is a glob pattern
+    //
+    public static boolean isGlob(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (GLOB_CHARACTERS.indexOf(text.charAt(i)) >= 0) return true;
+        }
+        return false;
+    }
+    // end: public static boolean isGlob
+
+
+    // ----------------------------------------------------------------------------------------------------
+    // private static class PendingDirectory
+    //
+    // A directory that has been found but not read yet
+    //
+    private static class PendingDirectory {
+
+        private final Path path; // The directory
+        private final int depth; // Depth of the directory's entries below the walk's base directory
+
+        private PendingDirectory(Path path, int depth) {
+            this.path = path;
+            this.depth = depth;
+        }
+
+    }
+    // end: private static class PendingDirectory
+
+
+    // ----------------------------------------------------------------------------------------------------
+    // private static class WalkSpliterator
+    //
+    // Lazily walks directories, reading one entry at a time, and reports the entries that match
+    //
+    private static class WalkSpliterator implements Spliterator<Path> {
+
+        private final PathMatcher matcher; // Matcher for the whole pattern
+        private final int maxDepth; // Deepest level of entries that can match
+        private final Set<DirectoryStream<Path>> openStreams; // Directory streams of every split, closed when the stream is closed
+
+        private final ArrayDeque<PendingDirectory> pending = new ArrayDeque<>(); // Directories to read next
+        private final ArrayDeque<Path> ready = new ArrayDeque<>(); // Matches found while reading ahead for a split
+        private DirectoryStream<Path> currentStream; // The directory being read
+        private Iterator<Path> currentEntries; // Remaining entries of the directory being read
+        private int currentDepth; // Depth of the entries of the directory being read
+
+        private WalkSpliterator(PathMatcher matcher, int maxDepth, Set<DirectoryStream<Path>> openStreams) {
+            this.matcher = matcher;
+            this.maxDepth = maxDepth;
+            this.openStreams = openStreams;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Path> action) {
+            // Matches found while reading ahead for a split come first
+            Path match = this.ready.pollFirst();
+            while (match == null) {
+                Path entry = this.nextEntry();
+                if (entry == null) return false;
+                if (this.visit(entry)) match = entry;
+            }
+
+            action.accept(match);
+            return true;
+        }
+
+        @Override
+        public Spliterator<Path> trySplit() {
+            // Read ahead until there are directories to share, keeping the matches found on the way
+            for (int reads = 0; this.pending.size() < 2 && reads < MAX_SPLIT_READS; reads++) {
+                if (this.currentEntries == null) {
+                    PendingDirectory next = this.pending.pollFirst();
+                    if (next == null) break;
+                    this.open(next);
+                }
+
+                // Read the rest of the current directory only
+                for (Path entry = this.currentEntry(); entry != null; entry = this.currentEntry()) {
+                    if (this.visit(entry)) this.ready.addLast(entry);
+                }
+            }
+
+            // Give half of the directories that have not been read yet to another thread
+            int count = this.pending.size() / 2;
+            if (count == 0) return null;
+
+            WalkSpliterator split = new WalkSpliterator(this.matcher, this.maxDepth, this.openStreams);
+            for (int i = 0; i < count; i++) split.pending.addLast(this.pending.pollLast());
+            return split;
+        }
+
+        @Override
+        public long estimateSize() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.NONNULL | Spliterator.DISTINCT;
+        }
+
+        // Returns the next entry of the walk, opening pending directories as needed, or null when the walk is done
+        private Path nextEntry() {
+            while (true) {
+                Path entry = this.currentEntry();
+                if (entry != null) return entry;
+
+                PendingDirectory next = this.pending.pollFirst();
+                if (next == null) return null;
+                this.open(next);
+            }
+        }
+
+        // Returns the next entry of the directory being read, or null (closing it) when it has no more entries
+        private Path currentEntry() {
+            if (this.currentEntries == null) return null;
+
+            try {
+                if (this.currentEntries.hasNext()) return this.currentEntries.next();
+            }
+            catch (DirectoryIteratorException ignored) {
+            }
+            this.closeCurrent();
+            return null;
+        }
+
+        // Queues the entry if it is a directory to walk into, and returns whether it matches the pattern
+        private boolean visit(Path entry) {
+            if (this.currentDepth < this.maxDepth && Files.isDirectory(entry, LinkOption.NOFOLLOW_LINKS))
+                this.pending.addLast(new PendingDirectory(entry, this.currentDepth + 1));
+            return this.matcher.matches(entry);
+        }
+
+        private void open(PendingDirectory directory) {
+            try {
+                this.currentStream = Files.newDirectoryStream(directory.path);
+                this.openStreams.add(this.currentStream);
+                this.currentEntries = this.currentStream.iterator();
+                this.currentDepth = directory.depth;
+            }
+            catch (IOException | DirectoryIteratorException e) {
+                this.currentEntries = null; // Unreadable directories are skipped, as a shell would
+            }
+        }
+
+        private void closeCurrent() {
+            if (this.currentStream != null) {
+                this.openStreams.remove(this.currentStream);
+                closeQuietly(this.currentStream);
+                this.currentStream = null;
+            }
+            this.currentEntries = null;
+        }
+
+    }
+    // end: private static class WalkSpliterator
+
+
+    // ====================================================================================================
+    // Private helpers
+    private static int literalSegments(Path patternPath) {
+        int literalSegments = 0; // Leading segments that contain no glob characters
+        while (literalSegments < patternPath.getNameCount() && !isGlob(patternPath.getName(literalSegments).toString()))
+            literalSegments++;
+        return literalSegments;
+    }
+
+    private static void closeQuietly(DirectoryStream<Path> stream) {
+        try { stream.close(); }
+        catch (IOException ignored) {}
+    }
+    // end: Private helpers
+
+}
+// end: public class GlobExpander
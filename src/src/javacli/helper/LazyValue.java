@@ -0,0 +1,157 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// LazyValue.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.helper;
+
+
+import javacli.annotations.Option;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class LazyValue
+//
+// A value that is computed the first time it is read and remembered after that. Option variables of type
+// Supplier<type> are set to a LazyValue, so defaults computed by a defaultProvider or defaultFactory are
+// only computed if the program reads them
+//
+public class LazyValue<T> implements Supplier<T> {
+
+    private Callable<? extends T> computation; // Computes the value, null once the value is known
+    private volatile boolean computed; // Whether value has been set
+    private T value; // The computed value
+
+
+    // ----------------------------------------------------------------------------------------------------
+    // public LazyValue
+    //
+    // Arguments--
+    //
+    // computation: computes the value when it is first read
+    //
+    public LazyValue(Callable<? extends T> computation) {
+        this.computation = computation;
+    }
+    // end: public LazyValue
+
+
+    // ====================================================================================================
+    // public static <T> LazyValue<T> of
+    //
+    // Creates a LazyValue that already has its value
+    //
+    // Arguments--
+    //
+    // value:   the value
+    //
+    // Returns--
+    //
+    // The LazyValue
+    //
+    public static <T> LazyValue<T> of(T value) {
+        LazyValue<T> lazyValue = new LazyValue<>(null);
+        lazyValue.value = value;
+        lazyValue.computed = true;
+        return lazyValue;
+    }
+    // end: public static <T> LazyValue<T> of
+
+
+    // ====================================================================================================
+    // public static LazyValue<Object> forDefault
+    //
+    // Creates a LazyValue that computes the default of an option with its defaultProvider or defaultFactory
+    //
+    // Arguments--
+    //
+    // o:               the option
+    //
+    // definitionClass: the class that defines the option, which has the defaultFactory method, or null for
+    //                  an option of a built schema, which cannot have a defaultFactory
+    //
+    // Returns--
+    //
+    // The LazyValue, or null if the option has neither a defaultProvider nor a defaultFactory
+    //
+    public static LazyValue<Object> forDefault(Option o, Class<?> definitionClass) throws Exception {
+        if (o.defaultProvider() != Supplier.class) {
+            Class<?> providerClass = o.defaultProvider();
+            return new LazyValue<>(() -> ((Supplier<?>) providerClass.getConstructor().newInstance()).get());
+        }
+
+        if (!o.defaultFactory().equals("")) {
+            CLIHelper.cliAssert((definitionClass != null),
+                    "a defaultFactory was given for an option without a definition class, ex: of a built schema",
+                    "in option " + o.name() + ", method " + o.defaultFactory());
+
+            Method factory = null;
+            try { factory = definitionClass.getMethod(o.defaultFactory()); }
+            catch (NoSuchMethodException ignored) {}
+
+            CLIHelper.cliAssert((factory != null && Modifier.isStatic(factory.getModifiers())),
+                    "a defaultFactory is not a public static method with no arguments",
+                    "in option " + o.name() + ", method " + o.defaultFactory() + " of " + definitionClass.getSimpleName());
+
+            Method defaultFactory = factory;
+            return new LazyValue<>(() -> defaultFactory.invoke(null));
+        }
+
+        return null;
+    }
+    // end: public static LazyValue<Object> forDefault
+
+
+    // ====================================================================================================
+    // public T get
+    //
+    // Gets the value, computing it if this is the first read
+    //
+    // Arguments--
+    //
+    // None
+    //
+    // Returns--
+    //
+    // The value
+    //
+    @Override
+    public T get() {
+        if (!this.computed) {
+            synchronized (this) {
+                if (!this.computed) {
+                    try { this.value = this.computation.call(); }
+                    catch (RuntimeException e) { throw e; }
+                    catch (Exception e) { throw new IllegalStateException("a lazy value could not be computed", e); }
+
+                    this.computation = null;
+                    this.computed = true;
+                }
+            }
+        }
+        return this.value;
+    }
+    // end: public T get
+
+
+    // ====================================================================================================
+    // public String toString
+    //
+    // Gets the value as a string, without computing it if it has not been read yet
+    //
+    @Override
+    public String toString() {
+        return (this.computed) ? String.valueOf(this.value) : "<not computed>";
+    }
+    // end: public String toString
+
+}
+// end: public class LazyValue
@@ -0,0 +1,290 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// NumberParser.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.helper;
+
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class NumberParser
+//
+// Parses numbers directly from a range of characters, without creating substrings or boxed values.
+//
+// Integers are accepted in the same forms as Long.decode (123, -0x7B, #7B, 0173). Sizes are integers
+// that may end with a binary suffix: k, m, g, or t (case-insensitive, ex: 64k = 65536), and are only
+// parsed for ByteSize values, so a plain integer option never accepts a suffix. Durations are a number
+// followed by ns, us, ms, s, m, h, or d (ex: 500ms)
+//
+public class NumberParser {
+
+    private NumberParser() {
+    }
+
+
+    // ====================================================================================================
+    // public static long parseLong
+    //
+    // Parses an integer
+    //
+    // Arguments--
+    //
+    // s:       the characters to parse from
+    //
+    // start:   the index of the first character (inclusive)
+    //
+    // end:     the index of the last character (exclusive)
+    //
+    // Returns--
+    //
+    // The parsed value
+    //
+    public static long parseLong(CharSequence s, int start, int end) {
+        return parseDecoded(s, start, end);
+    }
+    // end: public static long parseLong
+
+
+    // ====================================================================================================
+    // public static long parseSize
+    //
+    // Parses an integer with an optional binary size suffix (k, m, g, or t)
+    //
+    // Arguments--
+    //
+    // s:       the characters to parse from
+    //
+    // start:   the index of the first character (inclusive)
+    //
+    // end:     the index of the last character (exclusive)
+    //
+    // Returns--
+    //
+    // The parsed value, multiplied by the suffix
+    //
+    public static long parseSize(CharSequence s, int start, int end) {
+        int shift = 0; // Size suffix as a power of two
+        if (end - start > 1) {
+            switch (s.charAt(end - 1)) {
+                case 'k': case 'K': shift = 10; break;
+                case 'm': case 'M': shift = 20; break;
+                case 'g': case 'G': shift = 30; break;
+                case 't': case 'T': shift = 40; break;
+            }
+        }
+
+        long value = parseDecoded(s, start, (shift == 0) ? end : end - 1);
+        if (shift != 0 && (value > (Long.MAX_VALUE >> shift) || value < (Long.MIN_VALUE >> shift))) throw invalid(s, start, end);
+        return value << shift;
+    }
+    // end: public static long parseSize
+
+
+    // ====================================================================================================
+    // public static int parseInt
+    //
+    // Parses an integer that must fit in an int
+    //
+    // Arguments--
+    //
+    // s:       the characters to parse from
+    //
+    // start:   the index of the first character (inclusive)
+    //
+    // end:     the index of the last character (exclusive)
+    //
+    // Returns--
+    //
+    // The parsed value
+    //
+    public static int parseInt(CharSequence s, int start, int end) {
+        return (int) parseInRange(s, start, end, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+    // end: public static int parseInt
+
+
+    // ====================================================================================================
+    // public static long parseInRange
+    //
+    // Parses an integer that must be within a range
+    //
+    // Arguments--
+    //
+    // s:       the characters to parse from
+    //
+    // start:   the index of the first character (inclusive)
+    //
+    // end:     the index of the last character (exclusive)
+    //
+    // min:     the smallest allowed value
+    //
+    // max:     the largest allowed value
+    //
+    // Returns--
+    //
+    // The parsed value
+    //
+    public static long parseInRange(CharSequence s, int start, int end, long min, long max) {
+        long value = parseLong(s, start, end);
+        if (value < min || value > max) throw invalid(s, start, end);
+        return value;
+    }
+    // end: public static long parseInRange
+
+
+    // ====================================================================================================
+    // public static double parseDouble
+    //
+    // Parses a floating point number. Plain decimals with at most 15 significant digits and a small
+    // exponent are computed exactly without allocating; anything else is handed to Double.parseDouble
+    //
+    // Arguments--
+    //
+    // s:       the characters to parse from
+    //
+    // start:   the index of the first character (inclusive)
+    //
+    // end:     the index of the last character (exclusive)
+    //
+    // Returns--
+    //
+    // The parsed value
+    //
+    public static double parseDouble(CharSequence s, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (s.charAt(i) == '-' || s.charAt(i) == '+')) negative = s.charAt(i++) == '-';
+
+        long mantissa = 0;
+        int digits = 0; // Significant digits in the mantissa
+        int scale = 0; // Power of ten to divide the mantissa by
+        boolean seenDigit = false;
+        boolean seenPoint = false;
+
+        for (; i < end; i++) {
+            char c = s.charAt(i);
+            if (c >= '0' && c <= '9') {
+                seenDigit = true;
+                if (mantissa != 0 || c != '0') digits++;
+                mantissa = mantissa * 10 + (c - '0');
+                if (seenPoint) scale++;
+                if (digits > 15) return fallbackDouble(s, start, end);
+            }
+            else if (c == '.' && !seenPoint) seenPoint = true;
+            else break;
+        }
+
+        if (i < end && (s.charAt(i) == 'e' || s.charAt(i) == 'E') && seenDigit) {
+            int exponentStart = ++i;
+            if (i < end && (s.charAt(i) == '-' || s.charAt(i) == '+')) i++;
+            if (i == end || end - i > 3) return fallbackDouble(s, start, end);
+            int exponent = 0;
+            for (; i < end; i++) {
+                char c = s.charAt(i);
+                if (c < '0' || c > '9') return fallbackDouble(s, start, end);
+                exponent = exponent * 10 + (c - '0');
+            }
+            scale -= (s.charAt(exponentStart) == '-') ? -exponent : exponent;
+        }
+
+        // Both the mantissa (< 2^53) and the power of ten (<= 10^22) are exact doubles, so one multiply or divide is correctly rounded
+        if (i != end || !seenDigit || scale > 22 || scale < -22) return fallbackDouble(s, start, end);
+        double value = (scale >= 0) ? mantissa / POWERS_OF_TEN[scale] : mantissa * POWERS_OF_TEN[-scale];
+        return (negative) ? -value : value;
+    }
+    // end: public static double parseDouble
+
+
+    // ====================================================================================================
+    // public static Duration parseDuration
+    //
+    // Parses a duration, either a number with a unit suffix (ex: 500ms, 2h) or an ISO-8601 duration (ex: PT1M)
+    //
+    // Arguments--
+    //
+    // s:       the characters to parse from
+    //
+    // start:   the index of the first character (inclusive)
+    //
+    // end:     the index of the last character (exclusive)
+    //
+    // Returns--
+    //
+    // The parsed duration
+    //
+    public static Duration parseDuration(CharSequence s, int start, int end) {
+        int first = (start < end && (s.charAt(start) == '-' || s.charAt(start) == '+')) ? start + 1 : start;
+        if (first < end && (s.charAt(first) == 'P' || s.charAt(first) == 'p')) return Duration.parse(s.subSequence(start, end));
+
+        int unitStart = end;
+        while (unitStart > start && Character.isLetter(s.charAt(unitStart - 1))) unitStart--;
+        if (unitStart == start || unitStart == end) throw invalid(s, start, end);
+
+        ChronoUnit unit;
+        switch (s.subSequence(unitStart, end).toString()) {
+            case "ns": unit = ChronoUnit.NANOS; break;
+            case "us": unit = ChronoUnit.MICROS; break;
+            case "ms": unit = ChronoUnit.MILLIS; break;
+            case "s": unit = ChronoUnit.SECONDS; break;
+            case "m": unit = ChronoUnit.MINUTES; break;
+            case "h": unit = ChronoUnit.HOURS; break;
+            case "d": unit = ChronoUnit.DAYS; break;
+            default: throw invalid(s, start, end);
+        }
+        return Duration.of(parseDecoded(s, start, unitStart), unit);
+    }
+    // end: public static Duration parseDuration
+
+
+    // ====================================================================================================
+    // Private helpers
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    // Parses sign, radix prefix, and digits the same way as Long.decode
+    private static long parseDecoded(CharSequence s, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (s.charAt(i) == '-' || s.charAt(i) == '+')) negative = s.charAt(i++) == '-';
+
+        int radix = 10;
+        if (i + 1 < end && s.charAt(i) == '0' && (s.charAt(i + 1) == 'x' || s.charAt(i + 1) == 'X')) { radix = 16; i += 2; }
+        else if (i < end && s.charAt(i) == '#') { radix = 16; i++; }
+        else if (i + 1 < end && s.charAt(i) == '0') { radix = 8; i++; }
+
+        if (i == end) throw invalid(s, start, end);
+
+        // Accumulate as a negative number so Long.MIN_VALUE can be represented
+        long limit = (negative) ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplyLimit = limit / radix;
+        long result = 0;
+        for (; i < end; i++) {
+            int digit = Character.digit(s.charAt(i), radix);
+            if (digit < 0 || result < multiplyLimit) throw invalid(s, start, end);
+            result *= radix;
+            if (result < limit + digit) throw invalid(s, start, end);
+            result -= digit;
+        }
+        return (negative) ? result : -result;
+    }
+
+    private static double fallbackDouble(CharSequence s, int start, int end) {
+        return Double.parseDouble(s.subSequence(start, end).toString());
+    }
+
+    private static NumberFormatException invalid(CharSequence s, int start, int end) {
+        return new NumberFormatException("For input string: \"" + s.subSequence(start, end) + "\"");
+    }
+    // end: Private helpers
+
+}
+// end: public class NumberParser
@@ -0,0 +1,230 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// OptionMap.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.helper;
+
+
+import javacli.annotations.Option;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class OptionMap
+//
+// Compact, insertion-ordered map used for the values of map options (isMap = true). Keys and values are
+// stored densely in insertion order, and an open-addressing table of int indices with linear probing
+// maps key hashes to their position. Entries cannot be removed
+//
+public class OptionMap<V> extends AbstractMap<String, V> {
+
+    private String[] keys; // Keys in insertion order
+    private Object[] values; // Values in insertion order
+    private int[] hashes; // Hash of each key, so resizing and probing do not call hashCode() again
+    private int[] table; // Open-addressing table, each slot is 0 if empty or (index into keys + 1)
+    private int size; // Number of entries
+
+
+    // ----------------------------------------------------------------------------------------------------
+    // public OptionMap
+    //
+    // Arguments--
+    //
+    // expectedSize:    the number of entries to size the map for
+    //
+    public OptionMap(int expectedSize) {
+        int capacity = Math.max(expectedSize, 4);
+        this.keys = new String[capacity];
+        this.values = new Object[capacity];
+        this.hashes = new int[capacity];
+        this.table = new int[tableSizeFor(capacity)];
+    }
+    // end: public OptionMap
+
+
+    public OptionMap() {
+        this(4);
+    }
+
+
+    // ====================================================================================================
+    // public static OptionMap<Object> fromArguments
+    //
+    // Splits the key=value arguments of a map option and casts the values. Later uses of a key replace
+    // earlier ones
+    //
+    // Arguments--
+    //
+    // o:           the annotation of the map option
+    //
+    // arguments:   the key=value arguments in the order they were specified
+    //
+    // Returns--
+    //
+    // The map of keys to cast values
+    //
+    public static OptionMap<Object> fromArguments(Option o, List<String> arguments) throws Exception {
+        // Compile the key patterns and look up the converter once for all the pairs
+        Pattern[] keyPatterns = new Pattern[o.keyPatterns().length];
+        for (int i = 0; i < keyPatterns.length; i++) keyPatterns[i] = Pattern.compile(o.keyPatterns()[i]);
+        TypeConverter.Converter converter = TypeConverter.forType(o.type());
+
+        OptionMap<Object> map = new OptionMap<>(arguments.size());
+        for (String pair : arguments) {
+            int equalsIndex = pair.indexOf('=');
+            CLIHelper.cliAssert((equalsIndex > 0),
+                    "an argument to a map option is not a key=value pair",
+                    "in option " + o.name() + ", argument is " + pair);
+
+            String key = pair.substring(0, equalsIndex);
+            boolean keyIsAllowed = (keyPatterns.length == 0);
+            for (int i = 0; i < keyPatterns.length && !keyIsAllowed; i++) keyIsAllowed = keyPatterns[i].matcher(key).matches();
+            CLIHelper.cliAssert(keyIsAllowed,
+                    "a key of a map option is not allowed",
+                    "in option " + o.name() + ", key " + key + " does not match any of " + Arrays.toString(o.keyPatterns()));
+
+            Object value = null;
+            try { value = converter.convert(pair.substring(equalsIndex + 1)); }
+            catch (Exception e) {
+                CLIHelper.cliAssert(false,
+                        "invalid argument type",
+                        "data is " + pair,
+                        "expected type " + o.type().getSimpleName());
+            }
+            map.put(key, value);
+        }
+
+        return map;
+    }
+    // end: public static OptionMap<Object> fromArguments
+
+
+    // ====================================================================================================
+    // Map methods
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String && this.indexOf((String) key) >= 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        if (!(key instanceof String)) return null;
+        int index = this.indexOf((String) key);
+        return (index >= 0) ? (V) this.values[index] : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(String key, V value) {
+        int hash = spread(key.hashCode());
+        int mask = this.table.length - 1;
+
+        // Find the key, or the empty slot where it belongs
+        int slot = hash & mask;
+        while (this.table[slot] != 0) {
+            int index = this.table[slot] - 1;
+            if (this.hashes[index] == hash && this.keys[index].equals(key)) {
+                V previous = (V) this.values[index];
+                this.values[index] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        // Add a new entry, growing before the table is more than half full
+        if (this.size == this.keys.length) {
+            int capacity = this.keys.length * 2;
+            this.keys = Arrays.copyOf(this.keys, capacity);
+            this.values = Arrays.copyOf(this.values, capacity);
+            this.hashes = Arrays.copyOf(this.hashes, capacity);
+        }
+        this.keys[this.size] = key;
+        this.values[this.size] = value;
+        this.hashes[this.size] = hash;
+        this.size++;
+
+        if (this.size * 2 > this.table.length) this.rehash(this.table.length * 2);
+        else this.table[slot] = this.size;
+        return null;
+    }
+
+    @Override
+    public Set<Entry<String, V>> entrySet() {
+        return new AbstractSet<Entry<String, V>>() {
+            @Override
+            public int size() {
+                return OptionMap.this.size;
+            }
+
+            @Override
+            public Iterator<Entry<String, V>> iterator() {
+                return new Iterator<Entry<String, V>>() {
+                    private int next = 0;
+
+                    @Override
+                    public boolean hasNext() {
+                        return this.next < OptionMap.this.size;
+                    }
+
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public Entry<String, V> next() {
+                        if (!this.hasNext()) throw new NoSuchElementException();
+                        int index = this.next++;
+                        return new SimpleImmutableEntry<>(OptionMap.this.keys[index], (V) OptionMap.this.values[index]);
+                    }
+                };
+            }
+        };
+    }
+    // end: Map methods
+
+
+    // ====================================================================================================
+    // Private helpers
+    private int indexOf(String key) {
+        int hash = spread(key.hashCode());
+        int mask = this.table.length - 1;
+
+        for (int slot = hash & mask; this.table[slot] != 0; slot = (slot + 1) & mask) {
+            int index = this.table[slot] - 1;
+            if (this.hashes[index] == hash && this.keys[index].equals(key)) return index;
+        }
+        return -1;
+    }
+
+    private void rehash(int tableSize) {
+        int[] newTable = new int[tableSize];
+        int mask = tableSize - 1;
+
+        for (int index = 0; index < this.size; index++) {
+            int slot = this.hashes[index] & mask;
+            while (newTable[slot] != 0) slot = (slot + 1) & mask;
+            newTable[slot] = index + 1;
+        }
+        this.table = newTable;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16); // Mix the high bits in, since the table index only uses the low bits
+    }
+
+    private static int tableSizeFor(int capacity) {
+        return Integer.highestOneBit(capacity * 2 - 1) * 2; // Smallest power of two that keeps the table at most half full
+    }
+    // end: Private helpers
+
+}
+// end: public class OptionMap
@@ -0,0 +1,762 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// ParseCache.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.helper;
+
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.CodeSource;
+import java.time.Duration;
+import java.util.*;
+import java.util.zip.CRC32C;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class ParseCache
+//
+// On-disk cache of parse results, stored in a file of fixed-size slots behind a small index. A key is the
+// library build, schema fingerprint, argv, and environment written out in full. Each index entry holds a
+// CRC32C of its key, and each slot holds the key itself followed by the result of one parse (see Entry), so
+// a lookup reads the index and one slot and compares the whole key. A cryptographic digest would make the
+// key shorter, but starting the JDK's digest provider cost more than a cache hit saves in a new JVM. A
+// lookup only writes when the entry it found is one of the older half, to keep the least recently used
+// order. When the cache is full the least recently used slot is overwritten
+//
+public class ParseCache {
+
+    private static final int MAGIC = 0x4A434C49; // "JCLI", marks an initialized cache file
+    private static final int FORMAT_VERSION = 5; // Bumped whenever the file layout or payload format changes
+
+    private static final int HEADER_SIZE = 16; // magic (4), format version (4), LRU clock (8)
+    private static final int SLOT_COUNT = 64; // Number of cached parse results
+    private static final int INDEX_ENTRY_SIZE = 8 + 8 + 4; // key CRC32C and length (8), last-used stamp (8), slot length (4)
+    private static final int INDEX_SIZE = HEADER_SIZE + SLOT_COUNT * INDEX_ENTRY_SIZE; // Header and index, read by every lookup
+    private static final int SLOT_SIZE = 64 * 1024; // Largest key and payload together in bytes
+
+    // Schema fingerprint of each definition class, computed once per class since a class cannot change while it is loaded
+    private static final ClassValue<byte[]> fingerprints = new ClassValue<>() {
+        @Override
+        protected byte[] computeValue(Class<?> definitionClass) {
+            return fingerprint(definitionClass);
+        }
+    };
+    private static final byte[] LIBRARY_STAMP = libraryStamp(); // Changes whenever a different build of the library is used
+
+    // Classes of the lists bound to variables: Arrays.asList for converted lists, read-only views for lists of strings
+    private static final Class<?> FIXED_SIZE_LIST_CLASS = Arrays.asList().getClass();
+    private static final Class<?> READ_ONLY_LIST_CLASS = Collections.unmodifiableList(new ArrayList<>()).getClass();
+
+    // Tags of the values in a payload, see Entry.writeValue
+    private static final int NULL = 0, STRING = 1, BOOLEAN = 2, BYTE = 3, SHORT = 4, INT = 5, LONG = 6, FLOAT = 7, DOUBLE = 8,
+            CHAR = 9, BIG_INTEGER = 10, BIG_DECIMAL = 11, DURATION = 12, BYTE_SIZE = 13, PATH = 14, FILE = 15, ENUM = 16,
+            LIST = 17, READ_ONLY_LIST = 18, MAP = 19;
+
+    private final Path cacheFile; // The file backing the cache
+    private final String[] environmentKeys; // Names of environment variables that are part of the cache key
+
+
+    // ----------------------------------------------------------------------------------------------------
+    // public ParseCache
+    //
+    // Arguments--
+    //
+    // cacheFile:       the file to store cached results in, created if it does not exist
+    //
+    // environmentKeys: names of environment variables whose values affect the parse result
+    //
+    public ParseCache(Path cacheFile, String... environmentKeys) {
+        this.cacheFile = cacheFile;
+        this.environmentKeys = environmentKeys;
+    }
+    // end: public ParseCache
+
+
+    // ====================================================================================================
+    // public byte[] key
+    //
+    // Builds the cache key for one invocation
+    //
+    // Arguments--
+    //
+    // definitionClasses:   every option definition class known to the parser
+    //
+    // args:                the command line arguments
+    //
+    // Returns--
+    //
+    // The library build, the schema fingerprint, argv, and the relevant environment variables as bytes
+    //
+    public byte[] key(List<Class<?>> definitionClasses, List<String> args) {
+        ByteArrayOutputStream key = new ByteArrayOutputStream(4096);
+
+        // A new build of the library may convert the same text to different values, so it invalidates every entry
+        writeInt(key, FORMAT_VERSION);
+        key.writeBytes(LIBRARY_STAMP);
+        for (Class<?> definitionClass : definitionClasses) key.writeBytes(fingerprints.get(definitionClass));
+
+        // Length-prefix each string so ("ab", "c") and ("a", "bc") do not collide
+        writeInt(key, args.size());
+        for (String arg : args) writeString(key, arg);
+        for (String environmentKey : this.environmentKeys) {
+            writeString(key, environmentKey);
+            writeString(key, String.valueOf(System.getenv(environmentKey)));
+        }
+
+        return key.toByteArray();
+    }
+    // end: public byte[] key
+
+
+    // ====================================================================================================
+    // public byte[] lookup
+    //
+    // Finds a cached payload. Other processes can look up entries at the same time, and only an entry in
+    // the older half of the least recently used order is marked as used again, so most hits do not write
+    //
+    // Arguments--
+    //
+    // key:     the key returned by key()
+    //
+    // Returns--
+    //
+    // The cached payload, or null if there is no entry or the cache file cannot be used
+    //
+    public byte[] lookup(byte[] key) {
+        long hash = hash(key);
+        byte[] contents;
+        boolean old;
+        try (FileChannel channel = FileChannel.open(this.cacheFile, StandardOpenOption.READ)) {
+            channel.lock(0, Long.MAX_VALUE, true); // Shared with other lookups, released when the channel is closed
+            ByteBuffer index = readIndex(channel);
+            int slot = (index != null) ? findSlot(index, hash) : -1;
+            if (slot < 0) return null;
+
+            contents = new byte[index.getInt(indexOffset(slot) + 16)];
+            if (!readFully(channel, ByteBuffer.wrap(contents), slotOffset(slot))) return null;
+            if (!Arrays.equals(contents, 0, key.length, key, 0, key.length)) return null; // Another key with the same CRC32C
+            old = index.getLong(indexOffset(slot) + 8) < index.getLong(8) - SLOT_COUNT / 2;
+        }
+        catch (IOException | RuntimeException e) {
+            return null; // The cache is best-effort, any failure is treated as a miss
+        }
+
+        // Touched after the channel is closed, since the shared lock cannot be turned into an exclusive one
+        if (old) {
+            try { this.touch(hash); }
+            catch (IOException | RuntimeException ignored) {} // Still a hit, the entry is only left older in the least recently used order
+        }
+        return Arrays.copyOfRange(contents, key.length, contents.length);
+    }
+    // end: public byte[] lookup
+
+
+    // ====================================================================================================
+    // public void store
+    //
+    // Stores a payload, replacing the entry with the same key or else the least recently used one
+    //
+    // Arguments--
+    //
+    // key:     the key returned by key()
+    //
+    // payload: the encoded entry. An entry whose key and payload are larger than a slot is not stored
+    //
+    // Returns--
+    //
+    // None
+    //
+    public void store(byte[] key, byte[] payload) {
+        if (key.length + payload.length > SLOT_SIZE) return; // Too large to cache, skip it
+
+        try (FileChannel channel = this.openForWriting()) {
+            channel.lock(); // Released when the channel is closed
+            ByteBuffer index = readIndex(channel);
+            if (index == null) index = newIndex(); // New, from another format version, or not a cache at all
+
+            long hash = hash(key);
+            int slot = findSlot(index, hash); // The same key, or another one with the same CRC32C, which is replaced
+            if (slot < 0) {
+                // Evict the slot with the oldest stamp. Unused slots have a stamp of 0 and are picked first
+                slot = 0;
+                for (int s = 1; s < SLOT_COUNT; s++) {
+                    if (index.getLong(indexOffset(s) + 8) < index.getLong(indexOffset(slot) + 8)) slot = s;
+                }
+            }
+
+            // Invalidate the entry while its slot is being written, then write the index in one piece
+            int entry = indexOffset(slot);
+            writeFully(channel, ByteBuffer.allocate(4), entry + 16);
+            writeFully(channel, ByteBuffer.wrap(key), slotOffset(slot));
+            writeFully(channel, ByteBuffer.wrap(payload), slotOffset(slot) + key.length);
+
+            long stamp = index.getLong(8) + 1;
+            index.putLong(8, stamp);
+            index.putLong(entry, hash);
+            index.putLong(entry + 8, stamp);
+            index.putInt(entry + 16, key.length + payload.length);
+            writeFully(channel, index.clear(), 0);
+        }
+        catch (IOException | RuntimeException ignored) {
+        }
+    }
+    // end: public void store
+
+
+    // ====================================================================================================
+    // public static boolean isCacheable
+    //
+    // Checks if a converted value can be stored in an Entry. Values that are not (ex: an open stream, or
+    // an instance of a type with a custom converter) are converted again on every run
+    //
+    // Arguments--
+    //
+    // value:   the value of an option or argument variable
+    //
+    // Returns--
+    //
+    // Whether the value can be written to and read back from a payload
+    //
+    public static boolean isCacheable(Object value) {
+        if (value == null || value instanceof String || value instanceof Boolean || value instanceof Character) return true;
+        if (value instanceof Byte || value instanceof Short || value instanceof Integer || value instanceof Long) return true;
+        if (value instanceof Float || value instanceof Double) return true;
+        if (value.getClass() == BigInteger.class || value.getClass() == BigDecimal.class) return true;
+        if (value instanceof Duration || value instanceof ByteSize || value instanceof Enum || value.getClass() == File.class) return true;
+        if (value instanceof Path) return ((Path) value).getFileSystem() == FileSystems.getDefault();
+
+        if (value.getClass() == FIXED_SIZE_LIST_CLASS || value.getClass() == READ_ONLY_LIST_CLASS) {
+            for (Object element : (List<?>) value) if (!isCacheable(element)) return false;
+            return true;
+        }
+        if (value.getClass() == OptionMap.class) {
+            for (Object element : ((OptionMap<?>) value).values()) if (!isCacheable(element)) return false;
+            return true;
+        }
+        return false;
+    }
+    // end: public static boolean isCacheable
+
+
+    // ----------------------------------------------------------------------------------------------------
+    // public static class Entry
+    //
+    // The result of one parse: the command line as the parser read it (the sub commands that were
+    // selected, each use of an option with its arguments, and the positional arguments), and the value
+    // each option and argument variable was set to. A cached result sets the variables to those values
+    // without converting anything. Variables whose values cannot be stored (see isCacheable), Supplier
+    // variables, and options with a defaultProvider or defaultFactory are rebound from the command line
+    // instead, so streams are opened again and computed defaults are never reused
+    //
+    public static class Entry {
+
+        public static final Object REBIND = new Object(); // Value of a variable that is bound from the command line on every run
+
+        private final List<Integer> commands = new ArrayList<>(); // Indices of the selected sub command classes, in order
+        private final List<Integer> optionDepths = new ArrayList<>(); // For each option use, the index of its command in the chain, 0 for the top level command
+        private final List<String> optionNames = new ArrayList<>();
+        private final List<List<String>> optionValues = new ArrayList<>();
+        private final List<String> arguments = new ArrayList<>();
+        private final List<Integer> fieldDepths = new ArrayList<>(); // For each variable, the index of its command in the chain
+        private final List<String> fieldNames = new ArrayList<>();
+        private final List<Object> fieldValues = new ArrayList<>(); // The value of each variable, or REBIND if it is bound again
+
+
+        // ----------------------------------------------------------------------------------------------------
+        // public Entry
+        //
+        // Creates an empty entry, filled in as the command line is read
+        //
+        public Entry() {
+        }
+        // end: public Entry
+
+
+        // ====================================================================================================
+        // GET methods
+        public List<Integer> getCommands() {
+            return commands;
+        }
+
+        public int getOptionCount() {
+            return optionNames.size();
+        }
+
+        public int getOptionDepth(int use) {
+            return optionDepths.get(use);
+        }
+
+        public String getOptionName(int use) {
+            return optionNames.get(use);
+        }
+
+        public List<String> getOptionValues(int use) {
+            return optionValues.get(use);
+        }
+
+        public List<String> getArguments() {
+            return arguments;
+        }
+
+        public int getFieldCount() {
+            return fieldNames.size();
+        }
+
+        public int getFieldDepth(int field) {
+            return fieldDepths.get(field);
+        }
+
+        public String getFieldName(int field) {
+            return fieldNames.get(field);
+        }
+
+        public Object getFieldValue(int field) {
+            return fieldValues.get(field);
+        }
+        // end: GET methods
+
+
+        // ====================================================================================================
+        // public void addCommand
+        //
+        // Records the selection of a sub command
+        //
+        // Arguments--
+        //
+        // classIndex:  the index of the command's definition class in the parser
+        //
+        // Returns--
+        //
+        // None
+        //
+        public void addCommand(int classIndex) {
+            this.commands.add(classIndex);
+        }
+        // end: public void addCommand
+
+
+        // ====================================================================================================
+        // public void addOption
+        //
+        // Records one use of an option
+        //
+        // Arguments--
+        //
+        // depth:   the index in the command chain of the command that defines the option
+        //
+        // name:    the name of the option
+        //
+        // values:  the arguments of this use, copied by this method
+        //
+        // Returns--
+        //
+        // None
+        //
+        public void addOption(int depth, String name, List<String> values) {
+            this.optionDepths.add(depth);
+            this.optionNames.add(name);
+            this.optionValues.add(new ArrayList<>(values));
+        }
+        // end: public void addOption
+
+
+        // ====================================================================================================
+        // public void setArguments
+        //
+        // Records the positional arguments
+        //
+        // Arguments--
+        //
+        // arguments:   the positional arguments, copied by this method
+        //
+        // Returns--
+        //
+        // None
+        //
+        public void setArguments(List<String> arguments) {
+            this.arguments.clear();
+            this.arguments.addAll(arguments);
+        }
+        // end: public void setArguments
+
+
+        // ====================================================================================================
+        // public void addField
+        //
+        // Records the value an option or argument variable was set to
+        //
+        // Arguments--
+        //
+        // depth:   the index in the command chain of the command that defines the variable
+        //
+        // name:    the name of the variable
+        //
+        // value:   the value, or REBIND to bind the variable from the command line on every run. A value that
+        //          is not cacheable (see isCacheable) is recorded as REBIND
+        //
+        // Returns--
+        //
+        // None
+        //
+        public void addField(int depth, String name, Object value) {
+            this.fieldDepths.add(depth);
+            this.fieldNames.add(name);
+            this.fieldValues.add((value == REBIND || isCacheable(value)) ? value : REBIND);
+        }
+        // end: public void addField
+
+
+        // ====================================================================================================
+        // public byte[] encode
+        //
+        // Writes the entry as a payload for store()
+        //
+        // Arguments--
+        //
+        // None
+        //
+        // Returns--
+        //
+        // The payload
+        //
+        public byte[] encode() {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeInt(this.commands.size());
+                for (int command : this.commands) out.writeInt(command);
+
+                out.writeInt(this.optionNames.size());
+                for (int use = 0; use < this.optionNames.size(); use++) {
+                    out.writeInt(this.optionDepths.get(use));
+                    writeString(out, this.optionNames.get(use));
+                    writeStrings(out, this.optionValues.get(use));
+                }
+
+                writeStrings(out, this.arguments);
+
+                out.writeInt(this.fieldNames.size());
+                for (int field = 0; field < this.fieldNames.size(); field++) {
+                    out.writeInt(this.fieldDepths.get(field));
+                    writeString(out, this.fieldNames.get(field));
+                    out.writeBoolean(this.fieldValues.get(field) == REBIND);
+                    if (this.fieldValues.get(field) != REBIND) writeValue(out, this.fieldValues.get(field));
+                }
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e); // Not thrown by a ByteArrayOutputStream
+            }
+            return bytes.toByteArray();
+        }
+        // end: public byte[] encode
+
+
+        // ====================================================================================================
+        // public static Entry decode
+        //
+        // Reads an entry from a payload returned by lookup()
+        //
+        // Arguments--
+        //
+        // payload: the payload
+        //
+        // loader:  the class loader of the definition classes, which finds the enum types of the values
+        //
+        // Returns--
+        //
+        // The entry, or null if the payload cannot be read
+        //
+        public static Entry decode(byte[] payload, ClassLoader loader) {
+            Entry entry = new Entry();
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+                int commandCount = readCount(in);
+                for (int c = 0; c < commandCount; c++) entry.commands.add(in.readInt());
+
+                int optionCount = readCount(in);
+                for (int use = 0; use < optionCount; use++) {
+                    entry.optionDepths.add(in.readInt());
+                    entry.optionNames.add(readString(in));
+                    entry.optionValues.add(readStrings(in));
+                }
+
+                entry.arguments.addAll(readStrings(in));
+
+                int fieldCount = readCount(in);
+                for (int field = 0; field < fieldCount; field++) {
+                    entry.fieldDepths.add(in.readInt());
+                    entry.fieldNames.add(readString(in));
+                    entry.fieldValues.add((in.readBoolean()) ? REBIND : readValue(in, loader));
+                }
+                if (in.read() != -1) return null; // Trailing bytes, not an entry of this format
+            }
+            catch (IOException | ReflectiveOperationException | RuntimeException e) {
+                return null;
+            }
+            return entry;
+        }
+        // end: public static Entry decode
+
+
+        // ====================================================================================================
+        // Private helpers
+        // Strings are length-prefixed UTF-8, since writeUTF is limited to 64K
+        private static void writeString(DataOutputStream out, String s) throws IOException {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        private static void writeStrings(DataOutputStream out, List<String> strings) throws IOException {
+            out.writeInt(strings.size());
+            for (String s : strings) writeString(out, s);
+        }
+
+        private static String readString(DataInputStream in) throws IOException {
+            byte[] bytes = new byte[readCount(in)];
+            in.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private static List<String> readStrings(DataInputStream in) throws IOException {
+            int count = readCount(in);
+            List<String> strings = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) strings.add(readString(in));
+            return strings;
+        }
+
+        // Values are a tag followed by the value. Lists and maps are decoded to the same kind of collection that was bound
+        private static void writeValue(DataOutputStream out, Object value) throws IOException {
+            if (value == null) out.writeByte(NULL);
+            else if (value instanceof String) { out.writeByte(STRING); writeString(out, (String) value); }
+            else if (value instanceof Boolean) { out.writeByte(BOOLEAN); out.writeBoolean((Boolean) value); }
+            else if (value instanceof Byte) { out.writeByte(BYTE); out.writeByte((Byte) value); }
+            else if (value instanceof Short) { out.writeByte(SHORT); out.writeShort((Short) value); }
+            else if (value instanceof Integer) { out.writeByte(INT); out.writeInt((Integer) value); }
+            else if (value instanceof Long) { out.writeByte(LONG); out.writeLong((Long) value); }
+            else if (value instanceof Float) { out.writeByte(FLOAT); out.writeFloat((Float) value); }
+            else if (value instanceof Double) { out.writeByte(DOUBLE); out.writeDouble((Double) value); }
+            else if (value instanceof Character) { out.writeByte(CHAR); out.writeChar((Character) value); }
+            else if (value instanceof BigInteger) { out.writeByte(BIG_INTEGER); writeString(out, value.toString()); }
+            else if (value instanceof BigDecimal) { out.writeByte(BIG_DECIMAL); writeString(out, value.toString()); }
+            else if (value instanceof Duration) {
+                out.writeByte(DURATION);
+                out.writeLong(((Duration) value).getSeconds());
+                out.writeInt(((Duration) value).getNano());
+            }
+            else if (value instanceof ByteSize) { out.writeByte(BYTE_SIZE); out.writeLong(((ByteSize) value).toBytes()); }
+            else if (value instanceof Path) { out.writeByte(PATH); writeString(out, value.toString()); }
+            else if (value instanceof File) { out.writeByte(FILE); writeString(out, ((File) value).getPath()); }
+            else if (value instanceof Enum) {
+                out.writeByte(ENUM);
+                writeString(out, ((Enum<?>) value).getDeclaringClass().getName());
+                writeString(out, ((Enum<?>) value).name());
+            }
+            else if (value instanceof OptionMap) {
+                out.writeByte(MAP);
+                out.writeInt(((OptionMap<?>) value).size());
+                for (Map.Entry<String, ?> e : ((OptionMap<?>) value).entrySet()) {
+                    writeString(out, e.getKey());
+                    writeValue(out, e.getValue());
+                }
+            }
+            else {
+                out.writeByte((value.getClass() == FIXED_SIZE_LIST_CLASS) ? LIST : READ_ONLY_LIST);
+                out.writeInt(((List<?>) value).size());
+                for (Object element : (List<?>) value) writeValue(out, element);
+            }
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static Object readValue(DataInputStream in, ClassLoader loader) throws IOException, ReflectiveOperationException {
+            int tag = in.readByte();
+            switch (tag) {
+                case NULL: return null;
+                case STRING: return readString(in);
+                case BOOLEAN: return in.readBoolean();
+                case BYTE: return in.readByte();
+                case SHORT: return in.readShort();
+                case INT: return in.readInt();
+                case LONG: return in.readLong();
+                case FLOAT: return in.readFloat();
+                case DOUBLE: return in.readDouble();
+                case CHAR: return in.readChar();
+                case BIG_INTEGER: return new BigInteger(readString(in));
+                case BIG_DECIMAL: return new BigDecimal(readString(in));
+                case DURATION: return Duration.ofSeconds(in.readLong(), in.readInt());
+                case BYTE_SIZE: return new ByteSize(in.readLong());
+                case PATH: return Paths.get(readString(in));
+                case FILE: return new File(readString(in));
+                case ENUM: return Enum.valueOf((Class<Enum>) Class.forName(readString(in), true, loader), readString(in));
+                case MAP: {
+                    int size = readCount(in);
+                    OptionMap<Object> map = new OptionMap<>(size);
+                    for (int i = 0; i < size; i++) map.put(readString(in), readValue(in, loader));
+                    return map;
+                }
+                case LIST:
+                case READ_ONLY_LIST: {
+                    Object[] elements = new Object[readCount(in)];
+                    for (int i = 0; i < elements.length; i++) elements[i] = readValue(in, loader);
+                    return (tag == LIST) ? Arrays.asList(elements) : Collections.unmodifiableList(Arrays.asList(elements));
+                }
+                default: throw new IOException("bad value tag " + tag);
+            }
+        }
+
+        // A count can never be more than the bytes of a slot, which guards against allocating for a damaged payload
+        private static int readCount(DataInputStream in) throws IOException {
+            int count = in.readInt();
+            if (count < 0 || count > SLOT_SIZE) throw new IOException("bad count " + count);
+            return count;
+        }
+        // end: Private helpers
+
+    }
+    // end: public static class Entry
+
+
+    // ====================================================================================================
+    // Private helpers
+    private FileChannel openForWriting() throws IOException {
+        return FileChannel.open(this.cacheFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    // Marks an entry as the most recently used, if it is still in the cache
+    private void touch(long hash) throws IOException {
+        try (FileChannel channel = this.openForWriting()) {
+            channel.lock(); // Released when the channel is closed
+            ByteBuffer index = readIndex(channel);
+            int slot = (index != null) ? findSlot(index, hash) : -1;
+            if (slot < 0) return; // Replaced by another process in the meantime
+
+            long stamp = index.getLong(8) + 1;
+            writeFully(channel, ByteBuffer.allocate(8).putLong(0, stamp), 8);
+            writeFully(channel, ByteBuffer.allocate(8).putLong(0, stamp), indexOffset(slot) + 8);
+        }
+    }
+
+    // Reads the header and index, or returns null if the file is new, from another format version, or not a cache at all
+    private static ByteBuffer readIndex(FileChannel channel) throws IOException {
+        ByteBuffer index = ByteBuffer.allocate(INDEX_SIZE);
+        if (!readFully(channel, index, 0)) return null;
+        if (index.getInt(0) != MAGIC || index.getInt(4) != FORMAT_VERSION) return null;
+        return index;
+    }
+
+    private static ByteBuffer newIndex() {
+        ByteBuffer index = ByteBuffer.allocate(INDEX_SIZE); // Every stamp and length is 0
+        index.putInt(0, MAGIC);
+        index.putInt(4, FORMAT_VERSION);
+        return index;
+    }
+
+    // The slot whose key has this hash, or -1. The slot still has to be compared with the key, see lookup
+    private static int findSlot(ByteBuffer index, long hash) {
+        for (int s = 0; s < SLOT_COUNT; s++) {
+            int offset = indexOffset(s);
+            int length = index.getInt(offset + 16);
+            if (length < (int) hash || length > SLOT_SIZE) continue; // Unused, being written, or damaged
+
+            if (index.getLong(offset) == hash) return s;
+        }
+        return -1;
+    }
+
+    // The CRC32C of a key in the high half and its length in the low half. CRC32C is computed by an instruction of the
+    // processor even before the JIT has compiled anything, so it stays cheap in the new JVM of every run
+    private static long hash(byte[] key) {
+        CRC32C crc = new CRC32C();
+        crc.update(key);
+        return (crc.getValue() << 32) | key.length;
+    }
+
+    private static boolean readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) return false;
+        }
+        return true;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) channel.write(buffer, position + buffer.position());
+    }
+
+    private static int indexOffset(int slot) {
+        return HEADER_SIZE + slot * INDEX_ENTRY_SIZE;
+    }
+
+    private static long slotOffset(int slot) {
+        return INDEX_SIZE + (long) slot * SLOT_SIZE;
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String s) {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        writeInt(out, bytes.length);
+        out.writeBytes(bytes);
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, int value) {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+
+    private static void writeLong(ByteArrayOutputStream out, long value) {
+        writeInt(out, (int) (value >>> 32));
+        writeInt(out, (int) value);
+    }
+
+    // The options and arguments of a class as declared, including the public fields it inherits, so the fingerprint only
+    // changes when the schema does. getFields has no fixed order, so the declarations are sorted
+    private static byte[] fingerprint(Class<?> definitionClass) {
+        List<String> declarations = new ArrayList<>();
+        for (java.lang.reflect.Field f : definitionClass.getFields())
+            declarations.add(f.toGenericString() + " " + Arrays.toString(f.getAnnotations()));
+        Collections.sort(declarations);
+
+        ByteArrayOutputStream fingerprint = new ByteArrayOutputStream();
+        writeString(fingerprint, definitionClass.getName());
+        writeString(fingerprint, Arrays.toString(definitionClass.getAnnotations()));
+        writeInt(fingerprint, declarations.size());
+        for (String declaration : declarations) writeString(fingerprint, declaration);
+        return fingerprint.toByteArray();
+    }
+
+    // The path, size, and modification time of the file the library was loaded from: its jar, its class file when it is
+    // not in a jar, or the runtime image when it was linked with jlink. The code source is used rather than getResource,
+    // which took longer to find the class file than a whole cache hit
+    private static byte[] libraryStamp() {
+        File location = new File(new File(System.getProperty("java.home"), "lib"), "modules");
+        try {
+            CodeSource source = ParseCache.class.getProtectionDomain().getCodeSource();
+            URL url = (source != null) ? source.getLocation() : null;
+            if (url != null && url.getProtocol().equals("file")) location = new File(url.toURI());
+            if (location.isDirectory()) location = new File(location, ParseCache.class.getName().replace('.', File.separatorChar) + ".class");
+        }
+        catch (URISyntaxException | SecurityException ignored) {
+            // The runtime image is used
+        }
+
+        ByteArrayOutputStream stamp = new ByteArrayOutputStream();
+        writeString(stamp, location.getPath());
+        writeLong(stamp, location.length());
+        writeLong(stamp, location.lastModified());
+        return stamp.toByteArray();
+    }
+    // end: Private helpers
+
+}
+// end: public class ParseCache
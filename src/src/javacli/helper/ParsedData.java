@@ -9,21 +9,34 @@
 package javacli.helper;
 
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
+import javacli.annotations.Argument;
+import javacli.annotations.Option;
+import javacli.parser.OptionScope;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 // +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
 // public class ParsedData
 //
-// Data structure for parsed option and argument data
+// Data structure for parsed option and argument data.
+//
+// When returned by OptionParser.parseLazily, the typed getters (getInt, get, getList, ...) convert an
+// option's raw arguments the first time it is read and remember the result, so options the program never
+// reads are never converted. Options of parent commands can be read by name too. Unspecified options
+// give their default value, computed the same way parse() would
 //
 public class ParsedData {
 
+    private static final Object NULL = new Object(); // Remembered in place of a null value, which ConcurrentHashMap cannot store
+
     private HashMap<String, List<String>> parsedOptions; // Map of parsed options and their arguments
     private ArrayList<String> parsedArguments; // List of command line arguments
 
+    private final OptionScope scope; // Scope of the command that was parsed, or null if the typed getters are not available
+    private final Map<String, Object> converted = new ConcurrentHashMap<>(); // Converted values by option or argument name and type
+
 
     // ----------------------------------------------------------------------------------------------------
     // public ParsedData
@@ -38,6 +51,24 @@ public class ParsedData {
         // Set instance variables
         this.parsedOptions = parsedOptions;
         this.parsedArguments = parsedArguments;
+        this.scope = null;
+    }
+    // end: public ParsedData
+
+
+    // ----------------------------------------------------------------------------------------------------
+    // public ParsedData
+    //
+    // Arguments--
+    //
+    // scope:           the scope of the command that was parsed, with the arguments of its options
+    //
+    // parsedArguments: list of arguments to the command line application
+    //
+    public ParsedData(OptionScope scope, ArrayList<String> parsedArguments) {
+        this.parsedOptions = scope.getOptionArgs();
+        this.parsedArguments = parsedArguments;
+        this.scope = scope;
     }
     // end: public ParsedData
 
@@ -51,7 +82,277 @@ public class ParsedData {
     public ArrayList<String> getParsedArguments() {
         return parsedArguments;
     }
+
+    public Class<?> getCommandClass() {
+        return (scope != null) ? scope.getDefinitionClass() : null;
+    }
+
+    public String getCommandName() {
+        return (scope != null) ? scope.getSchema().getName() : null;
+    }
     // end: GET methods
 
+
+    // ====================================================================================================
+    // public boolean isSpecified
+    //
+    // Checks if an option was specified on the command line
+    //
+    // Arguments--
+    //
+    // name:    the full name of the option
+    //
+    // Returns--
+    //
+    // Whether the option was specified
+    //
+    public boolean isSpecified(String name) {
+        return this.rawArguments(name) != null;
+    }
+    // end: public boolean isSpecified
+
+
+    // ====================================================================================================
+    // public int getCount
+    //
+    // Gets the number of times a doCount option was used on the command line
+    //
+    // Arguments--
+    //
+    // name:    the full name of the option
+    //
+    // Returns--
+    //
+    // The number of uses, 0 if the option was not used
+    //
+    public int getCount(String name) {
+        if (this.scope == null) throw new IllegalStateException("typed getters are only available on the result of parseLazily");
+
+        OptionScope owner = this.scope.findByName(name);
+        return (owner != null) ? owner.getCount(name) : 0;
+    }
+    // end: public int getCount
+
+
+    // ====================================================================================================
+    // Typed getters for single values. Each throws NoSuchElementException if the option was not specified and
+    // has no default
+    public String getString(String name) {
+        return this.require(name, this.get(name, String.class));
+    }
+
+    public int getInt(String name) {
+        return this.require(name, this.get(name, Integer.class));
+    }
+
+    public long getLong(String name) {
+        return this.require(name, this.get(name, Long.class));
+    }
+
+    public double getDouble(String name) {
+        return this.require(name, this.get(name, Double.class));
+    }
+
+    public boolean getBoolean(String name) {
+        return this.require(name, this.get(name, Boolean.class));
+    }
+    // end: Typed getters for single values
+
+
+    // ====================================================================================================
+    // public <T> T get
+    //
+    // Gets the value of a single argument option, converting it on first use
+    //
+    // Arguments--
+    //
+    // name:    the full name of the option
+    //
+    // type:    the type to convert the argument to
+    //
+    // Returns--
+    //
+    // The converted argument, the default value if the option was not specified, or null if it has no default
+    //
+    @SuppressWarnings("unchecked")
+    public <T> T get(String name, Class<T> type) {
+        return (T) this.remember("option:" + name + ":" + type.getName(), () -> {
+            Option o = this.option(name);
+            List<String> raw = this.rawArguments(name);
+
+            if (raw == null) {
+                LazyValue<Object> providedDefault = LazyValue.forDefault(o, this.scope.findByName(name).getDefinitionClass());
+                if (providedDefault != null) return providedDefault.get();
+                if (!o.defaultValue().equals("")) return convert(name, type, o.defaultValue());
+                return (o.nargs() == 0) ? convert(name, type, "false") : null; // An unspecified flag is false
+            }
+
+            if (raw.size() != 1)
+                throw new IllegalStateException("option " + name + " has " + raw.size() + " arguments, use getList");
+            return convert(name, type, raw.get(0));
+        });
+    }
+    // end: public <T> T get
+
+
+    // ====================================================================================================
+    // public <T> List<T> getList
+    //
+    // Gets every argument of an option, converting them on first use
+    //
+    // Arguments--
+    //
+    // name:    the full name of the option
+    //
+    // type:    the type to convert each argument to
+    //
+    // Returns--
+    //
+    // A read-only list of the converted arguments, empty if the option was not specified
+    //
+    @SuppressWarnings("unchecked")
+    public <T> List<T> getList(String name, Class<T> type) {
+        return (List<T>) this.remember("list:" + name + ":" + type.getName(), () -> {
+            this.option(name); // Check that the option exists
+            List<String> raw = this.rawArguments(name);
+
+            if (raw == null) return Collections.emptyList();
+            if (type == String.class) return Collections.unmodifiableList(raw); // No conversion or copy needed
+            return Collections.unmodifiableList(TypeConverter.convertAll(type, raw));
+        });
+    }
+    // end: public <T> List<T> getList
+
+
+    // ====================================================================================================
+    // public <T> Map<String, T> getMap
+    //
+    // Gets the key=value arguments of a map option, converting them on first use
+    //
+    // Arguments--
+    //
+    // name:    the full name of the map option
+    //
+    // Returns--
+    //
+    // The map of keys to values of the option's type, empty if the option was not specified
+    //
+    @SuppressWarnings("unchecked")
+    public <T> Map<String, T> getMap(String name) {
+        return (Map<String, T>) this.remember("map:" + name, () -> {
+            Option o = this.option(name);
+            if (!o.isMap()) throw new IllegalArgumentException("option " + name + " is not a map option");
+
+            List<String> raw = this.rawArguments(name);
+            return (raw == null) ? new OptionMap<>() : OptionMap.fromArguments(o, raw);
+        });
+    }
+    // end: public <T> Map<String, T> getMap
+
+
+    // ====================================================================================================
+    // public <T> T getArgument
+    //
+    // Gets the value of a positional argument of the parsed command, converting it on first use
+    //
+    // Arguments--
+    //
+    // name:    the name of the argument
+    //
+    // type:    the type to convert the argument to
+    //
+    // Returns--
+    //
+    // The converted argument
+    //
+    @SuppressWarnings("unchecked")
+    public <T> T getArgument(String name, Class<T> type) {
+        return (T) this.remember("argument:" + name + ":" + type.getName(), () -> convert(name, type, this.parsedArguments.get(this.argumentIndex(name))));
+    }
+    // end: public <T> T getArgument
+
+
+    // ====================================================================================================
+    // public <T> List<T> getArgumentList
+    //
+    // Gets every value of a variadic argument of the parsed command, converting them on first use
+    //
+    // Arguments--
+    //
+    // name:    the name of the variadic argument
+    //
+    // type:    the type to convert each value to
+    //
+    // Returns--
+    //
+    // A read-only list of the converted values, empty if none were given
+    //
+    @SuppressWarnings("unchecked")
+    public <T> List<T> getArgumentList(String name, Class<T> type) {
+        return (List<T>) this.remember("argumentList:" + name + ":" + type.getName(), () -> {
+            int index = this.argumentIndex(name);
+            List<String> raw = this.parsedArguments.subList(Math.min(index, this.parsedArguments.size()), this.parsedArguments.size());
+
+            if (type == String.class) return Collections.unmodifiableList(new ArrayList<>(raw));
+            return Collections.unmodifiableList(TypeConverter.convertAll(type, raw));
+        });
+    }
+    // end: public <T> List<T> getArgumentList
+
+
+    // ====================================================================================================
+    // Private helpers
+    private interface Conversion {
+        Object convert() throws Exception;
+    }
+
+    // Returns the remembered value for the key, converting and remembering it the first time
+    private Object remember(String key, Conversion conversion) {
+        if (this.scope == null) throw new IllegalStateException("typed getters are only available on the result of parseLazily");
+
+        Object value = this.converted.get(key);
+        if (value == null) {
+            try { value = conversion.convert(); }
+            catch (RuntimeException e) { throw e; }
+            catch (Exception e) { throw new IllegalArgumentException("could not convert " + key, e); }
+
+            if (value == null) value = NULL;
+            Object previous = this.converted.putIfAbsent(key, value);
+            if (previous != null) value = previous; // Another thread converted it first
+        }
+        return (value == NULL) ? null : value;
+    }
+
+    private static Object convert(String name, Class<?> type, String text) {
+        try { return TypeConverter.convert(type, text); }
+        catch (Exception e) { throw new IllegalArgumentException(name + ": " + text + " is not a valid " + type.getSimpleName(), e); }
+    }
+
+    private Option option(String name) {
+        OptionScope owner = this.scope.findByName(name);
+        if (owner == null) throw new IllegalArgumentException("no option named " + name);
+        return owner.getOption(name);
+    }
+
+    private int argumentIndex(String name) {
+        List<Argument> arguments = this.scope.getSchema().getArguments();
+        for (int i = 0; i < arguments.size(); i++)
+            if (arguments.get(i).name().equals(name)) return i;
+        throw new IllegalArgumentException("no argument named " + name);
+    }
+
+    private List<String> rawArguments(String name) {
+        if (this.scope == null) return this.parsedOptions.get(name);
+
+        OptionScope owner = this.scope.findByName(name);
+        return (owner != null) ? owner.getOptionArgs().get(name) : null;
+    }
+
+    private <T> T require(String name, T value) {
+        if (value == null) throw new NoSuchElementException("option " + name + " was not specified and has no default value");
+        return value;
+    }
+    // end: Private helpers
+
 }
-// end: public class ParsedData
\ No newline at end of file
+// end: public class ParsedData
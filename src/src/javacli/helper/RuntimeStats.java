@@ -0,0 +1,311 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// RuntimeStats.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.helper;
+
+
+import javacli.Invocation;
+
+import java.io.PrintStream;
+import java.lang.management.*;
+import java.util.*;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class RuntimeStats
+//
+// The runtime report of the reserved --stats option. OptionParser records when each phase of a parse
+// ends, and the report is printed when the program exits, with the wall time of each phase, the bytes
+// allocated by each thread, garbage collections, peak heap use, and class loading. The numbers come from
+// the platform MXBeans, so this class needs the java.management module (and jdk.management for thread
+// allocation) and is only loaded when --stats is given
+//
+public class RuntimeStats {
+
+    public static final String TEXT = "text";
+    public static final String JSON = "json";
+
+    private final String format; // TEXT or JSON
+
+    // Wall time of each phase, in nanoseconds. Startup is from the start of the JVM to the start of the parse
+    private long startup;
+    private long schema;
+    private long parse;
+    private long bind;
+    private long handlerStarted; // System.nanoTime() when the program got the parse result
+
+    // Bytes allocated by the parsing thread when the parse ended, in case the thread is gone at exit
+    private final long parseThreadId = Thread.currentThread().getId();
+    private final String parseThreadName = Thread.currentThread().getName();
+    private long parseThreadAllocated = -1;
+
+
+    // ----------------------------------------------------------------------------------------------------
+    // public RuntimeStats
+    //
+    // Arguments--
+    //
+    // format:  the format of the report, TEXT or JSON
+    //
+    public RuntimeStats(String format) {
+        if (!format.equals(TEXT) && !format.equals(JSON))
+            throw new IllegalArgumentException("format must be " + TEXT + " or " + JSON + ", got " + format);
+        this.format = format;
+    }
+    // end: public RuntimeStats
+
+
+    // ====================================================================================================
+    // public static boolean isAvailable
+    //
+    // Checks if the runtime has the java.management module, ex: it is not in a jlink image without it
+    //
+    // Arguments--
+    //
+    // None
+    //
+    // Returns--
+    //
+    // Whether a report can be made
+    //
+    public static boolean isAvailable() {
+        return ModuleLayer.boot().findModule("java.management").isPresent();
+    }
+    // end: public static boolean isAvailable
+
+
+    // ====================================================================================================
+    // public void recordParse
+    //
+    // Records the phases of a parse, from System.nanoTime() values taken as each one ended
+    //
+    // Arguments--
+    //
+    // started:     when the parse started
+    //
+    // schemaBuilt: when the option definitions had been read and checked
+    //
+    // parsed:      when the arguments had been read and checked
+    //
+    // bound:       when the fields had been set, or the same as parsed if no fields are set
+    //
+    // Returns--
+    //
+    // None
+    //
+    public void recordParse(long started, long schemaBuilt, long parsed, long bound) {
+        long now = System.nanoTime();
+        this.startup = Math.max(ManagementFactory.getRuntimeMXBean().getUptime() * 1_000_000L - (now - started), 0);
+        this.schema = schemaBuilt - started;
+        this.parse = parsed - schemaBuilt;
+        this.bind = bound - parsed;
+        this.handlerStarted = bound;
+        this.parseThreadAllocated = allocatedBytes(Thread.currentThread().getId());
+    }
+    // end: public void recordParse
+
+
+    // ====================================================================================================
+    // public void printOnExit
+    //
+    // Prints the report when the command ends (see Invocation.atExit): when the JVM shuts down, after a
+    // return from main or a call to System.exit, or when the run ends inside a CommandRunner
+    //
+    // Arguments--
+    //
+    // out: the stream to print to, ex: System.err so the output of the program is not changed
+    //
+    // Returns--
+    //
+    // None
+    //
+    public void printOnExit(PrintStream out) {
+        Invocation.atExit(() -> {
+            out.println(this.report());
+            out.flush();
+        });
+    }
+    // end: public void printOnExit
+
+
+    // ====================================================================================================
+    // public String report
+    //
+    // Builds the report from the recorded phases and the current state of the JVM
+    //
+    // Arguments--
+    //
+    // None
+    //
+    // Returns--
+    //
+    // The report, in the format given to the constructor
+    //
+    public String report() {
+        long handler = System.nanoTime() - this.handlerStarted;
+        Map<String, Long> phases = new LinkedHashMap<>();
+        phases.put("startup", this.startup);
+        phases.put("schema", this.schema);
+        phases.put("parse", this.parse);
+        phases.put("bind", this.bind);
+        phases.put("handler", handler);
+
+        Map<String, Long> threads = this.threadAllocations();
+
+        long peakHeap = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+            if (pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null) peakHeap += pool.getPeakUsage().getUsed();
+
+        ClassLoadingMXBean classes = ManagementFactory.getClassLoadingMXBean();
+        List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+
+        return (this.format.equals(JSON)) ?
+                json(phases, threads, collectors, peakHeap, classes) :
+                text(phases, threads, collectors, peakHeap, classes);
+    }
+    // end: public String report
+
+
+    // ====================================================================================================
+    // private static String text
+    //
+    // Formats the report to be read by a person
+    //
+    private static String text(Map<String, Long> phases, Map<String, Long> threads, List<GarbageCollectorMXBean> collectors,
+                               long peakHeap, ClassLoadingMXBean classes) {
+        StringBuilder report = new StringBuilder("javacli stats\n");
+
+        long total = 0;
+        for (long nanos : phases.values()) total += nanos;
+        report.append("\twall time\t: ").append(millis(total)).append(" ms\n");
+        for (Map.Entry<String, Long> phase : phases.entrySet())
+            report.append("\t  ").append(phase.getKey()).append("\t: ").append(millis(phase.getValue())).append(" ms\n");
+
+        if (!threads.isEmpty()) {
+            report.append("\tallocated\t:\n");
+            for (Map.Entry<String, Long> thread : threads.entrySet())
+                report.append("\t  ").append(thread.getKey()).append("\t: ").append(thread.getValue()).append(" bytes\n");
+        }
+
+        for (GarbageCollectorMXBean collector : collectors) {
+            report.append("\tgc ").append(collector.getName())
+                    .append("\t: ").append(collector.getCollectionCount()).append(" collections, ")
+                    .append(collector.getCollectionTime()).append(" ms\n");
+        }
+
+        report.append("\tpeak heap\t: ").append(peakHeap).append(" bytes\n")
+                .append("\tclasses\t: ").append(classes.getLoadedClassCount()).append(" loaded, ")
+                .append(classes.getTotalLoadedClassCount()).append(" loaded in total, ")
+                .append(classes.getUnloadedClassCount()).append(" unloaded");
+        return report.toString();
+    }
+    // end: private static String text
+
+
+    // ====================================================================================================
+    // private static String json
+    //
+    // Formats the report as one JSON object, to be read by a program
+    //
+    private static String json(Map<String, Long> phases, Map<String, Long> threads, List<GarbageCollectorMXBean> collectors,
+                               long peakHeap, ClassLoadingMXBean classes) {
+        StringBuilder report = new StringBuilder("{\"phasesMs\":{");
+
+        String separator = "";
+        for (Map.Entry<String, Long> phase : phases.entrySet()) {
+            report.append(separator).append(quote(phase.getKey())).append(":").append(millis(phase.getValue()));
+            separator = ",";
+        }
+
+        report.append("},\"allocatedBytes\":{");
+        separator = "";
+        for (Map.Entry<String, Long> thread : threads.entrySet()) {
+            report.append(separator).append(quote(thread.getKey())).append(":").append(thread.getValue());
+            separator = ",";
+        }
+
+        report.append("},\"gc\":[");
+        separator = "";
+        for (GarbageCollectorMXBean collector : collectors) {
+            report.append(separator)
+                    .append("{\"name\":").append(quote(collector.getName()))
+                    .append(",\"count\":").append(collector.getCollectionCount())
+                    .append(",\"timeMs\":").append(collector.getCollectionTime())
+                    .append("}");
+            separator = ",";
+        }
+
+        return report.append("],\"peakHeapBytes\":").append(peakHeap)
+                .append(",\"classes\":{\"loaded\":").append(classes.getLoadedClassCount())
+                .append(",\"totalLoaded\":").append(classes.getTotalLoadedClassCount())
+                .append(",\"unloaded\":").append(classes.getUnloadedClassCount())
+                .append("}}")
+                .toString();
+    }
+    // end: private static String json
+
+
+    // ====================================================================================================
+    // private Map<String, Long> threadAllocations
+    //
+    // Reads the bytes allocated by each live thread, and by the parsing thread if it has ended. Threads
+    // with the same name are added together. Empty if the JVM cannot measure thread allocation
+    //
+    private Map<String, Long> threadAllocations() {
+        Map<String, Long> allocations = new TreeMap<>();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!isAllocationSupported(threads)) return allocations;
+
+        boolean parseThreadAlive = false;
+        long[] ids = threads.getAllThreadIds();
+        ThreadInfo[] infos = threads.getThreadInfo(ids);
+        for (int i = 0; i < ids.length; i++) {
+            long allocated = allocatedBytes(ids[i]);
+            if (infos[i] == null || allocated < 0) continue; // Ended since the ids were read
+            allocations.merge(infos[i].getThreadName(), allocated, Long::sum);
+            if (ids[i] == this.parseThreadId) parseThreadAlive = true;
+        }
+        if (!parseThreadAlive && this.parseThreadAllocated >= 0)
+            allocations.merge(this.parseThreadName + " (at end of parse)", this.parseThreadAllocated, Long::sum);
+        return allocations;
+    }
+    // end: private Map<String, Long> threadAllocations
+
+
+    // ====================================================================================================
+    // Private helpers
+    private static boolean isAllocationSupported(ThreadMXBean threads) {
+        return ModuleLayer.boot().findModule("jdk.management").isPresent() &&
+                threads instanceof com.sun.management.ThreadMXBean &&
+                ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported() &&
+                ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemoryEnabled();
+    }
+
+    private static long allocatedBytes(long threadId) {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!isAllocationSupported(threads)) return -1;
+        return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(threadId);
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+
+    private static String quote(String text) {
+        StringBuilder quoted = new StringBuilder("\"");
+        for (char c : text.toCharArray()) {
+            if (c == '"' || c == '\\') quoted.append('\\').append(c);
+            else if (c < 0x20) quoted.append(String.format("\\u%04x", (int) c));
+            else quoted.append(c);
+        }
+        return quoted.append('"').toString();
+    }
+    // end: Private helpers
+
+}
+// end: public class RuntimeStats
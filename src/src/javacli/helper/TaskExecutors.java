@@ -0,0 +1,91 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// TaskExecutors.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.helper;
+
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class TaskExecutors
+//
+// Creates the executors the library runs concurrent work on. Virtual threads are used when the JDK has
+// them (Java 21 and above), which makes a thread per task cheap for work that mostly waits, ex: file
+// system calls. Executors.newVirtualThreadPerTaskExecutor is looked up by name so the library still
+// compiles and runs on older JDKs, where a bounded pool of daemon platform threads is used instead
+//
+public class TaskExecutors {
+
+    private static final Method virtualThreadExecutor = findVirtualThreadExecutor(); // Executors.newVirtualThreadPerTaskExecutor, or null before Java 21
+
+
+    private TaskExecutors() {
+    }
+
+
+    // ====================================================================================================
+    // public static boolean hasVirtualThreads
+    //
+    // Checks if the JDK has virtual threads
+    //
+    // Arguments--
+    //
+    // None
+    //
+    // Returns--
+    //
+    // Whether Executors.newVirtualThreadPerTaskExecutor exists
+    //
+    public static boolean hasVirtualThreads() {
+        return virtualThreadExecutor != null;
+    }
+    // end: public static boolean hasVirtualThreads
+
+
+    // ====================================================================================================
+    // public static ExecutorService newExecutor
+    //
+    // Creates an executor, which should be shut down when its tasks are done
+    //
+    // Arguments--
+    //
+    // threadName:      the name of the platform threads, ex: for stack dumps
+    //
+    // platformThreads: the number of platform threads to use if virtual threads are not used
+    //
+    // virtual:         whether to use virtual threads if the JDK has them
+    //
+    // Returns--
+    //
+    // An executor with one virtual thread per task, or a pool of platformThreads daemon threads
+    //
+    public static ExecutorService newExecutor(String threadName, int platformThreads, boolean virtual) {
+        if (virtual && virtualThreadExecutor != null) {
+            try { return (ExecutorService) virtualThreadExecutor.invoke(null); }
+            catch (ReflectiveOperationException e) { } // Ex: a preview feature that is not enabled, use platform threads instead
+        }
+
+        return Executors.newFixedThreadPool(Math.max(platformThreads, 1), runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true); // Never keep the program running after main returns
+            return thread;
+        });
+    }
+    // end: public static ExecutorService newExecutor
+
+
+    private static Method findVirtualThreadExecutor() {
+        try { return Executors.class.getMethod("newVirtualThreadPerTaskExecutor"); }
+        catch (NoSuchMethodException e) { return null; }
+    }
+
+}
+// end: public class TaskExecutors
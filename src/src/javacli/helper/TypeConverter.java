@@ -0,0 +1,339 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// TypeConverter.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.helper;
+
+
+import java.io.File;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class TypeConverter
+//
+// Converts command line strings to option and argument types. Replaces java.beans.PropertyEditorManager
+// so the library only depends on java.base, while accepting the same text for the types it supported
+//
+public class TypeConverter {
+
+    // ----------------------------------------------------------------------------------------------------
+    // public interface Converter
+    //
+    // Conversion from text to one type
+    //
+    public interface Converter {
+        Object convert(String text) throws Exception;
+    }
+    // end: public interface Converter
+
+
+    // ----------------------------------------------------------------------------------------------------
+    // public static class ElementException
+    //
+    // Thrown by convertAll for the first element (by index) that could not be converted
+    //
+    public static class ElementException extends IllegalArgumentException {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int index; // Index of the element in the list
+        private final String text; // Text of the element
+
+        public ElementException(int index, String text, Throwable cause) {
+            super("element " + index + " (" + text + ") could not be converted", cause);
+            this.index = index;
+            this.text = text;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+    }
+    // end: public static class ElementException
+
+
+    private static final int PARALLEL_THRESHOLD = 16 * 1024; // Lists shorter than this are converted on the calling thread
+    private static final int CHUNK_SIZE = 4 * 1024; // Number of elements converted by each fork-join task
+
+
+    private static final Map<Class<?>, Converter> converters = new ConcurrentHashMap<>(); // Registered converters by type
+    // Converters found for other types (enums, valueOf, constructors), built on first use and dropped with
+    // the type when its class loader is unloaded
+    private static final ClassValue<Converter> foundConverters = new ClassValue<>() {
+        @Override
+        protected Converter computeValue(Class<?> type) {
+            return findConverter(type);
+        }
+    };
+    private static final Map<Class<?>, Converter> builtInConverters = new HashMap<>(); // Converters registered by this class
+
+
+    private TypeConverter() {
+    }
+
+
+    static {
+        // Integer types are decoded, so hex (0x1F, #1F) and octal (017) values are accepted as they were by the property editors.
+        // Only ByteSize accepts size suffixes (64k), so a typo such as -n 64k is still an error for an int
+        register(String.class, text -> text);
+        register(boolean.class, TypeConverter::parseBoolean);
+        register(Boolean.class, TypeConverter::parseBoolean);
+        register(byte.class, text -> (byte) NumberParser.parseInRange(text, 0, text.length(), Byte.MIN_VALUE, Byte.MAX_VALUE));
+        register(Byte.class, text -> (byte) NumberParser.parseInRange(text, 0, text.length(), Byte.MIN_VALUE, Byte.MAX_VALUE));
+        register(short.class, text -> (short) NumberParser.parseInRange(text, 0, text.length(), Short.MIN_VALUE, Short.MAX_VALUE));
+        register(Short.class, text -> (short) NumberParser.parseInRange(text, 0, text.length(), Short.MIN_VALUE, Short.MAX_VALUE));
+        register(int.class, text -> NumberParser.parseInt(text, 0, text.length()));
+        register(Integer.class, text -> NumberParser.parseInt(text, 0, text.length()));
+        register(long.class, text -> NumberParser.parseLong(text, 0, text.length()));
+        register(Long.class, text -> NumberParser.parseLong(text, 0, text.length()));
+        register(float.class, Float::valueOf);
+        register(Float.class, Float::valueOf);
+        register(double.class, text -> NumberParser.parseDouble(text, 0, text.length()));
+        register(Double.class, text -> NumberParser.parseDouble(text, 0, text.length()));
+        register(Duration.class, text -> NumberParser.parseDuration(text, 0, text.length()));
+        register(ByteSize.class, ByteSize::parse);
+        register(char.class, TypeConverter::parseCharacter);
+        register(Character.class, TypeConverter::parseCharacter);
+        register(Path.class, Path::of);
+        register(File.class, File::new);
+
+        builtInConverters.putAll(converters);
+    }
+
+
+    // ====================================================================================================
+    // public static void register
+    //
+    // Registers a converter for a type, replacing any existing one
+    //
+    // Arguments--
+    //
+    // type:        the type to convert to
+    //
+    // converter:   the conversion from text to the type
+    //
+    // Returns--
+    //
+    // None
+    //
+    public static void register(Class<?> type, Converter converter) {
+        converters.put(type, converter);
+    }
+    // end: public static void register
+
+
+    // ====================================================================================================
+    // public static Converter forType
+    //
+    // Gets the converter for a type. Types without a registered converter are supported if they are enums,
+    // or have a public static valueOf(String) method or a public (String) constructor
+    //
+    // Arguments--
+    //
+    // type:    the type to convert to
+    //
+    // Returns--
+    //
+    // The converter, or null if the type cannot be converted from text
+    //
+    public static Converter forType(Class<?> type) {
+        Converter converter = converters.get(type);
+        return (converter != null) ? converter : foundConverters.get(type);
+    }
+    // end: public static Converter forType
+
+
+    // ====================================================================================================
+    // public static Object convert
+    //
+    // Converts text to a type
+    //
+    // Arguments--
+    //
+    // type:    the type to convert to
+    //
+    // text:    the text to convert
+    //
+    // Returns--
+    //
+    // The converted value
+    //
+    public static Object convert(Class<?> type, String text) throws Exception {
+        Converter converter = forType(type);
+        if (converter == null) throw new IllegalArgumentException("no conversion from text to " + type.getName());
+        return converter.convert(text);
+    }
+    // end: public static Object convert
+
+
+    // ====================================================================================================
+    // public static boolean setPrimitive
+    //
+    // Converts text straight into a primitive field, without boxing the value
+    //
+    // Arguments--
+    //
+    // f:       the field to set
+    //
+    // target:  the object the field belongs to, ignored for static fields
+    //
+    // text:    the text to convert
+    //
+    // Returns--
+    //
+    // Whether the field was set. False if the field is not an int, long, double, or boolean field, or its
+    // converter was replaced with register()
+    //
+    public static boolean setPrimitive(Field f, Object target, String text) throws Exception {
+        Class<?> type = f.getType();
+        if (!type.isPrimitive() || converters.get(type) != builtInConverters.get(type)) return false;
+
+        if (type == int.class) f.setInt(target, NumberParser.parseInt(text, 0, text.length()));
+        else if (type == long.class) f.setLong(target, NumberParser.parseLong(text, 0, text.length()));
+        else if (type == double.class) f.setDouble(target, NumberParser.parseDouble(text, 0, text.length()));
+        else if (type == boolean.class) f.setBoolean(target, parseBoolean(text));
+        else return false;
+        return true;
+    }
+    // end: public static boolean setPrimitive
+
+
+    // ====================================================================================================
+    // public static List<Object> convertAll
+    //
+    // Converts every element of a list to a type, keeping their order. Large lists are split into chunks
+    // that are converted in parallel on the common fork-join pool
+    //
+    // Arguments--
+    //
+    // type:    the type to convert to
+    //
+    // texts:   the elements to convert, converted with toString()
+    //
+    // Returns--
+    //
+    // A fixed-size list of the converted elements
+    //
+    // Throws--
+    //
+    // ElementException for the lowest-index element that could not be converted, regardless of which chunk finished first
+    //
+    public static List<Object> convertAll(Class<?> type, List<?> texts) {
+        Converter converter = forType(type);
+        if (converter == null) throw new IllegalArgumentException("no conversion from text to " + type.getName());
+
+        Object[] results = new Object[texts.size()];
+        AtomicInteger firstFailure = new AtomicInteger(Integer.MAX_VALUE); // Lowest index that failed so far
+        Throwable[] failureCause = new Throwable[1];
+
+        if (results.length < PARALLEL_THRESHOLD) {
+            convertRange(converter, texts, results, 0, results.length, firstFailure, failureCause);
+        }
+        else {
+            ForkJoinTask<?>[] chunks = new ForkJoinTask<?>[(results.length + CHUNK_SIZE - 1) / CHUNK_SIZE];
+            for (int c = 0; c < chunks.length; c++) {
+                int start = c * CHUNK_SIZE;
+                int end = Math.min(start + CHUNK_SIZE, results.length);
+                chunks[c] = new RecursiveAction() {
+                    @Override
+                    protected void compute() {
+                        convertRange(converter, texts, results, start, end, firstFailure, failureCause);
+                    }
+                };
+            }
+            ForkJoinTask.invokeAll(chunks);
+        }
+
+        int failedIndex = firstFailure.get();
+        if (failedIndex != Integer.MAX_VALUE) {
+            Throwable cause;
+            synchronized (failureCause) { cause = failureCause[0]; }
+            throw new ElementException(failedIndex, String.valueOf(texts.get(failedIndex)), cause);
+        }
+        return Arrays.asList(results);
+    }
+    // end: public static List<Object> convertAll
+
+
+    // ====================================================================================================
+    // Private helpers
+    private static void convertRange(Converter converter, List<?> texts, Object[] results, int start, int end,
+                                     AtomicInteger firstFailure, Throwable[] failureCause) {
+        for (int i = start; i < end; i++) {
+            if (i > firstFailure.get()) return; // An earlier element already failed, nothing after it matters
+
+            try {
+                results[i] = converter.convert(texts.get(i).toString());
+            }
+            catch (Exception e) {
+                // Keep the failure with the lowest index, so the reported error does not depend on scheduling
+                synchronized (failureCause) {
+                    if (i < firstFailure.get()) {
+                        firstFailure.set(i);
+                        failureCause[0] = e;
+                    }
+                }
+                return;
+            }
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Converter findConverter(Class<?> type) {
+        if (type.isEnum()) return text -> Enum.valueOf((Class<Enum>) type, text.trim());
+
+        try {
+            Method valueOf = type.getMethod("valueOf", String.class);
+            if (Modifier.isStatic(valueOf.getModifiers()) && type.isAssignableFrom(valueOf.getReturnType()))
+                return text -> valueOf.invoke(null, text);
+        }
+        catch (NoSuchMethodException ignored) {
+        }
+
+        try {
+            Constructor<?> constructor = type.getConstructor(String.class);
+            return constructor::newInstance;
+        }
+        catch (NoSuchMethodException ignored) {
+        }
+
+        return null;
+    }
+
+    private static Boolean parseBoolean(String text) {
+        if (text.equalsIgnoreCase("true")) return Boolean.TRUE;
+        if (text.equalsIgnoreCase("false")) return Boolean.FALSE;
+        throw new IllegalArgumentException(text);
+    }
+
+    private static Character parseCharacter(String text) {
+        if (text.length() != 1) throw new IllegalArgumentException(text);
+        return text.charAt(0);
+    }
+    // end: Private helpers
+
+}
+// end: public class TypeConverter
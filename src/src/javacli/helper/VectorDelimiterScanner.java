@@ -0,0 +1,88 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// VectorDelimiterScanner.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.helper;
+
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// class VectorDelimiterScanner
+//
+// The Vector API scan of DelimiterScanner. The low byte of each character is copied into a small buffer a
+// block at a time, which is a plain copy for the Latin-1 strings value lists usually are, and a whole
+// vector of bytes is compared with the delimiter at once. The first match of the comparison is a candidate
+// offset, which is only kept if the whole character is the delimiter, since a character outside Latin-1
+// (ex: U+012C) can have the delimiter as its low byte. Only the first match is read from the mask, since
+// VectorMask.toLong() is not compiled to a vector instruction on JDK 17 and was slower than the whole
+// scalar scan. Only loaded by DelimiterScanner when the runtime has jdk.incubator.vector
+//
+class VectorDelimiterScanner {
+
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+    private static final int BLOCK = 8192; // Characters copied out of the string at a time, a multiple of every vector length
+
+
+    private VectorDelimiterScanner() {
+    }
+
+
+    // ====================================================================================================
+    // static int[] find
+    //
+    // Finds the offsets of every occurrence of a delimiter, see DelimiterScanner.find
+    //
+    @SuppressWarnings("deprecation") // String.getBytes(int, int, byte[], int) copies the low bytes, which is what the scan needs
+    static int[] find(String text, char delimiter) {
+        int length = text.length();
+        int lanes = SPECIES.length();
+        byte low = (byte) delimiter;
+        byte[] block = new byte[Math.min(BLOCK, length)];
+        int[] offsets = new int[16];
+        int count = 0;
+
+        for (int base = 0; base < length; base += block.length) {
+            int blockLength = Math.min(block.length, length - base);
+            text.getBytes(base, base + blockLength, block, 0);
+
+            // Each load starts just after the last delimiter found, so a vector with several delimiters is compared again
+            // for each of them, and a vector without any is skipped whole
+            int i = 0;
+            while (i <= blockLength - lanes) {
+                VectorMask<Byte> candidates = ByteVector.fromArray(SPECIES, block, i).eq(low);
+                if (!candidates.anyTrue()) {
+                    i += lanes;
+                    continue;
+                }
+
+                int offset = base + i + candidates.firstTrue();
+                i = offset - base + 1;
+                if (text.charAt(offset) != delimiter) continue;
+
+                if (count == offsets.length) offsets = Arrays.copyOf(offsets, count * 2);
+                offsets[count++] = offset;
+            }
+            for (; i < blockLength; i++) { // The end of the block, shorter than a vector
+                if (block[i] != low || text.charAt(base + i) != delimiter) continue;
+
+                if (count == offsets.length) offsets = Arrays.copyOf(offsets, count * 2);
+                offsets[count++] = base + i;
+            }
+        }
+
+        return Arrays.copyOf(offsets, count);
+    }
+    // end: static int[] find
+
+}
+// end: class VectorDelimiterScanner
@@ -0,0 +1,169 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// IOResources.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.io;
+
+
+import javacli.Invocation;
+
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class IOResources
+//
+// Opens option and argument values of I/O types and closes them when the command finishes.
+//
+// Supported types are InputStream, OutputStream, ReadableByteChannel, FileChannel (read-only), and
+// MappedByteBuffer (read-only). Streams and channels open their file on first use; a mapped buffer is
+// mapped when the value is set, since a MappedByteBuffer cannot be created lazily. For InputStream,
+// OutputStream, and ReadableByteChannel the value "-" means standard input or output, which are
+// never closed
+//
+public class IOResources implements Closeable {
+
+    private static final Class<?>[] SUPPORTED_TYPES = {
+            InputStream.class, OutputStream.class, ReadableByteChannel.class, FileChannel.class, MappedByteBuffer.class
+    };
+
+    private final List<Closeable> opened = new ArrayList<>(); // Resources to close, in the order they were created
+
+
+    // ----------------------------------------------------------------------------------------------------
+    // public IOResources
+    //
+    // Creates an empty set of resources
+    //
+    public IOResources() {
+    }
+    // end: public IOResources
+
+
+    // ====================================================================================================
+    // public static boolean isSupported
+    //
+    // Checks if a type is one of the I/O types
+    //
+    // Arguments--
+    //
+    // type:    the option or argument type
+    //
+    // Returns--
+    //
+    // Whether values of the type are opened by IOResources
+    //
+    public static boolean isSupported(Class<?> type) {
+        for (Class<?> supportedType : SUPPORTED_TYPES) {
+            if (supportedType == type) return true;
+        }
+        return false;
+    }
+    // end: public static boolean isSupported
+
+
+    // ====================================================================================================
+    // public Object open
+    //
+    // Creates the value of an I/O type for a file name, or "-" for standard input or output
+    //
+    // Arguments--
+    //
+    // type:    the I/O type
+    //
+    // text:    the file name
+    //
+    // Returns--
+    //
+    // The stream, channel, or buffer
+    //
+    public synchronized Object open(Class<?> type, String text) throws IOException {
+        boolean standard = text.equals("-");
+        Path path = (standard) ? null : Paths.get(text);
+
+        if (type == InputStream.class) {
+            return (standard) ? new UnclosableInputStream(Invocation.in()) : this.track(new LazyInputStream(path));
+        }
+        if (type == OutputStream.class) {
+            return (standard) ? this.track(new UnclosableOutputStream(Invocation.out())) : this.track(new LazyOutputStream(path));
+        }
+        if (type == ReadableByteChannel.class) {
+            return (standard) ? Channels.newChannel(new UnclosableInputStream(Invocation.in())) : this.track(new LazyFileChannel(path, StandardOpenOption.READ));
+        }
+
+        if (standard) throw new IllegalArgumentException("standard input cannot be used as a " + type.getSimpleName());
+        if (type == FileChannel.class) return this.track(new LazyFileChannel(path, StandardOpenOption.READ));
+        if (type == MappedByteBuffer.class) {
+            // The mapping stays valid after its channel is closed
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+        }
+
+        throw new IllegalArgumentException("not an I/O type: " + type.getName());
+    }
+    // end: public Object open
+
+
+    // ====================================================================================================
+    // public void close
+    //
+    // Closes every resource that was opened, in reverse order. Standard output is flushed but not closed
+    //
+    // Throws--
+    //
+    // The first IOException from closing a resource, after trying to close all of them
+    //
+    @Override
+    public synchronized void close() throws IOException {
+        IOException failure = null;
+        for (int i = this.opened.size() - 1; i >= 0; i--) {
+            try { this.opened.get(i).close(); }
+            catch (IOException e) { if (failure == null) failure = e; }
+        }
+        this.opened.clear();
+        if (failure != null) throw failure;
+    }
+    // end: public void close
+
+
+    // ====================================================================================================
+    // Private helpers
+    private <T extends Closeable> T track(T resource) {
+        this.opened.add(resource);
+        return resource;
+    }
+
+    private static class UnclosableInputStream extends FilterInputStream {
+        private UnclosableInputStream(InputStream in) { super(in); }
+
+        @Override
+        public void close() {}
+    }
+
+    private static class UnclosableOutputStream extends FilterOutputStream {
+        private UnclosableOutputStream(OutputStream out) { super(out); }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException { this.out.write(b, off, len); }
+
+        @Override
+        public void close() throws IOException { this.out.flush(); }
+    }
+    // end: Private helpers
+
+}
+// end: public class IOResources
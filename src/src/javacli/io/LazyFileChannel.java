@@ -0,0 +1,166 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// LazyFileChannel.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.io;
+
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class LazyFileChannel
+//
+// File channel that opens its file on the first operation and delegates everything to the opened channel
+//
+public class LazyFileChannel extends FileChannel {
+
+    private final Path path; // The file of the channel
+    private final OpenOption[] options; // Options to open the file with
+    private FileChannel channel; // The opened channel, null until first use
+
+
+    // ----------------------------------------------------------------------------------------------------
+    // public LazyFileChannel
+    //
+    // Arguments--
+    //
+    // path:    the file of the channel
+    //
+    // options: the options to open the file with
+    //
+    public LazyFileChannel(Path path, OpenOption... options) {
+        this.path = path;
+        this.options = options;
+    }
+    // end: public LazyFileChannel
+
+
+    // ====================================================================================================
+    // public Path getPath
+    //
+    // Gets the file of this channel
+    //
+    public Path getPath() {
+        return this.path;
+    }
+    // end: public Path getPath
+
+
+    // ====================================================================================================
+    // FileChannel methods
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        return this.channel().read(dst);
+    }
+
+    @Override
+    public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+        return this.channel().read(dsts, offset, length);
+    }
+
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+        return this.channel().write(src);
+    }
+
+    @Override
+    public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+        return this.channel().write(srcs, offset, length);
+    }
+
+    @Override
+    public long position() throws IOException {
+        return this.channel().position();
+    }
+
+    @Override
+    public FileChannel position(long newPosition) throws IOException {
+        this.channel().position(newPosition);
+        return this;
+    }
+
+    @Override
+    public long size() throws IOException {
+        return this.channel().size();
+    }
+
+    @Override
+    public FileChannel truncate(long size) throws IOException {
+        this.channel().truncate(size);
+        return this;
+    }
+
+    @Override
+    public void force(boolean metaData) throws IOException {
+        this.channel().force(metaData);
+    }
+
+    @Override
+    public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+        return this.channel().transferTo(position, count, target);
+    }
+
+    @Override
+    public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+        return this.channel().transferFrom(src, position, count);
+    }
+
+    @Override
+    public int read(ByteBuffer dst, long position) throws IOException {
+        return this.channel().read(dst, position);
+    }
+
+    @Override
+    public int write(ByteBuffer src, long position) throws IOException {
+        return this.channel().write(src, position);
+    }
+
+    @Override
+    public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+        return this.channel().map(mode, position, size);
+    }
+
+    @Override
+    public FileLock lock(long position, long size, boolean shared) throws IOException {
+        return this.channel().lock(position, size, shared);
+    }
+
+    @Override
+    public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+        return this.channel().tryLock(position, size, shared);
+    }
+
+    @Override
+    protected synchronized void implCloseChannel() throws IOException {
+        if (this.channel != null) this.channel.close();
+    }
+    // end: FileChannel methods
+
+
+    // ====================================================================================================
+    // private FileChannel channel
+    //
+    // Opens the file on first use
+    //
+    private synchronized FileChannel channel() throws IOException {
+        if (!this.isOpen()) throw new java.nio.channels.ClosedChannelException();
+        if (this.channel == null) this.channel = FileChannel.open(this.path, this.options);
+        return this.channel;
+    }
+    // end: private FileChannel channel
+
+}
+// end: public class LazyFileChannel
@@ -0,0 +1,102 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// LazyInputStream.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.io;
+
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class LazyInputStream
+//
+// Input stream of a file that is only opened when it is first read
+//
+public class LazyInputStream extends InputStream {
+
+    private final Path path; // The file to read
+    private InputStream in; // The opened stream, null until first use
+    private boolean closed; // Whether close() has been called
+
+
+    // ----------------------------------------------------------------------------------------------------
+    // public LazyInputStream
+    //
+    // Arguments--
+    //
+    // path:    the file to read
+    //
+    public LazyInputStream(Path path) {
+        this.path = path;
+    }
+    // end: public LazyInputStream
+
+
+    // ====================================================================================================
+    // public Path getPath
+    //
+    // Gets the file this stream reads
+    //
+    public Path getPath() {
+        return this.path;
+    }
+    // end: public Path getPath
+
+
+    // ====================================================================================================
+    // InputStream methods
+    @Override
+    public int read() throws IOException {
+        return this.stream().read();
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        return this.stream().read(b, off, len);
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        return this.stream().skip(n);
+    }
+
+    @Override
+    public int available() throws IOException {
+        return this.stream().available();
+    }
+
+    @Override
+    public long transferTo(java.io.OutputStream out) throws IOException {
+        return this.stream().transferTo(out);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        this.closed = true;
+        if (this.in != null) this.in.close();
+    }
+    // end: InputStream methods
+
+
+    // ====================================================================================================
+    // private InputStream stream
+    //
+    // Opens the file on first use
+    //
+    private synchronized InputStream stream() throws IOException {
+        if (this.closed) throw new IOException("stream closed: " + this.path);
+        if (this.in == null) this.in = Files.newInputStream(this.path);
+        return this.in;
+    }
+    // end: private InputStream stream
+
+}
+// end: public class LazyInputStream
@@ -0,0 +1,93 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// LazyOutputStream.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.io;
+
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class LazyOutputStream
+//
+// Output stream of a file that is only created (or truncated) when it is first written. Writes are not
+// buffered, so nothing is lost if the stream is never closed
+//
+public class LazyOutputStream extends OutputStream {
+
+    private final Path path; // The file to write
+    private OutputStream out; // The opened stream, null until first use
+    private boolean closed; // Whether close() has been called
+
+
+    // ----------------------------------------------------------------------------------------------------
+    // public LazyOutputStream
+    //
+    // Arguments--
+    //
+    // path:    the file to write
+    //
+    public LazyOutputStream(Path path) {
+        this.path = path;
+    }
+    // end: public LazyOutputStream
+
+
+    // ====================================================================================================
+    // public Path getPath
+    //
+    // Gets the file this stream writes
+    //
+    public Path getPath() {
+        return this.path;
+    }
+    // end: public Path getPath
+
+
+    // ====================================================================================================
+    // OutputStream methods
+    @Override
+    public void write(int b) throws IOException {
+        this.stream().write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        this.stream().write(b, off, len);
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        if (this.out != null) this.out.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        this.closed = true;
+        if (this.out != null) this.out.close();
+    }
+    // end: OutputStream methods
+
+
+    // ====================================================================================================
+    // private OutputStream stream
+    //
+    // Opens the file on first use
+    //
+    private synchronized OutputStream stream() throws IOException {
+        if (this.closed) throw new IOException("stream closed: " + this.path);
+        if (this.out == null) this.out = Files.newOutputStream(this.path);
+        return this.out;
+    }
+    // end: private OutputStream stream
+
+}
+// end: public class LazyOutputStream
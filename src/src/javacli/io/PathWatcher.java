@@ -0,0 +1,276 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// PathWatcher.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.io;
+
+
+import javacli.Invocation;
+import javacli.helper.GlobExpander;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class PathWatcher
+//
+// Waits for files to change and runs a handler with the paths that changed. A WatchService watches
+// directories, so a file is watched through the directory it is in, a directory is watched with every
+// directory below it, and a glob pattern is watched from its base directory (see GlobExpander) with
+// only the matching paths reported. Changes are debounced: after the first change, the watcher waits
+// until there have been none for the debounce time, so a burst (ex: an editor saving several files, or
+// a build writing many) is one run of the handler.
+//
+// How quickly changes are seen depends on the platform; JDKs without native file events poll every few
+// seconds
+//
+public class PathWatcher {
+
+    // ----------------------------------------------------------------------------------------------------
+    // public interface Handler
+    //
+    // The work to run again when files change
+    //
+    public interface Handler {
+        void run(Set<Path> changed) throws Exception; // changed holds the absolute paths that changed since the last run
+    }
+    // end: public interface Handler
+
+
+    private final long debounceMillis;
+    private final Set<Path> files = new HashSet<>(); // Watched files, absolute
+    private final Set<Path> trees = new HashSet<>(); // Watched directories, absolute, with everything below them
+    private final Map<Path, List<PathMatcher>> globs = new HashMap<>(); // Matchers of the watched patterns by base directory, absolute
+
+    private final Map<WatchKey, Path> directories = new HashMap<>(); // Directory of each registered key
+
+
+    // ----------------------------------------------------------------------------------------------------
+    // public PathWatcher
+    //
+    // Arguments--
+    //
+    // debounceMillis:  the milliseconds without changes to wait for before running the handler
+    //
+    public PathWatcher(long debounceMillis) {
+        this.debounceMillis = debounceMillis;
+    }
+    // end: public PathWatcher
+
+
+    // ====================================================================================================
+    // public void add
+    //
+    // Watches a file, or a directory and everything below it
+    //
+    // Arguments--
+    //
+    // path:    the path to watch. A path that does not exist yet is watched as a file
+    //
+    // Returns--
+    //
+    // None
+    //
+    public void add(Path path) {
+        Path absolute = path.toAbsolutePath().normalize();
+        if (Files.isDirectory(absolute)) this.trees.add(absolute);
+        else this.files.add(absolute);
+    }
+    // end: public void add
+
+
+    // ====================================================================================================
+    // public void addGlob
+    //
+    // Watches the paths matching a glob pattern, including ones created later
+    //
+    // Arguments--
+    //
+    // pattern: the pattern, in PathMatcher "glob:" syntax, ex: src/**/*.java
+    //
+    // Returns--
+    //
+    // None
+    //
+    public void addGlob(String pattern) {
+        if (!GlobExpander.isGlob(pattern)) {
+            this.add(Paths.get(pattern));
+            return;
+        }
+
+        Path base = GlobExpander.baseDirectory(pattern).toAbsolutePath().normalize();
+        Path absolutePattern = Paths.get(pattern).toAbsolutePath().normalize(); // Events are reported as absolute paths
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + absolutePattern);
+        this.globs.computeIfAbsent(base, b -> new ArrayList<>()).add(matcher);
+    }
+    // end: public void addGlob
+
+
+    // ====================================================================================================
+    // public boolean isEmpty
+    //
+    // Checks if nothing is watched
+    //
+    // Arguments--
+    //
+    // None
+    //
+    // Returns--
+    //
+    // Whether no path or pattern was added
+    //
+    public boolean isEmpty() {
+        return this.files.isEmpty() && this.trees.isEmpty() && this.globs.isEmpty();
+    }
+    // end: public boolean isEmpty
+
+
+    // ====================================================================================================
+    // public void run
+    //
+    // Runs the handler each time the watched paths change, until the thread is interrupted. An exception
+    // from the handler is printed to the standard error and the watcher keeps running, so a mistake in an
+    // input file does not end the session. Invocation.exit from the handler ends it
+    //
+    // Arguments--
+    //
+    // handler: the work to run when paths change
+    //
+    // Returns--
+    //
+    // None
+    //
+    public void run(Handler handler) throws IOException {
+        try (WatchService service = FileSystems.getDefault().newWatchService()) {
+            for (Path file : this.files) {
+                Path parent = file.getParent();
+                if (parent != null && Files.isDirectory(parent)) this.register(service, parent);
+            }
+            for (Path tree : this.trees) this.registerTree(service, tree);
+            for (Path base : this.globs.keySet()) {
+                if (Files.isDirectory(base)) this.registerTree(service, base);
+            }
+
+            while (true) {
+                Set<Path> changed = new TreeSet<>();
+                this.collect(service, service.take(), changed);
+
+                // Keep collecting until the changes stop
+                WatchKey key;
+                while ((key = service.poll(this.debounceMillis, TimeUnit.MILLISECONDS)) != null)
+                    this.collect(service, key, changed);
+                if (changed.isEmpty()) continue;
+
+                try { handler.run(Collections.unmodifiableSet(changed)); }
+                catch (Invocation.ExitException e) { throw e; }
+                catch (Exception e) { e.printStackTrace(Invocation.err()); }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Stopped
+        } finally {
+            this.directories.clear();
+        }
+    }
+    // end: public void run
+
+
+    // ====================================================================================================
+    // private void collect
+    //
+    // Adds the watched paths of the events of a key to a set of changes, and watches new directories that
+    // are below a watched tree or pattern
+    //
+    // Arguments--
+    //
+    // service: the watch service
+    //
+    // key:     the key with events
+    //
+    // changed: the set of changed paths to add to
+    //
+    // Returns--
+    //
+    // None
+    //
+    private void collect(WatchService service, WatchKey key, Set<Path> changed) throws IOException {
+        Path directory = this.directories.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                changed.addAll(this.files); // Events were lost, so anything may have changed
+                changed.addAll(this.trees);
+                changed.addAll(this.globs.keySet());
+                continue;
+            }
+            if (directory == null) continue;
+
+            Path path = directory.resolve((Path) event.context());
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS) && this.isInTree(path))
+                this.registerTree(service, path);
+            if (this.isWatched(path)) changed.add(path);
+        }
+
+        if (!key.reset()) this.directories.remove(key); // The directory was deleted
+    }
+    // end: private void collect
+
+
+    // ====================================================================================================
+    // Private helpers
+    private boolean isWatched(Path path) {
+        if (this.files.contains(path)) return true;
+        for (Path tree : this.trees) {
+            if (path.startsWith(tree)) return true;
+        }
+        for (Map.Entry<Path, List<PathMatcher>> glob : this.globs.entrySet()) {
+            if (!path.startsWith(glob.getKey())) continue;
+            for (PathMatcher matcher : glob.getValue()) {
+                if (matcher.matches(path)) return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isInTree(Path path) {
+        for (Path tree : this.trees) {
+            if (path.startsWith(tree)) return true;
+        }
+        for (Path base : this.globs.keySet()) {
+            if (path.startsWith(base)) return true;
+        }
+        return false;
+    }
+
+    private void register(WatchService service, Path directory) throws IOException {
+        if (this.directories.containsValue(directory)) return;
+        WatchKey key = directory.register(service,
+                StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        this.directories.put(key, directory);
+    }
+
+    // Symbolic links to directories are not followed, as in GlobExpander
+    private void registerTree(WatchService service, Path root) throws IOException {
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attributes) throws IOException {
+                register(service, directory);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                return FileVisitResult.CONTINUE; // Unreadable directories are not watched
+            }
+        });
+    }
+    // end: Private helpers
+
+}
+// end: public class PathWatcher
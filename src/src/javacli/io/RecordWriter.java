@@ -0,0 +1,414 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// RecordWriter.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.io;
+
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public abstract class RecordWriter
+//
+// Writes records (rows of values with fixed column names) in one of the output formats of --format:
+//
+//     text:    values separated by tabs, one record per line
+//     json:    one array of objects
+//     jsonl:   one object per line
+//     csv:     a header line with the column names, then one line per record
+//
+// Records are encoded as UTF-8 straight into one large buffer, which is written to the channel only
+// when it is full, on flush(), and on close(). Nothing is kept per record, so any number of records can
+// be written, and no record is flushed on its own. Values are written as their toString(), except
+// null, numbers, and booleans, which are JSON values in the JSON formats
+//
+public abstract class RecordWriter implements Closeable, Flushable {
+
+    public static final String TEXT = "text";
+    public static final String JSON = "json";
+    public static final String JSONL = "jsonl";
+    public static final String CSV = "csv";
+    public static final List<String> FORMATS = List.of(TEXT, JSON, JSONL, CSV);
+
+    private static final int BUFFER_SIZE = 256 * 1024; // Bytes encoded before each write to the channel
+    private static final int MAX_CHARACTER_BYTES = 4; // Longest UTF-8 encoding of a code point
+
+    final String[] columns; // Column names, in order
+    private final WritableByteChannel channel;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position; // Number of bytes in buffer
+    private long records; // Number of records written
+    private boolean closed;
+
+
+    // ----------------------------------------------------------------------------------------------------
+    // private RecordWriter
+    //
+    // Arguments--
+    //
+    // channel: the channel to write to
+    //
+    // columns: the column names
+    //
+    private RecordWriter(WritableByteChannel channel, String[] columns) {
+        this.channel = channel;
+        this.columns = columns.clone();
+    }
+    // end: private RecordWriter
+
+
+    // ====================================================================================================
+    // public static RecordWriter open
+    //
+    // Creates a writer for a format
+    //
+    // Arguments--
+    //
+    // format:  the output format, one of FORMATS
+    //
+    // channel: the channel to write to. It is not closed by the writer
+    //
+    // columns: the column names
+    //
+    // Returns--
+    //
+    // The writer
+    //
+    public static RecordWriter open(String format, WritableByteChannel channel, String... columns) {
+        switch (format) {
+        case TEXT: return new TextWriter(channel, columns);
+        case JSON: return new JsonWriter(channel, columns, false);
+        case JSONL: return new JsonWriter(channel, columns, true);
+        case CSV: return new CsvWriter(channel, columns);
+        default: throw new IllegalArgumentException("unknown record format " + format + ", expected one of " + FORMATS);
+        }
+    }
+    // end: public static RecordWriter open
+
+
+    // ====================================================================================================
+    // public void write
+    //
+    // Writes one record
+    //
+    // Arguments--
+    //
+    // values:  the value of each column, in the order of the column names
+    //
+    // Returns--
+    //
+    // None
+    //
+    public void write(Object... values) throws IOException {
+        if (this.closed) throw new IOException("the record writer is closed");
+        if (values.length != this.columns.length)
+            throw new IllegalArgumentException("a record has " + values.length + " values but there are " + this.columns.length + " columns");
+
+        if (this.records == 0) this.writeStart();
+        this.writeRecord(values, this.records);
+        this.records++;
+    }
+    // end: public void write
+
+
+    // ====================================================================================================
+    // Flushable and Closeable methods
+    @Override
+    public void flush() throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(this.buffer, 0, this.position);
+        while (bytes.hasRemaining()) this.channel.write(bytes);
+        this.position = 0;
+    }
+
+    // Ends the output (ex: the ] of a JSON array) and writes what is buffered. The channel stays open
+    @Override
+    public void close() throws IOException {
+        if (this.closed) return;
+        this.closed = true;
+
+        if (this.records == 0) this.writeStart();
+        this.writeEnd(this.records);
+        this.flush();
+    }
+    // end: Flushable and Closeable methods
+
+
+    // ====================================================================================================
+    // Format specific output
+    void writeStart() throws IOException {
+    }
+
+    abstract void writeRecord(Object[] values, long index) throws IOException;
+
+    void writeEnd(long records) throws IOException {
+    }
+    // end: Format specific output
+
+
+    // ====================================================================================================
+    // Encoding, used by the formats
+    final void putByte(int b) throws IOException {
+        if (this.position == this.buffer.length) this.flush();
+        this.buffer[this.position++] = (byte) b;
+    }
+
+    final void putAscii(String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) this.putByte(text.charAt(i));
+    }
+
+    // Writes a code point as UTF-8. An unpaired surrogate is written as ?, as String.getBytes does
+    final void putCodePoint(int c) throws IOException {
+        if (this.position > this.buffer.length - MAX_CHARACTER_BYTES) this.flush();
+        byte[] b = this.buffer;
+        int p = this.position;
+        if (c < 0x80) b[p++] = (byte) c;
+        else if (c < 0x800) {
+            b[p++] = (byte) (0xC0 | (c >> 6));
+            b[p++] = (byte) (0x80 | (c & 0x3F));
+        }
+        else if (c >= Character.MIN_SURROGATE && c <= Character.MAX_SURROGATE) b[p++] = '?';
+        else if (c < 0x10000) {
+            b[p++] = (byte) (0xE0 | (c >> 12));
+            b[p++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            b[p++] = (byte) (0x80 | (c & 0x3F));
+        }
+        else {
+            b[p++] = (byte) (0xF0 | (c >> 18));
+            b[p++] = (byte) (0x80 | ((c >> 12) & 0x3F));
+            b[p++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            b[p++] = (byte) (0x80 | (c & 0x3F));
+        }
+        this.position = p;
+    }
+
+    final void putText(String text) throws IOException {
+        for (int i = 0; i < text.length(); ) {
+            int c = text.codePointAt(i);
+            this.putCodePoint(c);
+            i += Character.charCount(c);
+        }
+    }
+
+    // Writes the digits of a whole number without making a string
+    final void putLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            this.putAscii(Long.toString(value)); // Cannot be negated
+            return;
+        }
+        if (value < 0) {
+            this.putByte('-');
+            value = -value;
+        }
+
+        long divisor = 1;
+        while (value / divisor >= 10) divisor *= 10;
+        for (; divisor > 0; divisor /= 10) this.putByte((int) ('0' + (value / divisor) % 10));
+    }
+
+    // Whether a value is written with putLong
+    static boolean isWholeNumber(Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+    }
+
+    // Writes a value as plain text, ex: for text and CSV: nothing for null, digits for whole numbers
+    final void putPlain(Object value) throws IOException {
+        if (value == null) return;
+        if (isWholeNumber(value)) this.putLong(((Number) value).longValue());
+        else this.putText(value.toString());
+    }
+    // end: Encoding
+
+
+    // ----------------------------------------------------------------------------------------------------
+    // private static class TextWriter
+    //
+    // Values separated by tabs, one record per line, without a header, for people and line tools
+    //
+    private static class TextWriter extends RecordWriter {
+
+        private TextWriter(WritableByteChannel channel, String[] columns) {
+            super(channel, columns);
+        }
+
+        @Override
+        void writeRecord(Object[] values, long index) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) this.putByte('\t');
+                this.putPlain(values[i]);
+            }
+            this.putByte('\n');
+        }
+
+    }
+    // end: private static class TextWriter
+
+
+    // ----------------------------------------------------------------------------------------------------
+    // private static class CsvWriter
+    //
+    // RFC 4180 CSV with \n line ends. A value with a comma, quote, or line break is quoted, with its
+    // quotes doubled
+    //
+    private static class CsvWriter extends RecordWriter {
+
+        private CsvWriter(WritableByteChannel channel, String[] columns) {
+            super(channel, columns);
+        }
+
+        @Override
+        void writeStart() throws IOException {
+            this.writeRecord(this.columns, -1);
+        }
+
+        @Override
+        void writeRecord(Object[] values, long index) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) this.putByte(',');
+                Object value = values[i];
+                if (value == null || isWholeNumber(value)) this.putPlain(value);
+                else this.putField(value.toString());
+            }
+            this.putByte('\n');
+        }
+
+        private void putField(String text) throws IOException {
+            boolean quoted = false;
+            for (int i = 0; i < text.length() && !quoted; i++) {
+                char c = text.charAt(i);
+                quoted = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quoted) {
+                this.putText(text);
+                return;
+            }
+
+            this.putByte('"');
+            for (int i = 0; i < text.length(); ) {
+                int c = text.codePointAt(i);
+                if (c == '"') this.putByte('"');
+                this.putCodePoint(c);
+                i += Character.charCount(c);
+            }
+            this.putByte('"');
+        }
+
+    }
+    // end: private static class CsvWriter
+
+
+    // ----------------------------------------------------------------------------------------------------
+    // private static class JsonWriter
+    //
+    // One JSON object per record, keyed by column name, either in one array (json) or one per line (jsonl).
+    // The encoded key of each column is made once
+    //
+    private static class JsonWriter extends RecordWriter {
+
+        private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+        private final boolean lines; // Whether each object is on its own line rather than in an array
+        private final String[] keys; // "name": of each column, with the quotes and colon
+
+        private JsonWriter(WritableByteChannel channel, String[] columns, boolean lines) {
+            super(channel, columns);
+            this.lines = lines;
+            this.keys = new String[columns.length];
+            StringBuilder key = new StringBuilder();
+            for (int i = 0; i < columns.length; i++) {
+                key.setLength(0);
+                appendString(key, columns[i]);
+                this.keys[i] = key.append(':').toString();
+            }
+        }
+
+        @Override
+        void writeStart() throws IOException {
+            if (!this.lines) this.putByte('[');
+        }
+
+        @Override
+        void writeRecord(Object[] values, long index) throws IOException {
+            if (!this.lines) this.putAscii((index == 0) ? "\n" : ",\n");
+
+            this.putByte('{');
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) this.putByte(',');
+                this.putText(this.keys[i]);
+                this.putValue(values[i]);
+            }
+            this.putByte('}');
+
+            if (this.lines) this.putByte('\n');
+        }
+
+        @Override
+        void writeEnd(long records) throws IOException {
+            if (!this.lines) this.putAscii((records == 0) ? "]\n" : "\n]\n");
+        }
+
+        private void putValue(Object value) throws IOException {
+            if (value == null) this.putAscii("null");
+            else if (value instanceof Boolean) this.putAscii(value.toString());
+            else if (isWholeNumber(value)) this.putLong(((Number) value).longValue());
+            else if (value instanceof Double || value instanceof Float) {
+                double d = ((Number) value).doubleValue();
+                this.putAscii((Double.isFinite(d)) ? value.toString() : "null"); // JSON has no NaN or infinity
+            }
+            else if (value instanceof BigInteger || value instanceof BigDecimal) this.putAscii(value.toString());
+            else this.putString(value.toString());
+        }
+
+        private void putString(String text) throws IOException {
+            this.putByte('"');
+            for (int i = 0; i < text.length(); ) {
+                int c = text.codePointAt(i);
+                if (c == '"' || c == '\\') {
+                    this.putByte('\\');
+                    this.putByte(c);
+                }
+                else if (c == '\n') this.putAscii("\\n");
+                else if (c == '\t') this.putAscii("\\t");
+                else if (c == '\r') this.putAscii("\\r");
+                else if (c < 0x20) {
+                    this.putAscii("\\u00");
+                    this.putByte(HEX[c >> 4]);
+                    this.putByte(HEX[c & 0xF]);
+                }
+                else this.putCodePoint(c);
+                i += Character.charCount(c);
+            }
+            this.putByte('"');
+        }
+
+        // The same escaping as putString, for the keys made once per writer
+        private static void appendString(StringBuilder out, String text) {
+            out.append('"');
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == '"' || c == '\\') out.append('\\').append(c);
+                else if (c == '\n') out.append("\\n");
+                else if (c == '\t') out.append("\\t");
+                else if (c == '\r') out.append("\\r");
+                else if (c < 0x20) out.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                else out.append(c);
+            }
+            out.append('"');
+        }
+
+    }
+    // end: private static class JsonWriter
+
+}
+// end: public abstract class RecordWriter
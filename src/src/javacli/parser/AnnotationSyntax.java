@@ -5,13 +5,30 @@ import javacli.OptionParser;
 import javacli.annotations.Argument;
 import javacli.annotations.Option;
 import javacli.helper.CLIHelper;
+import javacli.helper.OptionMap;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import java.util.stream.Stream;
 
 
 public class AnnotationSyntax {
 
+    // ----------------------------------------------------------------------------------------------------
+    // public AnnotationSyntax
+    //
+    // Creates a checker for the option definitions of an OptionParser
+    //
+    public AnnotationSyntax() {
+    }
+    // end: public AnnotationSyntax
+
+
     // ====================================================================================================
     // private void parseOptionDefinitions
     //
@@ -35,6 +52,7 @@ public class AnnotationSyntax {
         ArrayList<Class<?>> optFldTypes = optionParser.getOptionFieldTypes();
         ArrayList<String> argFldNames = optionParser.getArgumentFieldNames();
         ArrayList<Class<?>> argFldTypes = optionParser.getArgumentFieldTypes();
+        ArrayList<String> forEachFldNames = optionParser.getForEachFieldNames();
 
         // Parse option definitions
         for (int i = 0; i < opts.size(); i++) {
@@ -50,7 +68,10 @@ public class AnnotationSyntax {
                     "in variable " + oFldName + " does not match option " + name);
 
             CLIHelper.cliAssert((oFldType.equals(type) ||
-                    (o.nargs() > 1)),
+                    (o.nargs() > 1) ||
+                    (o.isMap()) ||
+                    (o.nargs() == 1 && !o.multiple() && oFldType == Supplier.class) || // Lazily computed values
+                    (o.multiple() && o.nargs() != 0 && oFldType.isAssignableFrom(List.class))), // A flag is a single boolean even if it can be repeated
                     "variable type does not match option type",
                     "variable " + oFldName + " has type " + oFldType,
                     "option " + name + " expects type " + type);
@@ -65,18 +86,30 @@ public class AnnotationSyntax {
                     "a boolean flag option was declared with other than 0 arguments",
                     "in option " + name + " is declared with " + o.nargs() + " arguments");
 
+            boolean hasDefaultProvider = (o.defaultProvider() != Supplier.class);
+            boolean hasDefaultFactory = (!o.defaultFactory().equals(""));
+
             CLIHelper.cliAssert((!o.showDefault()) ||
-                    (!o.defaultValue().equals("")),
+                    (!o.defaultValue().equals("") || hasDefaultProvider || hasDefaultFactory),
                     "showDefault is true but no defaultValue is specified",
                     "for option " + name);
 
+            CLIHelper.cliAssert(((o.defaultValue().equals("") ? 0 : 1) + (hasDefaultProvider ? 1 : 0) + (hasDefaultFactory ? 1 : 0) <= 1),
+                    "more than one of defaultValue, defaultProvider, and defaultFactory was specified",
+                    "in option " + name);
+
+            CLIHelper.cliAssert((!hasDefaultProvider && !hasDefaultFactory) ||
+                    (o.nargs() == 1 && !o.isMap() && !o.multiple()),
+                    "a defaultProvider or defaultFactory was specified for an option with other than 1 argument",
+                    "in option " + name);
+
             CLIHelper.cliAssert((o.defaultValue().equals("")) ||
                     (o.nargs() == 1),
                     "a defaultValue was specified for an option with other than 1 argument",
                     "in option " + name);
 
-            CLIHelper.cliAssert((!o.multiple()) ||
-                    (o.doCount()),
+            CLIHelper.cliAssert((!o.doCount()) ||
+                    (o.multiple()),
                     "doCount was true for an option that does not allow multiple occurrences",
                     "in option " + name);
 
@@ -84,7 +117,8 @@ public class AnnotationSyntax {
                     "an option name was used more than once",
                     "for option name " + name);
 
-            CLIHelper.cliAssert((Collections.frequency(optAbbrevs, abbrev) == 1),
+            CLIHelper.cliAssert((abbrev == Character.MIN_VALUE) || // Options without an abbreviation all share the default value
+                    (Collections.frequency(optAbbrevs, abbrev) == 1),
                     "an option abbreviation (short name) was used more than once",
                     "for short option " + abbrev);
 
@@ -92,6 +126,31 @@ public class AnnotationSyntax {
                     (type == boolean.class || type == Boolean.class),
                     "an option with 0 arguments is not boolean type",
                     "in option " + name + ", given type was " + type);
+
+            CLIHelper.cliAssert((!o.isMap()) ||
+                    (o.nargs() == 1 && o.defaultValue().equals("")),
+                    "a map option was declared with other than 1 argument or with a defaultValue",
+                    "in option " + name);
+
+            CLIHelper.cliAssert((!o.isMap()) ||
+                    (oFldType.isAssignableFrom(OptionMap.class)),
+                    "the variable of a map option is not a Map",
+                    "variable " + oFldName + " has type " + oFldType);
+
+            CLIHelper.cliAssert((o.isMap()) ||
+                    (o.keyPatterns().length == 0),
+                    "keyPatterns was specified for an option that is not a map",
+                    "in option " + name);
+
+            for (String keyPattern : o.keyPatterns()) {
+                boolean isValidPattern = true;
+                try { Pattern.compile(keyPattern); }
+                catch (PatternSyntaxException e) { isValidPattern = false; }
+
+                CLIHelper.cliAssert(isValidPattern,
+                        "a key pattern is not a valid regular expression",
+                        "in option " + name + ", pattern " + keyPattern);
+            }
         }
 
         // Parse argument definitions
@@ -106,15 +165,36 @@ public class AnnotationSyntax {
                     "variable name does not match argument name",
                     "in variable " + aFldName + " does not match argument " + name);
 
-            CLIHelper.cliAssert((aFldType.equals(type)),
+            CLIHelper.cliAssert((aFldType.equals(type)) ||
+                    (a.glob()) ||
+                    (a.variadic() && aFldType.isAssignableFrom(List.class)),
                     "variable type does not match argument type",
                     "variable " + aFldName + " has type " + aFldType,
                     "argument " + name + " expects type " + type);
 
+            CLIHelper.cliAssert((!a.glob()) ||
+                    (type == Path.class && aFldType == Stream.class),
+                    "a glob argument was not declared with type Path and a Stream variable",
+                    "in argument " + name + ", variable has type " + aFldType + " and argument expects type " + type);
+
+            CLIHelper.cliAssert((!a.variadic()) ||
+                    (i == args.size() - 1 && !a.glob()),
+                    "a variadic argument is not the last argument or is also a glob argument",
+                    "in argument " + name);
+
             CLIHelper.cliAssert((Collections.frequency(argNames, name) == 1),
                     "an argument name was used more than once",
                     "in argument " + name);
         }
+
+        // Parse @ForEach definitions
+        for (String forEachFldName : forEachFldNames) {
+            int i = argFldNames.indexOf(forEachFldName);
+            CLIHelper.cliAssert((i != -1) &&
+                    (args.get(i).variadic() || args.get(i).glob()),
+                    "@ForEach was declared on a variable that is not a variadic or glob argument",
+                    "in variable " + forEachFldName);
+        }
     }
     // end: private void parseOptionDefinitions
 
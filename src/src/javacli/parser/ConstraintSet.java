@@ -0,0 +1,232 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// ConstraintSet.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.parser;
+
+
+import javacli.annotations.Constraint;
+import javacli.helper.CLIHelper;
+
+import java.util.*;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class ConstraintSet
+//
+// The @Constraint rules of an option definition class, compiled to bitmasks over the option indices.
+// Each class is compiled once, and checking a parse is one pass of word-wise ANDs against the set of
+// specified options
+//
+public class ConstraintSet {
+
+    // Compiled rules by definition class, in a ClassValue so they do not keep the class loaded
+    private static final ClassValue<ConstraintSet[]> compiledConstraints = new ClassValue<>() {
+        @Override
+        protected ConstraintSet[] computeValue(Class<?> definitionClass) {
+            return new ConstraintSet[1]; // Filled by forClass, since compiling can fail
+        }
+    };
+
+    private final HashMap<String, Integer> optionIndices; // Bit index of each option name
+    private final List<String> optionNames; // Option name of each bit index
+    private final int words; // Number of longs in each mask
+
+    private final Constraint.Type[] types; // Kind of each rule
+    private final long[][] masks; // Options each rule applies to
+    private final int[] maskSizes; // Number of options in each mask
+    private final int[] triggers; // Bit index of the "when" option of each REQUIRES rule, or -1
+
+
+    // ----------------------------------------------------------------------------------------------------
+    // private ConstraintSet
+    //
+    // Arguments--
+    //
+    // definitionClass: the class with the @Constraint annotations
+    //
+    // optionNames:     the names of the options defined by the class
+    //
+    private ConstraintSet(Class<?> definitionClass, List<String> optionNames) throws Exception {
+        this.optionNames = new ArrayList<>(optionNames);
+        this.optionIndices = new HashMap<>();
+        for (int i = 0; i < optionNames.size(); i++) this.optionIndices.put(optionNames.get(i), i);
+        this.words = (optionNames.size() + 63) / 64;
+
+        Constraint[] constraints = definitionClass.getAnnotationsByType(Constraint.class);
+        this.types = new Constraint.Type[constraints.length];
+        this.masks = new long[constraints.length][];
+        this.maskSizes = new int[constraints.length];
+        this.triggers = new int[constraints.length];
+
+        for (int r = 0; r < constraints.length; r++) {
+            Constraint c = constraints[r];
+
+            CLIHelper.cliAssert((c.options().length > 0),
+                    "a constraint does not name any options",
+                    "in " + c.type() + " constraint of " + definitionClass.getSimpleName());
+
+            CLIHelper.cliAssert((c.type() == Constraint.Type.REQUIRES) == (!c.when().equals("")),
+                    "the when parameter must be specified for, and only for, REQUIRES constraints",
+                    "in " + c.type() + " constraint on " + Arrays.toString(c.options()));
+
+            this.types[r] = c.type();
+            this.masks[r] = new long[this.words];
+            this.triggers[r] = (c.when().equals("")) ? -1 : this.indexOf(c.when());
+
+            for (String option : c.options()) {
+                int bit = this.indexOf(option);
+                this.masks[r][bit >>> 6] |= 1L << bit;
+            }
+            for (long word : this.masks[r]) this.maskSizes[r] += Long.bitCount(word);
+        }
+    }
+    // end: private ConstraintSet
+
+
+    // ====================================================================================================
+    // public static ConstraintSet forClass
+    //
+    // Gets the compiled constraints of a definition class, compiling them the first time
+    //
+    // Arguments--
+    //
+    // definitionClass: the class with the @Constraint annotations
+    //
+    // optionNames:     the names of the options defined by the class
+    //
+    // Returns--
+    //
+    // The compiled constraints
+    //
+    public static ConstraintSet forClass(Class<?> definitionClass, List<String> optionNames) throws Exception {
+        ConstraintSet[] compiled = compiledConstraints.get(definitionClass);
+        if (compiled[0] == null) compiled[0] = new ConstraintSet(definitionClass, optionNames);
+        return compiled[0];
+    }
+    // end: public static ConstraintSet forClass
+
+
+    // ====================================================================================================
+    // public void check
+    //
+    // Checks the specified options against every rule
+    //
+    // Arguments--
+    //
+    // specifiedOptions:    the names of the options that were specified
+    //
+    // Returns--
+    //
+    // None
+    //
+    public void check(Collection<String> specifiedOptions) throws Exception {
+        if (this.types.length == 0) return;
+
+        // Build the presence bitset. Names that are not options of this class (ex: from a parent command) are ignored
+        long[] present = new long[this.words];
+        for (String option : specifiedOptions) {
+            Integer bit = this.optionIndices.get(option);
+            if (bit != null) present[bit >>> 6] |= 1L << bit;
+        }
+
+        for (int r = 0; r < this.types.length; r++) {
+            long[] mask = this.masks[r];
+            int count = 0;
+            for (int w = 0; w < this.words; w++) count += Long.bitCount(present[w] & mask[w]);
+
+            boolean satisfied = true;
+            switch (this.types[r]) {
+                case MUTUALLY_EXCLUSIVE:
+                    satisfied = count <= 1;
+                    break;
+                case REQUIRED_TOGETHER:
+                    satisfied = count == 0 || count == this.maskSizes[r];
+                    break;
+                case AT_LEAST_ONE:
+                    satisfied = count > 0;
+                    break;
+                case REQUIRES:
+                    int trigger = this.triggers[r];
+                    boolean triggered = (present[trigger >>> 6] & (1L << trigger)) != 0;
+                    satisfied = !triggered || count == this.maskSizes[r];
+                    break;
+            }
+            if (!satisfied) this.fail(r, present); // The option names are only looked up for the error
+        }
+    }
+    // end: public void check
+
+
+    // ====================================================================================================
+    // private void fail
+    //
+    // Throws the error of a rule that the specified options break
+    //
+    // Arguments--
+    //
+    // r:       the index of the rule
+    //
+    // present: the bitset of the specified options
+    //
+    // Returns--
+    //
+    // Never returns
+    //
+    private void fail(int r, long[] present) throws Exception {
+        long[] mask = this.masks[r];
+        switch (this.types[r]) {
+            case MUTUALLY_EXCLUSIVE:
+                CLIHelper.cliAssert(false,
+                        "mutually exclusive options were specified together",
+                        "options " + this.namesOf(mask, present, true) + " cannot be used together");
+                break;
+            case REQUIRED_TOGETHER:
+                CLIHelper.cliAssert(false,
+                        "options that must be specified together were not",
+                        "options " + this.namesOf(mask, present, true) + " also require " + this.namesOf(mask, present, false));
+                break;
+            case AT_LEAST_ONE:
+                CLIHelper.cliAssert(false,
+                        "none of a group of options was specified",
+                        "expected at least one of " + this.namesOf(mask, present, false));
+                break;
+            case REQUIRES:
+                CLIHelper.cliAssert(false,
+                        "an option is missing options it requires",
+                        "option " + this.optionNames.get(this.triggers[r]) + " requires " + this.namesOf(mask, present, false));
+                break;
+        }
+    }
+    // end: private void fail
+
+
+    // ====================================================================================================
+    // Private helpers
+    private int indexOf(String option) throws Exception {
+        Integer bit = this.optionIndices.get(option);
+        CLIHelper.cliAssert((bit != null),
+                "a constraint names an option that does not exist",
+                "in option " + option);
+        return bit;
+    }
+
+    private List<String> namesOf(long[] mask, long[] present, boolean wantPresent) {
+        List<String> names = new ArrayList<>();
+        for (int w = 0; w < this.words; w++) {
+            long bits = mask[w] & ((wantPresent) ? present[w] : ~present[w]);
+            while (bits != 0) {
+                names.add(this.optionNames.get(w * 64 + Long.numberOfTrailingZeros(bits)));
+                bits &= bits - 1;
+            }
+        }
+        return names;
+    }
+    // end: Private helpers
+
+}
+// end: public class ConstraintSet
@@ -0,0 +1,237 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// OptionScope.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.parser;
+
+
+import javacli.annotations.Option;
+import javacli.helper.ArgumentBuffer;
+import javacli.helper.CLIHelper;
+
+import java.util.*;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class OptionScope
+//
+// The options of one command in a parse, linked to the scope of the command it was selected from. An
+// option of a parent command stays valid in its sub commands: lookups try this scope first and then
+// follow the parent links, so a sub command option with the same name hides the parent's. The lookup
+// tables are those of the command's Schema, built once and shared by every scope of that command,
+// including the ParseMachine transitions of each option so the parser does no reflection or option
+// lookups per token
+//
+public class OptionScope {
+
+    private final Schema schema; // The options of this command by name and abbreviation
+    private final OptionScope parent; // Scope of the command this one was selected from, or null for the top level command
+
+    private final HashMap<String, List<String>> optionArgs = new HashMap<>(); // Arguments of the options of this scope that were specified
+    private final HashMap<String, Integer> optionCounts = new HashMap<>(); // Uses of the doCount options of this scope in this parse
+
+
+    // ----------------------------------------------------------------------------------------------------
+    // public OptionScope
+    //
+    // Arguments--
+    //
+    // definitionClass: the class with the option definitions of the command
+    //
+    // parent:          the scope of the command this one was selected from, or null for the top level command
+    //
+    public OptionScope(Class<?> definitionClass, OptionScope parent) {
+        this(Schema.of(definitionClass), parent);
+    }
+    // end: public OptionScope
+
+
+    // ----------------------------------------------------------------------------------------------------
+    // public OptionScope
+    //
+    // Arguments--
+    //
+    // schema:  the compiled options of the command
+    //
+    // parent:  the scope of the command this one was selected from, or null for the top level command
+    //
+    public OptionScope(Schema schema, OptionScope parent) {
+        this.schema = schema;
+        this.parent = parent;
+    }
+    // end: public OptionScope
+
+
+    // ====================================================================================================
+    // GET methods
+    public Class<?> getDefinitionClass() {
+        return schema.getDefinitionClass(); // null for a built schema
+    }
+
+    public Schema getSchema() {
+        return schema;
+    }
+
+    public OptionScope getParent() {
+        return parent;
+    }
+
+    public HashMap<String, List<String>> getOptionArgs() {
+        return optionArgs;
+    }
+
+    public List<String> getOptionNames() {
+        return schema.getOptionNames();
+    }
+
+    public int getCount(String name) {
+        return optionCounts.getOrDefault(name, 0);
+    }
+    // end: GET methods
+
+
+    // ====================================================================================================
+    // public OptionScope findByName
+    //
+    // Finds the closest scope that defines an option
+    //
+    // Arguments--
+    //
+    // name:    the full name of the option
+    //
+    // Returns--
+    //
+    // The scope that defines the option, or null if no scope in the chain does
+    //
+    public OptionScope findByName(String name) {
+        for (OptionScope scope = this; scope != null; scope = scope.parent) {
+            if (scope.schema.getOption(name) != null) return scope;
+        }
+        return null;
+    }
+    // end: public OptionScope findByName
+
+
+    // ====================================================================================================
+    // public OptionScope findByAbbreviation
+    //
+    // Finds the closest scope that defines an option abbreviation
+    //
+    // Arguments--
+    //
+    // abbreviation:    the short name of the option
+    //
+    // Returns--
+    //
+    // The scope that defines the abbreviation, or null if no scope in the chain does
+    //
+    public OptionScope findByAbbreviation(char abbreviation) {
+        for (OptionScope scope = this; scope != null; scope = scope.parent) {
+            if (scope.schema.getOption(abbreviation) != null) return scope;
+        }
+        return null;
+    }
+    // end: public OptionScope findByAbbreviation
+
+
+    // ====================================================================================================
+    // public Option getOption
+    //
+    // Gets an option of this scope only
+    //
+    // Arguments--
+    //
+    // name:    the full name of the option
+    //
+    // Returns--
+    //
+    // The option annotation, or null if this scope does not define it
+    //
+    public Option getOption(String name) {
+        return this.schema.getOption(name);
+    }
+    // end: public Option getOption
+
+
+    // ====================================================================================================
+    // public Option getOption
+    //
+    // Gets an option of this scope only by its abbreviation
+    //
+    // Arguments--
+    //
+    // abbreviation:    the short name of the option
+    //
+    // Returns--
+    //
+    // The option annotation, or null if this scope does not define it
+    //
+    public Option getOption(char abbreviation) {
+        return this.schema.getOption(abbreviation);
+    }
+    // end: public Option getOption
+
+
+    // ====================================================================================================
+    // public void addArguments
+    //
+    // Records a use of an option of this scope. Flags can be repeated, other options only if they are
+    // multiple or map options, in which case the arguments of every use are kept in order. Uses of a
+    // doCount option are counted here, so every parse starts counting from 0
+    //
+    // Arguments--
+    //
+    // option:      the option that was used, defined by this scope
+    //
+    // arguments:   the arguments of this use of the option, copied by this method
+    //
+    // Returns--
+    //
+    // None
+    //
+    public void addArguments(Option option, List<String> arguments) throws Exception {
+        // Every entry in optionArgs is an ArgumentBuffer created below, so repeated uses append in place instead of copying
+        ArgumentBuffer specifiedArguments = (ArgumentBuffer) this.optionArgs.get(option.name());
+
+        if (specifiedArguments != null && option.nargs() != 0) {
+            CLIHelper.cliAssert((option.multiple()) || (option.isMap()),
+                    "multiple uses of an option are forbidden",
+                    "in option " + option.name() + " was used more than once");
+        }
+        else {
+            // If there is no entry yet (or a flag is repeated), start with an empty one
+            specifiedArguments = new ArgumentBuffer();
+            this.optionArgs.put(option.name(), specifiedArguments);
+        }
+
+        specifiedArguments.appendAll(arguments);
+        if (option.doCount()) this.optionCounts.merge(option.name(), 1, Integer::sum);
+    }
+    // end: public void addArguments
+
+
+    // ====================================================================================================
+    // Compiled transitions, used by ParseMachine
+    ParseMachine.Transition longTransition(String longForm) {
+        return this.schema.longTransition(longForm);
+    }
+
+    ParseMachine.Transition shortTransition(char abbreviation) {
+        return this.schema.shortTransition(abbreviation);
+    }
+
+    boolean hasVersion() {
+        return this.schema.hasVersion();
+    }
+
+    boolean isVersionAbbreviation(char abbreviation) {
+        return this.schema.isVersionAbbreviation(abbreviation);
+    }
+    // end: Compiled transitions
+
+}
+// end: public class OptionScope
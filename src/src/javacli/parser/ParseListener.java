@@ -0,0 +1,45 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// ParseListener.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.parser;
+
+
+import javacli.annotations.Option;
+
+import java.util.List;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public interface ParseListener
+//
+// Receives a command line as it is read by OptionParser.parse(Iterable, ParseListener), one callback for
+// each option, positional argument, and sub command, in command line order. Nothing is collected or bound
+// to fields, so a command line of any length is parsed in constant memory. Every method does nothing by
+// default, so a listener only overrides the events it needs
+//
+public interface ParseListener {
+
+    // Called when a sub command is selected. Options of the command and the commands before it can follow
+    default void onCommand(Class<?> commandClass) throws Exception {
+    }
+
+    // Called for each use of an option. The values list is reused by the parser, so it is only valid during
+    // the call and must be copied to be kept. A flag has the single value "true"
+    default void onOption(Option option, List<String> values) throws Exception {
+    }
+
+    // Called for each positional argument
+    default void onPositional(String argument) throws Exception {
+    }
+
+    // Called after the last argument has been read
+    default void onEnd() throws Exception {
+    }
+
+}
+// end: public interface ParseListener
@@ -0,0 +1,417 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// ParseMachine.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.parser;
+
+
+import javacli.annotations.Option;
+import javacli.helper.ArgumentBuffer;
+import javacli.helper.CLIHelper;
+import javacli.helper.DelimiterScanner;
+
+import java.util.Iterator;
+import java.util.List;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class ParseMachine
+//
+// Table-driven parser for a command line. Each token is classified (word, --long, -short cluster, or
+// "--"), and the pair of the current state and the token class selects the action from TRANSITIONS.
+// The arity of each option is compiled once per definition class into a Transition (see OptionScope),
+// so the driver loop does no reflection, splitting, or per-token allocation beyond the substrings of
+// attached values. Long and short forms share the same rules:
+//
+//  flag (nargs = 0):       --flag, -f, and clusters such as -abc
+//  one value (nargs = 1):  --name=value, --name value, -nvalue, -n=value, -n value
+//  n values (nargs > 1):   a comma separated list (--name=a,b,c) or n separate tokens (--name a b c)
+//  variable (nargs = -1):  one value, split on commas
+//
+// The value of a map option is kept whole, so --define=key=value gives "key=value".
+//
+// A machine keeps its state between tokens and is not thread safe; each OptionParser has its own
+//
+public class ParseMachine {
+
+    // ----------------------------------------------------------------------------------------------------
+    // public interface Handler
+    //
+    // Receives what the machine reads, in command line order
+    //
+    public interface Handler {
+        // Called for each word in the options state. Returns the scope of the sub command it names, or null if
+        // the word is a positional argument
+        OptionScope onCommand(String word, OptionScope scope) throws Exception;
+
+        // Called once for each use of an option, with the scope that defines it. The values list is reused by the
+        // machine and is only valid during the call
+        void onOption(OptionScope owner, Option option, List<String> values) throws Exception;
+
+        // Called for each positional argument, including every token after "--"
+        void onPositional(String argument) throws Exception;
+
+        // Called for --help, and for --version or its abbreviation if the current command defines @Version
+        void onSpecialOption(String name) throws Exception;
+
+        // Called after the last token, with the scope of the command that was selected
+        void onEnd(OptionScope scope) throws Exception;
+    }
+    // end: public interface Handler
+
+
+    // ----------------------------------------------------------------------------------------------------
+    // static final class Transition
+    //
+    // The compiled parse action of one option
+    //
+    static final class Transition {
+
+        private final Option option;
+        private final int arity; // One of the ARITY_ constants
+        private final int count; // Number of values for ARITY_FIXED
+
+        Transition(Option option) {
+            this.option = option;
+            this.count = option.nargs();
+            if (option.nargs() == 0) this.arity = ARITY_FLAG;
+            else if (option.nargs() == 1) this.arity = ARITY_ONE;
+            else if (option.nargs() > 1) this.arity = ARITY_FIXED;
+            else this.arity = ARITY_VARIABLE;
+        }
+
+    }
+    // end: static final class Transition
+
+
+    // Token classes
+    private static final int TOKEN_WORD = 0; // Does not start with "-", or is a lone "-"
+    private static final int TOKEN_LONG = 1; // --name or --name=value
+    private static final int TOKEN_SHORT = 2; // One or more abbreviations, -abc
+    private static final int TOKEN_END_OF_OPTIONS = 3; // "--"
+
+    // States
+    private static final int OPTIONS = 0; // Reading options, positional arguments, and sub commands
+    private static final int EXPECTING_VALUE = 1; // The last option needs more values
+    private static final int AFTER_END_OF_OPTIONS = 2; // Every token is a positional argument
+
+    // Actions
+    private static final int COMMAND_OR_POSITIONAL = 0;
+    private static final int POSITIONAL = 1;
+    private static final int LONG_OPTION = 2;
+    private static final int SHORT_CLUSTER = 3;
+    private static final int END_OF_OPTIONS = 4;
+    private static final int VALUE = 5;
+
+    // Action for each state (rows) and token class (columns)
+    private static final int[][] TRANSITIONS = {
+            //                         TOKEN_WORD             TOKEN_LONG   TOKEN_SHORT    TOKEN_END_OF_OPTIONS
+            /* OPTIONS */              {COMMAND_OR_POSITIONAL, LONG_OPTION, SHORT_CLUSTER, END_OF_OPTIONS},
+            /* EXPECTING_VALUE */      {VALUE,                 VALUE,       VALUE,         VALUE},
+            /* AFTER_END_OF_OPTIONS */ {POSITIONAL,            POSITIONAL,  POSITIONAL,    POSITIONAL}
+    };
+
+    // Arities of an option
+    private static final int ARITY_FLAG = 0;
+    private static final int ARITY_ONE = 1;
+    private static final int ARITY_FIXED = 2;
+    private static final int ARITY_VARIABLE = 3;
+
+    private static final List<String> FLAG_VALUE = List.of("true"); // Value recorded for each use of a flag
+
+    private final ArgumentBuffer values = new ArgumentBuffer(); // Values of the option being read, reused for every option
+    private OptionScope reserved; // Scope of the reserved options (see ReservedOptions) of the current run, or null
+    private Transition pending; // Option whose values are being read
+    private OptionScope pendingOwner; // Scope that defines the pending option
+    private int remaining; // Number of value tokens the pending option still needs
+
+
+    // ----------------------------------------------------------------------------------------------------
+    // public ParseMachine
+    //
+    // Creates a machine with no option in progress
+    //
+    public ParseMachine() {
+    }
+    // end: public ParseMachine
+
+
+    // ====================================================================================================
+    // public void run
+    //
+    // Parses a command line, reporting what it reads to a handler
+    //
+    // Arguments--
+    //
+    // tokens:      the command line arguments, read once and in order, so they can be produced lazily
+    //
+    // scope:       the scope of the top level command
+    //
+    // reserved:    the scope of the reserved options, which are used if no command defines a long option, or
+    //              null if there are none
+    //
+    // handler:     the handler to report options, positional arguments, and sub commands to
+    //
+    // Returns--
+    //
+    // None
+    //
+    public void run(Iterator<String> tokens, OptionScope scope, OptionScope reserved, Handler handler) throws Exception {
+        int state = OPTIONS;
+        this.pending = null;
+        this.reserved = reserved;
+
+        while (tokens.hasNext()) {
+            String token = tokens.next();
+
+            switch (TRANSITIONS[state][classify(token)]) {
+                case COMMAND_OR_POSITIONAL:
+                    OptionScope commandScope = handler.onCommand(token, scope);
+                    if (commandScope != null) scope = commandScope;
+                    else handler.onPositional(token);
+                    break;
+                case POSITIONAL:
+                    handler.onPositional(token);
+                    break;
+                case LONG_OPTION:
+                    state = this.longOption(token, scope, handler);
+                    break;
+                case SHORT_CLUSTER:
+                    state = this.shortCluster(token, scope, handler);
+                    break;
+                case END_OF_OPTIONS:
+                    state = AFTER_END_OF_OPTIONS;
+                    break;
+                case VALUE:
+                    state = this.value(token, handler);
+                    break;
+            }
+        }
+
+        if (state == EXPECTING_VALUE) {
+            Option o = this.pending.option;
+            CLIHelper.cliAssert(false,
+                    "an option is missing an argument",
+                    "in option " + o.name() + ", expected " + o.nargs() + " arguments");
+        }
+
+        handler.onEnd(scope);
+    }
+    // end: public void run
+
+
+    // ====================================================================================================
+    // private static int classify
+    //
+    // Gets the class of a token, which is the column of TRANSITIONS
+    //
+    private static int classify(String token) {
+        if (token.length() < 2 || token.charAt(0) != '-') return TOKEN_WORD;
+        if (token.charAt(1) != '-') return TOKEN_SHORT;
+        return (token.length() == 2) ? TOKEN_END_OF_OPTIONS : TOKEN_LONG;
+    }
+    // end: private static int classify
+
+
+    // ====================================================================================================
+    // private int longOption
+    //
+    // Reads a --name or --name=value token
+    //
+    // Returns--
+    //
+    // The next state
+    //
+    private int longOption(String token, OptionScope scope, Handler handler) throws Exception {
+        int equals = token.indexOf('=');
+        String longForm = (equals < 0) ? token : token.substring(0, equals); // Tokens without "=" are looked up as is
+
+        if (longForm.equals("--help") || (longForm.equals("--version") && scope.hasVersion())) {
+            handler.onSpecialOption(longForm.substring(2));
+            return OPTIONS;
+        }
+
+        // The option can be defined by this command or by a command before it
+        OptionScope owner = scope;
+        Transition transition = null;
+        for (; owner != null; owner = owner.getParent()) {
+            transition = owner.longTransition(longForm);
+            if (transition != null) break;
+        }
+        if (transition == null && this.reserved != null) {
+            owner = this.reserved;
+            transition = owner.longTransition(longForm);
+        }
+        CLIHelper.cliAssert((transition != null),
+                "a specified option does not exist",
+                "in option " + longForm.substring(2));
+
+        String attached = (equals < 0) ? null : token.substring(equals + 1);
+        return this.start(owner, transition, attached, handler);
+    }
+    // end: private int longOption
+
+
+    // ====================================================================================================
+    // private int shortCluster
+    //
+    // Reads a -abc token. Each character is an abbreviation until one that takes values, which takes the
+    // rest of the token (without a leading "=") as its first value
+    //
+    // Returns--
+    //
+    // The next state
+    //
+    private int shortCluster(String token, OptionScope scope, Handler handler) throws Exception {
+        for (int c = 1; c < token.length(); c++) {
+            char abbreviation = token.charAt(c);
+            if (scope.isVersionAbbreviation(abbreviation)) {
+                handler.onSpecialOption("version");
+                continue;
+            }
+
+            OptionScope owner = scope;
+            Transition transition = null;
+            for (; owner != null; owner = owner.getParent()) {
+                transition = owner.shortTransition(abbreviation);
+                if (transition != null) break;
+            }
+            CLIHelper.cliAssert((transition != null),
+                    "a specified option does not exist",
+                    "in option " + abbreviation);
+
+            if (transition.arity == ARITY_FLAG) {
+                this.start(owner, transition, null, handler);
+                continue;
+            }
+
+            int valueStart = (c + 1 < token.length() && token.charAt(c + 1) == '=') ? c + 2 : c + 1;
+            String attached = (valueStart < token.length()) ? token.substring(valueStart) : null;
+            return this.start(owner, transition, attached, handler);
+        }
+
+        return OPTIONS;
+    }
+    // end: private int shortCluster
+
+
+    // ====================================================================================================
+    // private int start
+    //
+    // Starts reading an option
+    //
+    // Arguments--
+    //
+    // owner:       the scope that defines the option
+    //
+    // transition:  the compiled option
+    //
+    // attached:    the value written in the same token as the option, or null if there is none
+    //
+    // handler:     the handler to report the option to once its values are read
+    //
+    // Returns--
+    //
+    // The next state
+    //
+    private int start(OptionScope owner, Transition transition, String attached, Handler handler) throws Exception {
+        if (transition.arity == ARITY_FLAG) {
+            CLIHelper.cliAssert((attached == null),
+                    "a flag option cannot have an argument",
+                    "in option " + transition.option.name() + ", got " + attached);
+            handler.onOption(owner, transition.option, FLAG_VALUE);
+            return OPTIONS;
+        }
+
+        this.pending = transition;
+        this.pendingOwner = owner;
+        this.remaining = 1;
+        this.values.clear();
+
+        // An empty attached value (--name=) means the value is the next token
+        return (attached == null || attached.isEmpty()) ? EXPECTING_VALUE : this.value(attached, handler);
+    }
+    // end: private int start
+
+
+    // ====================================================================================================
+    // private int value
+    //
+    // Reads one value of the pending option, and reports the option once it has all of its values
+    //
+    // Returns--
+    //
+    // The next state
+    //
+    private int value(String text, Handler handler) throws Exception {
+        Transition transition = this.pending;
+        boolean first = this.values.isEmpty();
+
+        if (!first || transition.arity == ARITY_ONE || transition.option.isMap()) {
+            this.values.append(text);
+            this.remaining--;
+        }
+        else if (transition.arity == ARITY_VARIABLE) {
+            this.appendSplit(text);
+            this.remaining = 0;
+        }
+        else if (text.indexOf(',') >= 0) {
+            // A comma separated list must have every value of a fixed arity option
+            this.appendSplit(text);
+            CLIHelper.cliAssert((this.values.size() == transition.count),
+                    "an option has an incorrect number of arguments",
+                    "in option " + transition.option.name() + ", expected " + transition.count + " arguments");
+            this.remaining = 0;
+        }
+        else {
+            // Without commas, the rest of the values are the next tokens
+            this.values.append(text);
+            this.remaining = transition.count - 1;
+        }
+
+        if (this.remaining > 0) return EXPECTING_VALUE;
+
+        handler.onOption(this.pendingOwner, transition.option, this.values);
+        this.pending = null;
+        return OPTIONS;
+    }
+    // end: private int value
+
+
+    // ====================================================================================================
+    // private void appendSplit
+    //
+    // Appends the comma separated parts of a value, the same parts String.split(",") gives: trailing empty
+    // parts are dropped, so a value of only commas has no parts, and an empty value is one empty part. The
+    // commas are found in one bulk scan (see DelimiterScanner), and each part is cut from the value once
+    //
+    private void appendSplit(String text) {
+        int[] commas = DelimiterScanner.find(text, ',');
+        if (commas.length == 0) {
+            this.values.append(text);
+            return;
+        }
+
+        // Part i ends at comma i, and the last part at the end of the text. Trailing empty parts are dropped
+        int parts = commas.length + 1;
+        while (parts > 0 && partStart(commas, parts - 1) == partEnd(commas, parts - 1, text)) parts--;
+
+        for (int part = 0; part < parts; part++)
+            this.values.append(text.substring(partStart(commas, part), partEnd(commas, part, text)));
+    }
+
+    private static int partStart(int[] commas, int part) {
+        return (part == 0) ? 0 : commas[part - 1] + 1;
+    }
+
+    private static int partEnd(int[] commas, int part, String text) {
+        return (part < commas.length) ? commas[part] : text.length();
+    }
+    // end: private void appendSplit
+
+}
+// end: public class ParseMachine
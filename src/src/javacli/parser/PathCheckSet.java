@@ -0,0 +1,238 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// PathCheckSet.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.parser;
+
+
+import javacli.annotations.Argument;
+import javacli.annotations.Option;
+import javacli.annotations.PathCheck;
+import javacli.helper.CLIHelper;
+import javacli.helper.TaskExecutors;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.*;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class PathCheckSet
+//
+// The @PathCheck fields of an option definition class. Checking a parse collects every value of every
+// checked option and argument in the scope chain and checks them all concurrently, since each check is
+// a few file system calls that mostly wait (on network file systems, for a long time). Every failure is
+// reported in one error. Only values given on the command line are checked, not defaults
+//
+public class PathCheckSet {
+
+    // Compiled checks by definition class, stored with the class so they are freed when it is unloaded
+    private static final ClassValue<PathCheckSet[]> compiledChecks = new ClassValue<>() {
+        @Override
+        protected PathCheckSet[] computeValue(Class<?> definitionClass) {
+            return new PathCheckSet[1]; // Filled by forClass, since compiling can fail
+        }
+    };
+    private static final int PLATFORM_THREADS = 64; // Checks run at once when virtual threads are not available
+
+    private final List<CheckedField> fields = new ArrayList<>(); // The checked options and arguments of the class
+
+
+    // ----------------------------------------------------------------------------------------------------
+    // private static class CheckedField
+    //
+    // One option or argument with a @PathCheck
+    //
+    private static class CheckedField {
+
+        private final String name; // Name of the option or argument
+        private final boolean isOption; // Whether the field is an option, otherwise it is an argument
+        private final int argumentIndex; // Position of the argument among the arguments of the class
+        private final boolean variadic; // Whether the argument takes every positional argument from its position on
+        private final PathCheck check;
+
+        private CheckedField(String name, boolean isOption, int argumentIndex, boolean variadic, PathCheck check) {
+            this.name = name;
+            this.isOption = isOption;
+            this.argumentIndex = argumentIndex;
+            this.variadic = variadic;
+            this.check = check;
+        }
+
+    }
+    // end: private static class CheckedField
+
+
+    // ----------------------------------------------------------------------------------------------------
+    // private PathCheckSet
+    //
+    // Arguments--
+    //
+    // definitionClass: the class with the @PathCheck fields
+    //
+    private PathCheckSet(Class<?> definitionClass) throws Exception {
+        int argumentIndex = 0;
+        for (Field f : definitionClass.getFields()) {
+            Option o = f.getAnnotation(Option.class);
+            Argument a = f.getAnnotation(Argument.class);
+            PathCheck check = f.getAnnotation(PathCheck.class);
+
+            if (check != null) {
+                CLIHelper.cliAssert((o != null || a != null),
+                        "a path check was declared on a field that is not an option or argument",
+                        "in variable " + f.getName());
+
+                Class<?> type = (o != null) ? o.type() : a.type();
+                CLIHelper.cliAssert((type == Path.class || type == File.class),
+                        "a path check was declared for an option or argument that is not of type Path or File",
+                        "in variable " + f.getName() + ", type is " + type);
+
+                CLIHelper.cliAssert((o == null || !o.isMap()) && (a == null || !a.glob()),
+                        "a path check was declared for a map option or glob argument",
+                        "in variable " + f.getName());
+
+                this.fields.add(new CheckedField((o != null) ? o.name() : a.name(), (o != null), argumentIndex, (a != null && a.variadic()), check));
+            }
+
+            if (a != null) argumentIndex++;
+        }
+    }
+    // end: private PathCheckSet
+
+
+    // ====================================================================================================
+    // public static void check
+    //
+    // Checks the values of every @PathCheck option and argument of a parse
+    //
+    // Arguments--
+    //
+    // scope:       the scope of the command that was parsed, whose chain holds the option arguments
+    //
+    // inputArgs:   the positional arguments of the command that was parsed
+    //
+    // Returns--
+    //
+    // None
+    //
+    public static void check(OptionScope scope, List<String> inputArgs) throws Exception {
+        List<Callable<String>> checks = new ArrayList<>();
+        for (OptionScope s = scope; s != null; s = s.getParent()) {
+            for (CheckedField field : forClass(s.getDefinitionClass()).fields) {
+                List<String> values;
+                if (field.isOption) values = s.getOptionArgs().getOrDefault(field.name, Collections.emptyList());
+                else if (s != scope || field.argumentIndex >= inputArgs.size()) values = Collections.emptyList(); // Parent commands have no positional arguments of their own
+                else if (field.variadic) values = inputArgs.subList(field.argumentIndex, inputArgs.size());
+                else values = Collections.singletonList(inputArgs.get(field.argumentIndex));
+
+                String label = ((field.isOption) ? "option " : "argument ") + field.name;
+                for (String value : values) checks.add(() -> checkPath(label, value, field.check));
+            }
+        }
+        if (checks.isEmpty()) return;
+
+        List<String> failures = run(checks);
+        CLIHelper.cliAssert(failures.isEmpty(),
+                (failures.size() == 1) ? "a path did not pass its checks" : failures.size() + " paths did not pass their checks",
+                failures.toArray(new String[0]));
+    }
+    // end: public static void check
+
+
+    // ====================================================================================================
+    // private static String checkPath
+    //
+    // Checks one path
+    //
+    // Arguments--
+    //
+    // label:   the option or argument the path is a value of, for the failure message
+    //
+    // text:    the path as given on the command line
+    //
+    // check:   the checks to make
+    //
+    // Returns--
+    //
+    // A description of the first failed check, or null if every check passed
+    //
+    private static String checkPath(String label, String text, PathCheck check) {
+        try {
+            Path path = Paths.get(text);
+            if ((check.mustExist() || check.readable() || check.isDirectory()) && !Files.exists(path))
+                return "in " + label + ", " + text + " does not exist";
+            if (check.isDirectory() && !Files.isDirectory(path))
+                return "in " + label + ", " + text + " is not a directory";
+            if (check.readable() && !Files.isReadable(path))
+                return "in " + label + ", " + text + " is not readable";
+            if (check.writableParent()) {
+                Path parent = path.toAbsolutePath().getParent();
+                if (parent == null || !Files.isDirectory(parent) || !Files.isWritable(parent))
+                    return "in " + label + ", " + text + " is not in a writable directory";
+            }
+            return null;
+        } catch (InvalidPathException | SecurityException e) {
+            return "in " + label + ", " + text + " could not be checked: " + e.getMessage();
+        }
+    }
+    // end: private static String checkPath
+
+
+    // ====================================================================================================
+    // private static List<String> run
+    //
+    // Runs checks concurrently, on virtual threads if the JDK has them
+    //
+    // Arguments--
+    //
+    // checks:  the checks, each returning a failure message or null
+    //
+    // Returns--
+    //
+    // The failure messages, in the order of the checks
+    //
+    private static List<String> run(List<Callable<String>> checks) throws Exception {
+        List<String> failures = new ArrayList<>();
+        if (checks.size() == 1) {
+            // Not worth a thread
+            String failure = checks.get(0).call();
+            if (failure != null) failures.add(failure);
+            return failures;
+        }
+
+        ExecutorService executor = TaskExecutors.newExecutor("javacli-path-check", Math.min(checks.size(), PLATFORM_THREADS), true);
+        try {
+            for (Future<String> result : executor.invokeAll(checks)) {
+                String failure;
+                try { failure = result.get(); }
+                catch (ExecutionException e) { failure = String.valueOf(e.getCause()); }
+                if (failure != null) failures.add(failure);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return failures;
+    }
+    // end: private static List<String> run
+
+
+    // ====================================================================================================
+    // Private helpers
+    private static PathCheckSet forClass(Class<?> definitionClass) throws Exception {
+        PathCheckSet[] compiled = compiledChecks.get(definitionClass);
+        if (compiled[0] == null) compiled[0] = new PathCheckSet(definitionClass);
+        return compiled[0];
+    }
+    // end: Private helpers
+
+}
+// end: public class PathCheckSet
@@ -0,0 +1,35 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// ReservedOptions.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.parser;
+
+
+import javacli.annotations.Option;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class ReservedOptions
+//
+// Definitions of the options the library provides to every command that uses the feature behind them,
+// ex: --jobs for a command with a @ForEach argument, or --stats for every command. They are looked up after the options of the command
+// chain, so a command that defines an option with the same name keeps its own. Only the long form can be
+// used, and the fields are never set: OptionParser reads their arguments from its reserved scope
+//
+public class ReservedOptions {
+
+    @Option(name = "jobs", nargs = 1, type = int.class, help = "Number of values to process at once") public static int jobs;
+    @Option(name = "stats", nargs = 1, type = String.class, help = "Print a runtime report on exit, as text or json") public static String stats;
+    @Option(name = "format", nargs = 1, type = String.class, help = "Output format of the results: text, json, jsonl, or csv") public static String format;
+    @Option(name = "watch", nargs = 0, isFlag = true, type = boolean.class, help = "Run again when an input file changes") public static boolean watch;
+
+
+    private ReservedOptions() {
+    }
+
+}
+// end: public class ReservedOptions
@@ -0,0 +1,351 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// Schema.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.parser;
+
+
+import javacli.Invocation;
+import javacli.annotations.Argument;
+import javacli.annotations.Option;
+import javacli.annotations.Version;
+import javacli.helper.CLIHelper;
+import javacli.helper.CommandTokenizer;
+import javacli.helper.ParsedData;
+
+import java.lang.reflect.Field;
+import java.util.*;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class Schema
+//
+// The compiled options and arguments of one command: the options by name and abbreviation, and the
+// ParseMachine transition of each option by the exact token that selects it ("--name" for the long
+// form, and a direct array index for ASCII abbreviations). A schema is read once from the annotations of
+// a definition class with of(), or built without reflection with builder(), ex: from a descriptor that
+// is only known at run time. A schema never changes once built, so one can be shared by every parse
+//
+public class Schema {
+
+    // Schemas read from annotations, by definition class. A ClassValue does not keep the class loaded, so
+    // the classes of a command run in its own class loader (see CommandRunner) can be unloaded
+    private static final ClassValue<Schema> compiledSchemas = new ClassValue<>() {
+        @Override
+        protected Schema computeValue(Class<?> definitionClass) {
+            return Schema.read(definitionClass);
+        }
+    };
+
+    static final int ASCII = 128; // Abbreviations below this are looked up by array index
+
+    private final Class<?> definitionClass; // The class the schema was read from, or null if it was built
+    private final String name;
+    private final String version; // "" if the command has no version
+    private final char versionAbbreviation;
+    private final List<Option> options; // In definition order
+    private final List<String> optionNames; // In definition order
+    private final List<Argument> arguments; // In definition order
+    private final Map<String, Schema> commands; // Sub commands of a built schema by name, in definition order
+    private final Map<String, String> commandHelp; // Help message of each sub command of a built schema
+
+    private final HashMap<String, Option> byName = new HashMap<>();
+    private final HashMap<Character, Option> byAbbreviation = new HashMap<>();
+    private final HashMap<String, ParseMachine.Transition> byLongForm = new HashMap<>(); // Keyed by "--" + name, so a token without "=" is its own key
+    private final ParseMachine.Transition[] byShortAscii = new ParseMachine.Transition[ASCII];
+    private final HashMap<Character, ParseMachine.Transition> byShortOther = new HashMap<>();
+
+
+    // ----------------------------------------------------------------------------------------------------
+    // Schema
+    //
+    // Arguments--
+    //
+    // definitionClass: the class the schema was read from, or null if it was built
+    //
+    // name:            the name of the command
+    //
+    // version:         the version of the command, or "" if it has none
+    //
+    // options:         the options, in definition order
+    //
+    // arguments:       the positional arguments, in definition order
+    //
+    // commands:        the sub commands by name, with their help messages in commandHelp
+    //
+    Schema(Class<?> definitionClass, String name, String version, char versionAbbreviation, List<Option> options, List<Argument> arguments,
+           Map<String, Schema> commands, Map<String, String> commandHelp) {
+        this.definitionClass = definitionClass;
+        this.name = name;
+        this.version = version;
+        this.versionAbbreviation = versionAbbreviation;
+        this.options = Collections.unmodifiableList(new ArrayList<>(options));
+        List<String> optionNames = new ArrayList<>();
+        for (Option o : this.options) optionNames.add(o.name());
+        this.optionNames = Collections.unmodifiableList(optionNames);
+        this.arguments = Collections.unmodifiableList(new ArrayList<>(arguments));
+        this.commands = Collections.unmodifiableMap(new LinkedHashMap<>(commands));
+        this.commandHelp = Collections.unmodifiableMap(new LinkedHashMap<>(commandHelp));
+
+        for (Option o : this.options) {
+            this.byName.put(o.name(), o);
+
+            ParseMachine.Transition transition = new ParseMachine.Transition(o);
+            this.byLongForm.put("--" + o.name(), transition);
+            if (o.abbreviation() == Character.MIN_VALUE) continue;
+
+            this.byAbbreviation.put(o.abbreviation(), o);
+            if (o.abbreviation() < ASCII) this.byShortAscii[o.abbreviation()] = transition;
+            else this.byShortOther.put(o.abbreviation(), transition);
+        }
+    }
+    // end: Schema
+
+
+    // ====================================================================================================
+    // public static Schema of
+    //
+    // Reads the schema of a definition class from its annotations, once per class
+    //
+    // Arguments--
+    //
+    // definitionClass: the class with the @Option, @Argument, and @Version fields
+    //
+    // Returns--
+    //
+    // The schema of the class
+    //
+    public static Schema of(Class<?> definitionClass) {
+        return compiledSchemas.get(definitionClass);
+    }
+    // end: public static Schema of
+
+
+    // ====================================================================================================
+    // public static SchemaBuilder builder
+    //
+    // Starts building a schema without a definition class
+    //
+    // Arguments--
+    //
+    // name:    the name of the command, used in the help message and to select it as a sub command
+    //
+    // Returns--
+    //
+    // A builder for the schema
+    //
+    public static SchemaBuilder builder(String name) {
+        return new SchemaBuilder(name);
+    }
+    // end: public static SchemaBuilder builder
+
+
+    // ====================================================================================================
+    // GET methods
+    public Class<?> getDefinitionClass() {
+        return definitionClass;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public List<Option> getOptions() {
+        return options;
+    }
+
+    public List<String> getOptionNames() {
+        return optionNames;
+    }
+
+    public List<Argument> getArguments() {
+        return arguments;
+    }
+
+    public Map<String, Schema> getCommands() {
+        return commands;
+    }
+
+    public Option getOption(String name) {
+        return byName.get(name);
+    }
+
+    public Option getOption(char abbreviation) {
+        return byAbbreviation.get(abbreviation);
+    }
+    // end: GET methods
+
+
+    // ====================================================================================================
+    // public ParsedData parse
+    //
+    // Parses command line arguments against the schema and its sub commands. Nothing is bound to fields,
+    // so the values are read with the typed getters of the result (ex: getInt("port")). --help and
+    // --version are handled as in OptionParser.parse(String[]), and a mistake in the arguments is thrown.
+    // Each call uses its own parser state, so one schema can parse on many threads at once
+    //
+    // Arguments--
+    //
+    // args:    the command line arguments
+    //
+    // Returns--
+    //
+    // The parse result
+    //
+    public ParsedData parse(String... args) throws Exception {
+        return this.parseArguments(Arrays.asList(args));
+    }
+    // end: public ParsedData parse
+
+
+    // ====================================================================================================
+    // public ParsedData parseCommand
+    //
+    // Parses a whole command string against the schema, splitting it into arguments with POSIX shell
+    // quoting rules (see CommandTokenizer). Like parse(String...), each call uses its own parser state and
+    // nothing is bound to fields, so one schema can parse command strings on many threads at once
+    //
+    // Arguments--
+    //
+    // command: the command string, ex: --tag "release 2" -v input.txt
+    //
+    // Returns--
+    //
+    // The parse result
+    //
+    public ParsedData parseCommand(CharSequence command) throws Exception {
+        return this.parseArguments(CommandTokenizer.tokenize(command));
+    }
+    // end: public ParsedData parseCommand
+
+
+    // ====================================================================================================
+    // private ParsedData parseArguments
+    //
+    // Parses command line arguments with a new ParseMachine, see parse(String...)
+    //
+    private ParsedData parseArguments(List<String> args) throws Exception {
+        ArrayList<String> inputArgs = new ArrayList<>();
+        OptionScope[] selected = new OptionScope[1];
+
+        new ParseMachine().run(args.iterator(), new OptionScope(this, null), null, new ParseMachine.Handler() {
+            @Override
+            public OptionScope onCommand(String word, OptionScope scope) {
+                Schema command = scope.getSchema().commands.get(word);
+                if (command == null) return null;
+
+                selected[0] = new OptionScope(command, scope);
+                return selected[0];
+            }
+
+            @Override
+            public void onOption(OptionScope owner, Option option, List<String> values) throws Exception {
+                owner.addArguments(option, values);
+            }
+
+            @Override
+            public void onPositional(String argument) {
+                inputArgs.add(argument);
+            }
+
+            @Override
+            public void onSpecialOption(String name) {
+                Schema current = (selected[0] != null) ? selected[0].getSchema() : Schema.this;
+                Invocation.out().println((name.equals("help")) ? current.generateHelp() : current.name + ", version " + current.version);
+                Invocation.exit(0);
+            }
+
+            @Override
+            public void onEnd(OptionScope scope) {
+                selected[0] = scope;
+            }
+        });
+
+        // A variadic last argument takes any number of the remaining arguments
+        List<Argument> expected = selected[0].getSchema().arguments;
+        boolean variadic = !expected.isEmpty() && expected.get(expected.size() - 1).variadic();
+        CLIHelper.cliAssert((inputArgs.size() == expected.size()) ||
+                (variadic && inputArgs.size() >= expected.size() - 1),
+                "an incorrect number of arguments were specified",
+                "expected " + expected.size() + ((variadic) ? " or more" : "") + ", got " + inputArgs.size());
+
+        return new ParsedData(selected[0], inputArgs);
+    }
+    // end: private ParsedData parseArguments
+
+
+    // ====================================================================================================
+    // public String generateHelp
+    //
+    // Generates the help message of the command, in the same form as OptionParser's
+    //
+    // Arguments--
+    //
+    // None
+    //
+    // Returns--
+    //
+    // The help message
+    //
+    public String generateHelp() {
+        return new CLIHelper().generateHelp(this.name, this.version, this.versionAbbreviation, this.options, this.arguments, this.commandHelp);
+    }
+    // end: public String generateHelp
+
+
+    // ====================================================================================================
+    // Compiled transitions, used by ParseMachine
+    ParseMachine.Transition longTransition(String longForm) {
+        return this.byLongForm.get(longForm);
+    }
+
+    ParseMachine.Transition shortTransition(char abbreviation) {
+        return (abbreviation < ASCII) ? this.byShortAscii[abbreviation] : this.byShortOther.get(abbreviation);
+    }
+
+    boolean hasVersion() {
+        return !this.version.equals("");
+    }
+
+    boolean isVersionAbbreviation(char abbreviation) {
+        return this.hasVersion() && abbreviation == this.versionAbbreviation && abbreviation != Character.MIN_VALUE;
+    }
+    // end: Compiled transitions
+
+
+    // ====================================================================================================
+    // Private helpers
+    private static Schema read(Class<?> definitionClass) {
+        List<Option> options = new ArrayList<>();
+        List<Argument> arguments = new ArrayList<>();
+        String version = "";
+        char versionAbbreviation = Character.MIN_VALUE;
+
+        for (Field f : definitionClass.getFields()) {
+            Option o = f.getAnnotation(Option.class);
+            Argument a = f.getAnnotation(Argument.class);
+            Version v = f.getAnnotation(Version.class);
+
+            if (o != null) options.add(o);
+            if (a != null) arguments.add(a);
+            if (v != null && !v.version().equals("")) {
+                version = v.version();
+                versionAbbreviation = v.abbreviation();
+            }
+        }
+
+        return new Schema(definitionClass, definitionClass.getSimpleName(), version, versionAbbreviation, options, arguments,
+                Collections.emptyMap(), Collections.emptyMap());
+    }
+    // end: Private helpers
+
+}
+// end: public class Schema
@@ -0,0 +1,378 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// SchemaBuilder.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.parser;
+
+
+import javacli.annotations.Argument;
+import javacli.annotations.Option;
+import javacli.helper.CLIHelper;
+import javacli.helper.TypeConverter;
+
+import java.lang.annotation.Annotation;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.Supplier;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class SchemaBuilder
+//
+// Builds a Schema without a definition class or reflection, ex:
+//
+//     Schema.builder("server").option("port").abbrev('p').type(int.class).nargs(1).defaultValue("8080")
+//             .option("verbose").abbrev('v').flag()
+//             .argument("root").type(Path.class)
+//             .build();
+//
+// Each setter applies to the option or argument started last. The options and arguments are checked
+// with the same rules as their annotations when the schema is built
+//
+public class SchemaBuilder {
+
+    private final String name;
+    private String version = "";
+    private char versionAbbreviation = Character.MIN_VALUE;
+    private final List<Option> options = new ArrayList<>();
+    private final List<Argument> arguments = new ArrayList<>();
+    private final Map<String, Schema> commands = new LinkedHashMap<>();
+    private final Map<String, String> commandHelp = new LinkedHashMap<>();
+
+    private BuiltOption option; // The option being defined, or null
+    private BuiltArgument argument; // The argument being defined, or null
+    private boolean built; // Whether build() was called, after which the builder cannot be changed
+
+
+    // ----------------------------------------------------------------------------------------------------
+    // SchemaBuilder
+    //
+    // Arguments--
+    //
+    // name:    the name of the command
+    //
+    SchemaBuilder(String name) {
+        this.name = name;
+    }
+    // end: SchemaBuilder
+
+
+    // ====================================================================================================
+    // Definitions, each starting a new option or argument or adding to the command
+    public SchemaBuilder option(String name) {
+        this.checkNotBuilt();
+        this.option = new BuiltOption(name);
+        this.argument = null;
+        this.options.add(this.option);
+        return this;
+    }
+
+    public SchemaBuilder argument(String name) {
+        this.checkNotBuilt();
+        this.argument = new BuiltArgument(name);
+        this.option = null;
+        this.arguments.add(this.argument);
+        return this;
+    }
+
+    public SchemaBuilder command(Schema command, String help) {
+        this.checkNotBuilt();
+        this.commands.put(command.getName(), command);
+        this.commandHelp.put(command.getName(), help);
+        return this;
+    }
+
+    public SchemaBuilder version(String version, char abbreviation) {
+        this.checkNotBuilt();
+        this.version = version;
+        this.versionAbbreviation = abbreviation;
+        return this;
+    }
+    // end: Definitions
+
+
+    // ====================================================================================================
+    // Settings of the option started last
+    public SchemaBuilder abbrev(char abbreviation) {
+        this.currentOption().abbreviation = abbreviation;
+        return this;
+    }
+
+    public SchemaBuilder help(String help) {
+        this.currentOption().help = help;
+        return this;
+    }
+
+    public SchemaBuilder nargs(int nargs) {
+        this.currentOption().nargs = nargs;
+        return this;
+    }
+
+    public SchemaBuilder multiple() {
+        this.currentOption().multiple = true;
+        return this;
+    }
+
+    public SchemaBuilder defaultValue(String defaultValue) {
+        this.currentOption().defaultValue = defaultValue;
+        return this;
+    }
+
+    public SchemaBuilder showDefault() {
+        this.currentOption().showDefault = true;
+        return this;
+    }
+
+    // A flag has no arguments and is true when it is given
+    public SchemaBuilder flag() {
+        BuiltOption option = this.currentOption();
+        option.isFlag = true;
+        option.nargs = 0;
+        option.type = boolean.class;
+        return this;
+    }
+
+    // A map option collects repeated key=value arguments
+    public SchemaBuilder map(String... keyPatterns) {
+        BuiltOption option = this.currentOption();
+        option.isMap = true;
+        option.nargs = 1;
+        option.keyPatterns = keyPatterns.clone();
+        return this;
+    }
+    // end: Settings of the option started last
+
+
+    // ====================================================================================================
+    // Settings of the argument started last
+    public SchemaBuilder glob() {
+        BuiltArgument argument = this.currentArgument();
+        argument.glob = true;
+        argument.type = Path.class;
+        return this;
+    }
+
+    public SchemaBuilder variadic() {
+        this.currentArgument().variadic = true;
+        return this;
+    }
+    // end: Settings of the argument started last
+
+
+    // ====================================================================================================
+    // public SchemaBuilder type
+    //
+    // Sets the type of the option or argument started last
+    //
+    // Arguments--
+    //
+    // type:    the type to convert the values to, which must have a converter (see TypeConverter)
+    //
+    // Returns--
+    //
+    // This builder
+    //
+    public SchemaBuilder type(Class<?> type) {
+        this.checkNotBuilt();
+        if (this.option != null) this.option.type = type;
+        else if (this.argument != null) this.argument.type = type;
+        else throw new IllegalStateException("type() must follow option() or argument()");
+        return this;
+    }
+    // end: public SchemaBuilder type
+
+
+    // ====================================================================================================
+    // public Schema build
+    //
+    // Checks the definitions and compiles them. The builder cannot be used after this
+    //
+    // Arguments--
+    //
+    // None
+    //
+    // Returns--
+    //
+    // The schema
+    //
+    public Schema build() throws Exception {
+        this.checkNotBuilt();
+        this.built = true;
+
+        Set<String> optionNames = new HashSet<>();
+        Set<Character> abbreviations = new HashSet<>();
+        for (Option o : this.options) {
+            String name = o.name();
+
+            CLIHelper.cliAssert((!name.isEmpty() && !name.startsWith("-") && name.indexOf('=') < 0),
+                    "an option name is empty, starts with -, or has =",
+                    "for option name " + name);
+
+            CLIHelper.cliAssert((optionNames.add(name)),
+                    "an option name was used more than once",
+                    "for option name " + name);
+
+            CLIHelper.cliAssert((o.abbreviation() == Character.MIN_VALUE) ||
+                    (abbreviations.add(o.abbreviation())),
+                    "an option abbreviation (short name) was used more than once",
+                    "for short option " + o.abbreviation());
+
+            CLIHelper.cliAssert((o.nargs() >= -1),
+                    "an option was declared with a negative number of arguments other than -1",
+                    "in option " + name);
+
+            CLIHelper.cliAssert((o.nargs() != 0) ||
+                    (o.isFlag()),
+                    "a non-boolean flag option was declared with 0 arguments",
+                    "in option " + name);
+
+            CLIHelper.cliAssert((!o.isFlag()) ||
+                    (o.nargs() == 0 && (o.type() == boolean.class || o.type() == Boolean.class)),
+                    "a boolean flag option was declared with other than 0 arguments or a type that is not boolean",
+                    "in option " + name);
+
+            CLIHelper.cliAssert((!o.showDefault()) ||
+                    (!o.defaultValue().equals("")),
+                    "showDefault is true but no defaultValue is specified",
+                    "for option " + name);
+
+            CLIHelper.cliAssert((o.defaultValue().equals("")) ||
+                    (o.nargs() == 1 && !o.isMap()),
+                    "a defaultValue was specified for an option with other than 1 argument or a map option",
+                    "in option " + name);
+
+            CLIHelper.cliAssert((TypeConverter.forType(o.type()) != null),
+                    "an option has a type that cannot be converted from text",
+                    "in option " + name + ", given type was " + o.type());
+        }
+
+        Set<String> argumentNames = new HashSet<>();
+        for (int i = 0; i < this.arguments.size(); i++) {
+            Argument a = this.arguments.get(i);
+
+            CLIHelper.cliAssert((argumentNames.add(a.name())),
+                    "an argument name was used more than once",
+                    "in argument " + a.name());
+
+            CLIHelper.cliAssert((!a.variadic()) ||
+                    (i == this.arguments.size() - 1 && !a.glob()),
+                    "a variadic argument is not the last argument or is also a glob argument",
+                    "in argument " + a.name());
+
+            CLIHelper.cliAssert((a.glob() && a.type() == Path.class) ||
+                    (!a.glob() && TypeConverter.forType(a.type()) != null),
+                    "an argument has a type that cannot be converted from text",
+                    "in argument " + a.name() + ", given type was " + a.type());
+        }
+
+        return new Schema(null, this.name, this.version, this.versionAbbreviation, this.options, this.arguments, this.commands, this.commandHelp);
+    }
+    // end: public Schema build
+
+
+    // ====================================================================================================
+    // Private helpers
+    private void checkNotBuilt() {
+        if (this.built) throw new IllegalStateException("the schema " + this.name + " was already built");
+    }
+
+    private BuiltOption currentOption() {
+        this.checkNotBuilt();
+        if (this.option == null) throw new IllegalStateException("option settings must follow option()");
+        return this.option;
+    }
+
+    private BuiltArgument currentArgument() {
+        this.checkNotBuilt();
+        if (this.argument == null) throw new IllegalStateException("argument settings must follow argument()");
+        return this.argument;
+    }
+    // end: Private helpers
+
+
+    // ----------------------------------------------------------------------------------------------------
+    // private static class BuiltOption
+    //
+    // An @Option defined by the builder instead of an annotation, so the rest of the library reads both the
+    // same way. The defaults are those of the annotation
+    //
+    private static class BuiltOption implements Option {
+
+        private final String name;
+        private char abbreviation = Character.MIN_VALUE;
+        private String help = "";
+        private int nargs = 1; // The annotation defaults to 0, but a built option is a flag only if flag() is called
+        private Class<?> type = String.class;
+        private boolean multiple;
+        private String defaultValue = "";
+        private boolean showDefault;
+        private boolean isFlag;
+        private boolean isMap;
+        private String[] keyPatterns = {};
+
+        private BuiltOption(String name) {
+            this.name = name;
+        }
+
+        @Override public String name() { return this.name; }
+        @Override public char abbreviation() { return this.abbreviation; }
+        @Override public String help() { return this.help; }
+        @Override public int nargs() { return this.nargs; }
+        @Override public Class<?> type() { return this.type; }
+        @Override public boolean multiple() { return this.multiple; }
+        @Override public String defaultValue() { return this.defaultValue; }
+        @SuppressWarnings("rawtypes") @Override public Class<? extends Supplier> defaultProvider() { return Supplier.class; }
+        @Override public String defaultFactory() { return ""; }
+        @Override public boolean showDefault() { return this.showDefault; }
+        @Override public boolean isFlag() { return this.isFlag; }
+        @Override public boolean isMap() { return this.isMap; }
+        @Override public String[] keyPatterns() { return this.keyPatterns.clone(); }
+        @Override public boolean doCount() { return false; }
+        @Override public int _countValue() { return 0; }
+        @Override public Class<? extends Annotation> annotationType() { return Option.class; }
+
+        @Override
+        public String toString() {
+            return "@Option(name=\"" + this.name + "\", nargs=" + this.nargs + ", type=" + this.type.getName() + ")";
+        }
+
+    }
+    // end: private static class BuiltOption
+
+
+    // ----------------------------------------------------------------------------------------------------
+    // private static class BuiltArgument
+    //
+    // An @Argument defined by the builder instead of an annotation
+    //
+    private static class BuiltArgument implements Argument {
+
+        private final String name;
+        private Class<?> type = String.class;
+        private boolean glob;
+        private boolean variadic;
+
+        private BuiltArgument(String name) {
+            this.name = name;
+        }
+
+        @Override public String name() { return this.name; }
+        @Override public Class<?> type() { return this.type; }
+        @Override public boolean glob() { return this.glob; }
+        @Override public boolean variadic() { return this.variadic; }
+        @Override public Class<? extends Annotation> annotationType() { return Argument.class; }
+
+        @Override
+        public String toString() {
+            return "@Argument(name=\"" + this.name + "\", type=" + this.type.getName() + ")";
+        }
+
+    }
+    // end: private static class BuiltArgument
+
+}
+// end: public class SchemaBuilder
@@ -0,0 +1,182 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// FanOut.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.pipeline;
+
+
+import javacli.Invocation;
+import javacli.annotations.ForEach;
+import javacli.helper.TaskExecutors;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class FanOut
+//
+// Runs one task for each item of an iterator, with at most "jobs" items in progress at once. The next
+// item is only taken from the iterator when one is done, so a lazily produced iterator (ex: the stream of
+// a glob argument) is read no faster than the items are processed. Results are passed to the output on
+// the calling thread, so the output does not need to be thread safe. Used by OptionParser.forEach with
+// the settings of a @ForEach argument, or directly
+//
+public class FanOut {
+
+    // ----------------------------------------------------------------------------------------------------
+    // public interface Task
+    //
+    // The code run for each item
+    //
+    public interface Task<T, R> {
+        R run(T item) throws Exception;
+    }
+    // end: public interface Task
+
+
+    private int jobs = Runtime.getRuntime().availableProcessors(); // Items in progress at once
+    private boolean ordered = true; // Whether results are output in item order
+    private boolean failFast = true; // Whether the first failure stops the run
+    private boolean virtualThreads = true; // Whether to use virtual threads if the JDK has them
+
+
+    // ----------------------------------------------------------------------------------------------------
+    // public FanOut
+    //
+    // Creates a fan out with one job per processor, ordered output, and fail fast errors
+    //
+    public FanOut() {
+    }
+    // end: public FanOut
+
+
+    // ----------------------------------------------------------------------------------------------------
+    // public FanOut
+    //
+    // Arguments--
+    //
+    // settings:    the @ForEach annotation to take the settings from
+    //
+    public FanOut(ForEach settings) {
+        if (settings.jobs() > 0) this.jobs = settings.jobs();
+        this.ordered = settings.ordered();
+        this.failFast = settings.failFast();
+        this.virtualThreads = settings.virtualThreads();
+    }
+    // end: public FanOut
+
+
+    // ====================================================================================================
+    // SET methods
+    public FanOut setJobs(int jobs) {
+        if (jobs < 1) throw new IllegalArgumentException("jobs must be at least 1, got " + jobs);
+        this.jobs = jobs;
+        return this;
+    }
+
+    public FanOut setOrdered(boolean ordered) {
+        this.ordered = ordered;
+        return this;
+    }
+
+    public FanOut setFailFast(boolean failFast) {
+        this.failFast = failFast;
+        return this;
+    }
+
+    public FanOut setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+        return this;
+    }
+    // end: SET methods
+
+
+    // ====================================================================================================
+    // GET methods
+    public int getJobs() {
+        return jobs;
+    }
+    // end: GET methods
+
+
+    // ====================================================================================================
+    // public <T, R> void run
+    //
+    // Runs the task for every item, and waits until they are all done
+    //
+    // Arguments--
+    //
+    // items:   the items to process, read as items finish
+    //
+    // task:    the code to run for each item
+    //
+    // output:  called with the result of each item that succeeds
+    //
+    // Returns--
+    //
+    // None
+    //
+    public <T, R> void run(Iterator<? extends T> items, Task<? super T, ? extends R> task, Consumer<? super R> output) throws Exception {
+        ExecutorService executor = TaskExecutors.newExecutor("javacli-fan-out", this.jobs, this.virtualThreads);
+        CompletionService<R> completions = new ExecutorCompletionService<>(executor);
+        ArrayDeque<Future<R>> inProgress = new ArrayDeque<>(); // In item order, only used for ordered output
+        Map<Future<R>, T> itemsOf = new HashMap<>(); // Item of each future in progress, to name it in an error
+        List<Exception> failures = new ArrayList<>();
+
+        try {
+            while (items.hasNext() && (failures.isEmpty() || !this.failFast)) {
+                // Wait for a free job before taking the next item
+                if (itemsOf.size() == this.jobs) this.finishOne(completions, inProgress, itemsOf, output, failures);
+
+                T item = items.next();
+                Callable<R> call = Invocation.wrap(() -> task.run(item)); // Items print to the streams of the run that started them
+                Future<R> future = (this.ordered) ? executor.submit(call) : completions.submit(call); // Ordered results are not taken from the completion queue
+                itemsOf.put(future, item);
+                if (this.ordered) inProgress.addLast(future);
+            }
+
+            while (!itemsOf.isEmpty() && (failures.isEmpty() || !this.failFast))
+                this.finishOne(completions, inProgress, itemsOf, output, failures);
+        } finally {
+            executor.shutdownNow(); // Interrupts the items still in progress after a fail fast error
+        }
+
+        if (failures.isEmpty()) return;
+        if (this.failFast) throw failures.get(0);
+
+        Exception failure = new Exception(failures.size() + " items failed");
+        for (Exception itemFailure : failures) failure.addSuppressed(itemFailure);
+        throw failure;
+    }
+    // end: public <T, R> void run
+
+
+    // ====================================================================================================
+    // private <T, R> void finishOne
+    //
+    // Waits for an item to finish, the oldest one for ordered output or any one otherwise, and outputs its
+    // result or records its failure
+    //
+    private <T, R> void finishOne(CompletionService<R> completions, ArrayDeque<Future<R>> inProgress, Map<Future<R>, T> itemsOf,
+                                  Consumer<? super R> output, List<Exception> failures) throws InterruptedException {
+        Future<R> future = (this.ordered) ? inProgress.removeFirst() : completions.take();
+        T item = itemsOf.remove(future);
+
+        try {
+            output.accept(future.get());
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (this.failFast && cause instanceof Exception) failures.add((Exception) cause);
+            else failures.add(new Exception("item " + item + " failed: " + cause, cause));
+        }
+    }
+    // end: private <T, R> void finishOne
+
+}
+// end: public class FanOut
@@ -0,0 +1,182 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// Pipe.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.pipeline;
+
+
+import java.util.concurrent.ArrayBlockingQueue;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class Pipe
+//
+// Bounded in-memory queue of records between two pipeline stages. put() blocks while the pipe is full,
+// so a fast stage cannot run ahead of a slow one, and take() returns null once the writing stage has
+// closed the pipe and every record has been taken. When the reading stage returns without reading
+// everything (ex: a head-like stage), put() throws BrokenPipeException, as a write to a closed shell pipe
+// raises SIGPIPE, so the writing stage stops instead of waiting for ever
+//
+public class Pipe<T> {
+
+    // ----------------------------------------------------------------------------------------------------
+    // public static class BrokenPipeException
+    //
+    // Thrown by put() once the reading stage has stopped reading. The pipeline ends the writing stage
+    // quietly when a stage lets it through, as a shell does for SIGPIPE
+    //
+    public static class BrokenPipeException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        public BrokenPipeException() {
+            super("the reading stage of the pipe stopped reading", null, false, false); // No stack trace, it only unwinds the stage
+        }
+
+    }
+    // end: public static class BrokenPipeException
+
+
+    private static final Object END = new Object(); // Put in the queue by close()
+
+    private final ArrayBlockingQueue<Object> queue; // Records in the pipe, null for a pipe that discards its records
+    private boolean ended; // Whether take() has seen the end, only used by the reading stage
+    private volatile boolean broken; // Whether the reading stage has stopped reading, see closeReading()
+
+
+    // ----------------------------------------------------------------------------------------------------
+    // public Pipe
+    //
+    // Arguments--
+    //
+    // capacity:    the most records the pipe holds before put() blocks
+    //
+    public Pipe(int capacity) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+    // end: public Pipe
+
+
+    private Pipe(boolean ended) {
+        this.queue = null;
+        this.ended = ended;
+    }
+
+
+    // ====================================================================================================
+    // public static <T> Pipe<T> empty
+    //
+    // Creates a pipe that is already closed, used as the input of the first stage
+    //
+    public static <T> Pipe<T> empty() {
+        return new Pipe<>(true);
+    }
+    // end: public static <T> Pipe<T> empty
+
+
+    // ====================================================================================================
+    // public static <T> Pipe<T> discarding
+    //
+    // Creates a pipe that drops every record, used as the output of the last stage
+    //
+    public static <T> Pipe<T> discarding() {
+        return new Pipe<>(false);
+    }
+    // end: public static <T> Pipe<T> discarding
+
+
+    // ====================================================================================================
+    // public void put
+    //
+    // Adds a record, waiting while the pipe is full. Throws BrokenPipeException if the reading stage has
+    // stopped reading
+    //
+    // Arguments--
+    //
+    // record:  the record to add, not null
+    //
+    // Returns--
+    //
+    // None
+    //
+    public void put(T record) throws InterruptedException {
+        if (record == null) throw new NullPointerException("records in a pipe cannot be null");
+        if (this.broken) throw new BrokenPipeException();
+        if (this.queue != null) this.queue.put(record);
+    }
+    // end: public void put
+
+
+    // ====================================================================================================
+    // public T take
+    //
+    // Removes the next record, waiting while the pipe is empty
+    //
+    // Arguments--
+    //
+    // None
+    //
+    // Returns--
+    //
+    // The record, or null if the pipe is closed and empty
+    //
+    @SuppressWarnings("unchecked")
+    public T take() throws InterruptedException {
+        if (this.ended || this.queue == null) return null;
+
+        Object record = this.queue.take();
+        if (record == END) {
+            this.ended = true;
+            return null;
+        }
+        return (T) record;
+    }
+    // end: public T take
+
+
+    // ====================================================================================================
+    // public void close
+    //
+    // Marks the end of the records. Called by the pipeline when the writing stage returns
+    //
+    // Arguments--
+    //
+    // None
+    //
+    // Returns--
+    //
+    // None
+    //
+    public void close() throws InterruptedException {
+        if (this.queue != null && !this.broken) this.queue.put(END);
+    }
+    // end: public void close
+
+
+    // ====================================================================================================
+    // public void closeReading
+    //
+    // Marks that nothing more will be read, so later records are refused by put(). Called by the pipeline
+    // when the reading stage returns. The records left in the pipe are dropped, which also frees a writer
+    // that is waiting in put() or close()
+    //
+    // Arguments--
+    //
+    // None
+    //
+    // Returns--
+    //
+    // None
+    //
+    public void closeReading() {
+        this.broken = true;
+        if (this.queue != null) this.queue.clear();
+    }
+    // end: public void closeReading
+
+}
+// end: public class Pipe
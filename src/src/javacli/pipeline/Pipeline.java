@@ -0,0 +1,163 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// Pipeline.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.pipeline;
+
+
+import javacli.Invocation;
+import javacli.OptionParser;
+import javacli.helper.CLIHelper;
+import javacli.helper.ParsedData;
+
+import java.util.*;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class Pipeline
+//
+// Runs several commands from one argv as a pipeline, ex: tool extract a.bin + transform --fast + load db.
+// Each segment between delimiters is parsed with the OptionParser's sub command dispatch, then every
+// stage runs on its own thread, connected to the next stage by a bounded Pipe. All segments are parsed
+// before any stage starts. A stage that returns early stops the stages before it, like a shell pipeline.
+// If a stage fails, the other stages are interrupted and run() throws the failure
+//
+public class Pipeline {
+
+    // ----------------------------------------------------------------------------------------------------
+    // public interface Stage
+    //
+    // The code of one command in a pipeline
+    //
+    public interface Stage {
+        // Reads records from input until take() returns null, and writes records to output. The output pipe is
+        // closed by the pipeline when the stage returns. A stage may return before reading all of its input, in
+        // which case output.put() of the stage before it throws Pipe.BrokenPipeException, which ends that stage
+        // without a failure. The first stage's input is empty, and the last stage's output discards its records
+        void run(ParsedData args, Pipe<Object> input, Pipe<Object> output) throws Exception;
+    }
+    // end: public interface Stage
+
+
+    public static final String DEFAULT_DELIMITER = "+"; // Argument that separates the commands of a pipeline
+    public static final int DEFAULT_CAPACITY = 1024; // Records each pipe holds before the writing stage waits
+
+    private final OptionParser parser; // Parser with every command that can be a stage
+    private final HashMap<Class<?>, Stage> stages = new HashMap<>(); // Code of each command by definition class
+    private String delimiter = DEFAULT_DELIMITER;
+    private int capacity = DEFAULT_CAPACITY;
+
+
+    // ----------------------------------------------------------------------------------------------------
+    // public Pipeline
+    //
+    // Arguments--
+    //
+    // parser:  the parser created with the definition classes of every command that can be a stage
+    //
+    public Pipeline(OptionParser parser) {
+        this.parser = parser;
+    }
+    // end: public Pipeline
+
+
+    // ====================================================================================================
+    // SET methods
+    public Pipeline stage(Class<?> commandClass, Stage stage) {
+        this.stages.put(commandClass, stage);
+        return this;
+    }
+
+    public Pipeline setDelimiter(String delimiter) {
+        this.delimiter = delimiter;
+        return this;
+    }
+
+    public Pipeline setCapacity(int capacity) {
+        this.capacity = capacity;
+        return this;
+    }
+    // end: SET methods
+
+
+    // ====================================================================================================
+    // public void run
+    //
+    // Parses every command of the pipeline and runs the stages until they have all returned
+    //
+    // Arguments--
+    //
+    // args:    the command line arguments, with the commands separated by the delimiter
+    //
+    // Returns--
+    //
+    // None
+    //
+    public void run(String[] args) throws Exception {
+        // Parse every segment first, so a mistake in the last command is reported before anything runs
+        List<ParsedData> parsedStages = new ArrayList<>();
+        List<Stage> stageCode = new ArrayList<>();
+        int segmentStart = 0;
+        for (int i = 0; i <= args.length; i++) {
+            if (i < args.length && !args[i].equals(this.delimiter)) continue;
+
+            ParsedData parsedData = this.parser.parseLazily(Arrays.copyOfRange(args, segmentStart, i));
+            Stage stage = this.stages.get(parsedData.getCommandClass());
+            CLIHelper.cliAssert((stage != null),
+                    "a command cannot be used in a pipeline",
+                    "no stage is registered for " + parsedData.getCommandClass().getSimpleName());
+
+            parsedStages.add(parsedData);
+            stageCode.add(stage);
+            segmentStart = i + 1;
+        }
+
+        // Connect each stage to the next with a bounded pipe
+        int stageCount = parsedStages.size();
+        List<Pipe<Object>> pipes = new ArrayList<>();
+        pipes.add(Pipe.empty());
+        for (int i = 1; i < stageCount; i++) pipes.add(new Pipe<>(this.capacity));
+        pipes.add(Pipe.discarding());
+
+        Thread[] threads = new Thread[stageCount];
+        List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+        for (int i = 0; i < stageCount; i++) {
+            ParsedData parsedData = parsedStages.get(i);
+            Stage stage = stageCode.get(i);
+            Pipe<Object> input = pipes.get(i);
+            Pipe<Object> output = pipes.get(i + 1);
+
+            threads[i] = new Thread(Invocation.wrap(() -> {
+                try {
+                    try { stage.run(parsedData, input, output); }
+                    catch (Pipe.BrokenPipeException e) { } // The next stage stopped reading, so this one ends quietly
+                    finally { input.closeReading(); } // A stage that returns early stops the stage before it too
+                    output.close();
+                } catch (Throwable t) {
+                    // Stop the other stages, which may be waiting on a pipe that will never be read or written again
+                    boolean first = failures.isEmpty();
+                    failures.add(t);
+                    if (first) for (Thread other : threads) if (other != Thread.currentThread()) other.interrupt();
+                }
+            }), "javacli-pipeline-" + i + "-" + parsedData.getCommandClass().getSimpleName());
+        }
+
+        for (Thread thread : threads) thread.start();
+        for (Thread thread : threads) thread.join();
+
+        if (!failures.isEmpty()) {
+            // The first failure is the cause, the others are usually interruptions it caused
+            Throwable cause = failures.get(0);
+            Exception failure = (cause instanceof Exception) ? (Exception) cause : new Exception("a pipeline stage failed", cause);
+            for (Throwable other : failures.subList(1, failures.size())) failure.addSuppressed(other);
+            throw failure;
+        }
+    }
+    // end: public void run
+
+}
+// end: public class Pipeline
@@ -0,0 +1,31 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// module-info.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// module javacli
+//
+// Java-CLI only requires java.base, so applications can jlink a minimal runtime image. The management
+// modules are only used by the --stats report, which is not available without them. The Vector API is only
+// used to scan long value lists when the application adds it (--add-modules jdk.incubator.vector).
+// Option definition classes in a named module must be opened to javacli, ex: "opens com.example.app to javacli;"
+//
+module javacli {
+
+    requires static java.management;
+    requires static jdk.management;
+    requires static jdk.incubator.vector;
+
+    exports javacli;
+    exports javacli.annotations;
+    exports javacli.helper;
+    exports javacli.io;
+    exports javacli.parser;
+    exports javacli.pipeline;
+
+}
+// end: module javacli
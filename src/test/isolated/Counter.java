@@ -0,0 +1,57 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// Counter.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package isolated;
+
+
+import javacli.Invocation;
+import javacli.OptionParser;
+import javacli.annotations.Option;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class Counter
+//
+// A command for the tests of CommandRunner (see javacli.CommandRunnerTest). It counts its runs in a
+// static field, so isolated runs can be told apart from shared ones. It is outside the javacli package
+// because an isolated run loads the javacli classes from the parent class loader
+//
+public class Counter {
+
+    @Option(name = "name", abbreviation = 'n', nargs = 1)
+    public static String name;
+
+    @Option(name = "exit", nargs = 1, type = Integer.class)
+    public static Integer exit;
+
+    @Option(name = "fail", isFlag = true, type = boolean.class)
+    public static boolean fail;
+
+    @Option(name = "echo", isFlag = true, type = boolean.class)
+    public static boolean echo;
+
+    private static int runs;
+
+
+    public static void main(String[] args) throws Exception {
+        new OptionParser(Counter.class).parse(args);
+        runs++;
+
+        Thread.sleep(20); // Lets concurrent runs overlap
+        if (fail) throw new IllegalStateException("failed on purpose");
+        if (echo) Invocation.out().println(new BufferedReader(new InputStreamReader(Invocation.in())).readLine());
+        Invocation.out().println("run " + runs + " " + name);
+        Invocation.err().println("done " + name);
+        if (exit != null) Invocation.exit(exit);
+    }
+
+}
+// end: public class Counter
@@ -0,0 +1,167 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// CommandRunnerTest.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli;
+
+
+import isolated.Counter;
+import javacli.pipeline.FanOut;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static javacli.TestRunner.check;
+import static javacli.TestRunner.checkEquals;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class CommandRunnerTest
+//
+// Tests of CommandRunner, with the isolated.Counter command
+//
+public class CommandRunnerTest {
+
+    // Runs a command and returns its exit code followed by its standard output and error
+    private static String[] run(CommandRunner runner, String stdin, String... argv) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        int status = runner.run(argv, new ByteArrayInputStream(stdin.getBytes(StandardCharsets.UTF_8)),
+                new PrintStream(out, true, StandardCharsets.UTF_8), new PrintStream(err, true, StandardCharsets.UTF_8));
+        return new String[] {Integer.toString(status), out.toString(StandardCharsets.UTF_8), err.toString(StandardCharsets.UTF_8)};
+    }
+
+
+    public static void testStreams() throws Exception {
+        String[] result = run(new CommandRunner(Counter.class).setIsolated(true), "typed\n", "--name", "a", "--echo");
+        checkEquals("0", result[0]);
+        checkEquals("typed\nrun 1 a\n", result[1]);
+        checkEquals("done a\n", result[2]);
+    }
+
+
+    public static void testExitCodes() throws Exception {
+        CommandRunner runner = new CommandRunner(Counter.class).setIsolated(true);
+
+        checkEquals("3", run(runner, "", "--exit", "3")[0]);
+
+        String[] mistake = run(runner, "", "--nope");
+        checkEquals("2", mistake[0]);
+        check(mistake[1].contains("a specified option does not exist"), "a mistake in the arguments is printed");
+
+        String[] help = run(runner, "", "--help");
+        checkEquals("0", help[0]);
+        check(help[1].contains("usage: Counter"), "help is printed to the standard output of the run");
+
+        String[] failure = run(runner, "", "--fail");
+        checkEquals("1", failure[0]);
+        check(failure[2].contains("failed on purpose"), "an uncaught exception is printed to the standard error of the run");
+    }
+
+
+    public static void testSharedRunsShareStaticFields() throws Exception {
+        CommandRunner runner = new CommandRunner(Counter.class);
+        int first = Integer.parseInt(run(runner, "", "-n", "a")[1].split(" ")[1]);
+        int second = Integer.parseInt(run(runner, "", "-n", "a")[1].split(" ")[1]);
+        checkEquals(first + 1, second);
+    }
+
+
+    public static void testIsolatedRunsHaveTheirOwnStaticFields() throws Exception {
+        CommandRunner runner = new CommandRunner(Counter.class).setIsolated(true);
+        for (int i = 0; i < 3; i++) checkEquals("run 1 a\n", run(runner, "", "-n", "a")[1]);
+    }
+
+
+    public static void testConcurrentIsolatedRuns() throws Exception {
+        CommandRunner runner = new CommandRunner(Counter.class).setIsolated(true);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String[]>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                String name = "run" + i;
+                results.add(executor.submit(() -> run(runner, "", "--name", name)));
+            }
+
+            for (int i = 0; i < 8; i++) {
+                String[] result = results.get(i).get();
+                checkEquals("0", result[0]);
+                checkEquals("run 1 run" + i + "\n", result[1]); // Each run sees only its own fields and output
+                checkEquals("done run" + i + "\n", result[2]);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+
+    public static void testSharedRunsOfDifferentRunnersTakeTurns() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String[]>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                String name = "shared" + i;
+                results.add(executor.submit(() -> run(new CommandRunner(Counter.class), "", "--name", name)));
+            }
+
+            Set<String> runNumbers = new HashSet<>();
+            for (int i = 0; i < 8; i++) {
+                String[] result = results.get(i).get();
+                checkEquals("0", result[0]);
+                check(result[1].endsWith(" shared" + i + "\n"), "a run sees the fields it parsed, got " + result[1]);
+                runNumbers.add(result[1].split(" ")[1]);
+            }
+            checkEquals(8, runNumbers.size()); // No two runs counted at the same time
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+
+    public static void testPoolThreadsDoNotKeepTheRun() throws Exception {
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            // The pool's only thread is created during the run
+            CommandRunner runner = new CommandRunner(args -> checkEquals(false, pool.submit(Invocation::isInProcess).get()));
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            checkEquals(0, runner.run(new String[0], InputStream.nullInputStream(), new PrintStream(out), System.err));
+            checkEquals(false, pool.submit(Invocation::isInProcess).get());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+
+    public static void testLibraryThreadsUseTheRun() throws Exception {
+        CommandRunner runner = new CommandRunner(args -> new FanOut().setJobs(1).run(List.of(1, 2, 3).iterator(), item -> {
+            Invocation.out().println("item " + item);
+            if (item == 3) Invocation.exit(4);
+            return item;
+        }, result -> {}));
+        String[] result = run(runner, "");
+        checkEquals("4", result[0]);
+        check(result[1].contains("item 1\n") && result[1].contains("item 2\n") && result[1].contains("item 3\n"),
+                "items print to the streams of the run, got " + result[1]);
+    }
+
+
+    public static void testOnlyMainClassRunnersCanBeIsolated() {
+        try {
+            new CommandRunner(args -> {}).setIsolated(true);
+            check(false, "a runner of a Command cannot be isolated");
+        } catch (IllegalStateException e) {
+            check(e.getMessage().contains("main class"), "the error explains why");
+        }
+    }
+
+}
+// end: public class CommandRunnerTest
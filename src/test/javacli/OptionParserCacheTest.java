@@ -0,0 +1,218 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// OptionParserCacheTest.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli;
+
+
+import javacli.annotations.Argument;
+import javacli.annotations.Option;
+import javacli.annotations.PathCheck;
+import javacli.helper.ByteSize;
+import javacli.helper.NumberParser;
+import javacli.helper.OptionMap;
+import javacli.helper.ParseCache;
+import javacli.helper.TypeConverter;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static javacli.TestRunner.check;
+import static javacli.TestRunner.checkEquals;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class OptionParserCacheTest
+//
+// Tests of OptionParser.enableCache. The second of two identical runs is a cache hit
+//
+public class OptionParserCacheTest {
+
+    public static class Cached {
+        @Option(name = "input", nargs = 1, type = Path.class)
+        @PathCheck(mustExist = true)
+        public static Path input;
+
+        @Option(name = "level", nargs = 1, type = int.class, defaultValue = "3")
+        public static int level;
+
+        @Option(name = "tag", nargs = 1, multiple = true)
+        public static List<String> tag;
+
+        @Argument(name = "name")
+        public static String name;
+    }
+
+    public static class Sub {
+        @Option(name = "depth", nargs = 1, type = int.class)
+        public static int depth;
+
+        @Argument(name = "target", type = Path.class)
+        public static Path target;
+    }
+
+
+    public static class Typed {
+        @Option(name = "timeout", nargs = 1, type = Duration.class, defaultValue = "5s")
+        public static Duration timeout;
+
+        @Option(name = "verbose", abbreviation = 'v', isFlag = true, type = boolean.class, multiple = true, doCount = true)
+        public static boolean verbose;
+    }
+
+
+    private static Path cacheFile() throws Exception {
+        Path cacheFile = Files.createTempFile("javacli", ".cache");
+        cacheFile.toFile().deleteOnExit();
+        return cacheFile;
+    }
+
+    private static boolean isCached(Path cacheFile, List<Class<?>> definitionClasses, String... argv) {
+        ParseCache cache = new ParseCache(cacheFile);
+        return cache.lookup(cache.key(definitionClasses, Arrays.asList(argv))) != null;
+    }
+
+
+    public static void testPathValuesAreCached() throws Exception {
+        Path cacheFile = cacheFile();
+        Path input = Files.createTempFile("javacli", ".txt");
+        input.toFile().deleteOnExit();
+        String[] argv = {"--input", input.toString(), "--tag", "a", "--tag", "b", "x"};
+
+        for (int run = 0; run < 2; run++) {
+            Cached.input = null;
+            Cached.tag = null;
+            Cached.name = null;
+            OptionParser parser = new OptionParser(Cached.class);
+            parser.enableCache(cacheFile);
+            checkEquals(0, TestRunner.run(parser::parse, argv).status);
+
+            check(isCached(cacheFile, List.of(Cached.class), argv), "the result of run " + run + " is cached");
+            checkEquals(input, Cached.input);
+            checkEquals(3, Cached.level);
+            checkEquals(List.of("a", "b"), Cached.tag);
+            checkEquals("x", Cached.name);
+        }
+    }
+
+
+    public static void testHitChecksPathsAgain() throws Exception {
+        Path cacheFile = cacheFile();
+        Path input = Files.createTempFile("javacli", ".txt");
+        String[] argv = {"--input", input.toString(), "x"};
+
+        OptionParser first = new OptionParser(Cached.class);
+        first.enableCache(cacheFile);
+        checkEquals(0, TestRunner.run(first::parse, argv).status);
+        check(isCached(cacheFile, List.of(Cached.class), argv), "the first run is cached");
+
+        Files.delete(input);
+        Cached.input = null;
+        OptionParser second = new OptionParser(Cached.class);
+        second.enableCache(cacheFile);
+        TestRunner.Result result = TestRunner.run(second::parse, argv);
+        checkEquals(2, result.status);
+        check(!result.out.isEmpty(), "the help message is printed");
+        checkEquals(null, Cached.input);
+    }
+
+
+    public static void testHitSelectsTheSameSubCommand() throws Exception {
+        Path cacheFile = cacheFile();
+        List<Class<?>> classes = List.of(Cached.class, Sub.class);
+        String[] argv = {"--level", "7", "Sub", "--depth", "2", "out.txt"};
+
+        for (int run = 0; run < 2; run++) {
+            Cached.level = 0;
+            Sub.depth = 0;
+            Sub.target = null;
+            OptionParser parser = new OptionParser(new ArrayList<>(classes));
+            parser.enableCache(cacheFile);
+            checkEquals(0, TestRunner.run(parser::parse, argv).status);
+
+            check(isCached(cacheFile, classes, argv), "the result of run " + run + " is cached");
+            checkEquals(7, Cached.level); // Options of the parent command are bound to its fields
+            checkEquals(2, Sub.depth);
+            checkEquals(Path.of("out.txt"), Sub.target);
+        }
+    }
+
+
+    public static void testHitDoesNotConvert() throws Exception {
+        Path cacheFile = cacheFile();
+        AtomicInteger conversions = new AtomicInteger();
+        TypeConverter.register(Duration.class, text -> {
+            conversions.incrementAndGet();
+            return NumberParser.parseDuration(text, 0, text.length());
+        });
+
+        try {
+            for (int run = 0; run < 3; run++) {
+                Typed.timeout = null;
+                OptionParser parser = new OptionParser(Typed.class);
+                parser.enableCache(cacheFile);
+                checkEquals(0, TestRunner.run(argv -> {
+                    parser.parse(argv);
+                    checkEquals(3, parser.getCount("verbose")); // Counted from the cached command line
+                }, "--timeout", "90s", "-vvv").status);
+
+                checkEquals(Duration.ofSeconds(90), Typed.timeout);
+                checkEquals(true, Typed.verbose);
+            }
+            checkEquals(1, conversions.get()); // Only the first run, a miss, converted the value
+        } finally {
+            TypeConverter.register(Duration.class, text -> NumberParser.parseDuration(text, 0, text.length()));
+        }
+    }
+
+
+    @SuppressWarnings("unchecked")
+    public static void testValuesAreStoredOrRebound() throws Exception {
+        ParseCache.Entry entry = new ParseCache.Entry();
+        OptionMap<Object> map = new OptionMap<>();
+        map.put("a", 1);
+        List<Object> values = Arrays.asList(7, "x", 2.5, 'c', (byte) 1, (short) 2, 3L, 4f, true, null,
+                Duration.ofMillis(1500), new ByteSize(65536), Path.of("a/b"), Thread.State.NEW, map,
+                Arrays.asList(1, 2), Collections.unmodifiableList(new ArrayList<>(List.of("p", "q"))));
+        for (Object value : values) entry.addField(0, "f", value);
+        entry.addField(0, "stream", System.in); // An open stream cannot be cached
+        entry.addField(0, "supplier", ParseCache.Entry.REBIND);
+
+        ParseCache.Entry decoded = ParseCache.Entry.decode(entry.encode(), OptionParserCacheTest.class.getClassLoader());
+        checkEquals(values.size() + 2, decoded.getFieldCount());
+        for (int i = 0; i < values.size(); i++) checkEquals(values.get(i), decoded.getFieldValue(i));
+        checkEquals(ParseCache.Entry.REBIND, decoded.getFieldValue(values.size()));
+        checkEquals(ParseCache.Entry.REBIND, decoded.getFieldValue(values.size() + 1));
+
+        // Lists are decoded to the same kind of list that was bound
+        ((List<Object>) decoded.getFieldValue(values.size() - 2)).set(0, 5); // A converted list is fixed-size but can be set
+        boolean readOnly = false;
+        try { ((List<Object>) decoded.getFieldValue(values.size() - 1)).set(0, "z"); }
+        catch (UnsupportedOperationException e) { readOnly = true; }
+        check(readOnly, "a read-only list is decoded read-only");
+    }
+
+
+    public static void testDamagedEntryIsAMiss() throws Exception {
+        checkEquals(null, ParseCache.Entry.decode(new byte[] {0, 0, 0, 1}, null));
+
+        ParseCache.Entry entry = new ParseCache.Entry();
+        entry.addCommand(1);
+        entry.addOption(1, "depth", List.of("2"));
+        entry.setArguments(List.of("out.txt"));
+        ParseCache.Entry decoded = ParseCache.Entry.decode(entry.encode(), null);
+        checkEquals(List.of(1), decoded.getCommands());
+        checkEquals("depth", decoded.getOptionName(0));
+        checkEquals(List.of("2"), decoded.getOptionValues(0));
+        checkEquals(List.of("out.txt"), decoded.getArguments());
+    }
+
+}
+// end: public class OptionParserCacheTest
@@ -0,0 +1,106 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// OptionParserDefaultTest.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli;
+
+
+import javacli.annotations.Option;
+import javacli.helper.LazyValue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static javacli.TestRunner.check;
+import static javacli.TestRunner.checkEquals;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class OptionParserDefaultTest
+//
+// Tests of defaultProvider and defaultFactory
+//
+public class OptionParserDefaultTest {
+
+    public static final AtomicInteger computed = new AtomicInteger(); // Number of times a default was computed
+
+    public static class Cores implements Supplier<Integer> {
+        @Override
+        public Integer get() {
+            computed.incrementAndGet();
+            return Integer.getInteger("javacli.test.cores", 4);
+        }
+    }
+
+    public static class Defaults {
+        @Option(name = "cores", nargs = 1, type = int.class, defaultProvider = Cores.class)
+        public static int cores;
+
+        @Option(name = "lazy-cores", nargs = 1, type = Integer.class, defaultProvider = Cores.class)
+        public static Supplier<Integer> lazy_cores;
+
+        @Option(name = "name", nargs = 1, defaultFactory = "defaultName")
+        public static String name;
+
+        public static String defaultName() {
+            return "n" + computed.incrementAndGet();
+        }
+    }
+
+
+    public static void testOnlySupplierVariablesAreLazy() {
+        computed.set(0);
+        checkEquals(0, TestRunner.run(new OptionParser(Defaults.class)::parse).status);
+        checkEquals(2, computed.get()); // cores and name, but not lazy-cores
+        checkEquals(4, Defaults.cores);
+
+        checkEquals(4, Defaults.lazy_cores.get());
+        checkEquals(3, computed.get());
+        Defaults.lazy_cores.get();
+        checkEquals(3, computed.get());
+    }
+
+
+    public static void testFactoryWithoutDefinitionClass() throws Exception {
+        Option name = Defaults.class.getField("name").getAnnotation(Option.class);
+        TestRunner.Result result = TestRunner.run(args -> LazyValue.forDefault(name, null));
+        checkEquals(1, result.status);
+        check(result.out.contains("without a definition class"), "the error explains why, got " + result.out);
+
+        // A provider does not need the definition class
+        Option cores = Defaults.class.getField("cores").getAnnotation(Option.class);
+        checkEquals(4, LazyValue.forDefault(cores, null).get());
+    }
+
+
+    public static void testProvidersRunOnCacheHits() throws Exception {
+        Path cacheFile = Files.createTempFile("javacli", ".cache");
+        cacheFile.toFile().deleteOnExit();
+
+        try {
+            for (String cores : new String[] {"4", "99"}) {
+                System.setProperty("javacli.test.cores", cores);
+                OptionParser parser = new OptionParser(Defaults.class);
+                parser.enableCache(cacheFile);
+                checkEquals(0, TestRunner.run(parser::parse).status);
+                checkEquals(Integer.parseInt(cores), Defaults.cores);
+            }
+
+            String firstName = Defaults.name;
+            OptionParser parser = new OptionParser(Defaults.class);
+            parser.enableCache(cacheFile);
+            checkEquals(0, TestRunner.run(parser::parse).status);
+            checkEquals(false, firstName.equals(Defaults.name)); // The factory ran again
+        } finally {
+            System.clearProperty("javacli.test.cores");
+        }
+    }
+
+}
+// end: public class OptionParserDefaultTest
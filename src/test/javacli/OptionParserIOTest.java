@@ -0,0 +1,141 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// OptionParserIOTest.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli;
+
+
+import javacli.annotations.Argument;
+import javacli.annotations.Option;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static javacli.TestRunner.check;
+import static javacli.TestRunner.checkEquals;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class OptionParserIOTest
+//
+// Tests of options and arguments of I/O types
+//
+public class OptionParserIOTest {
+
+    public static class Copy {
+        @Option(name = "output", abbreviation = 'o', nargs = 1, type = OutputStream.class, defaultValue = "-")
+        public static OutputStream output;
+
+        @Argument(name = "input", type = InputStream.class)
+        public static InputStream input;
+    }
+
+    public static class Mapped {
+        @Option(name = "channel", nargs = 1, type = FileChannel.class)
+        public static FileChannel channel;
+
+        @Argument(name = "buffer", type = MappedByteBuffer.class)
+        public static MappedByteBuffer buffer;
+    }
+
+
+    private static Path tempFile(String text) throws Exception {
+        Path file = Files.createTempFile("javacli", ".txt");
+        file.toFile().deleteOnExit();
+        Files.writeString(file, text);
+        return file;
+    }
+
+
+    public static void testStandardStreams() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int status = new CommandRunner(args -> {
+            try (OptionParser parser = new OptionParser(Copy.class)) {
+                parser.parse(args);
+                Copy.input.transferTo(Copy.output);
+            }
+        }).run(new String[] {"-"}, new ByteArrayInputStream("from stdin".getBytes(StandardCharsets.UTF_8)),
+                new PrintStream(out, true, StandardCharsets.UTF_8), new PrintStream(new ByteArrayOutputStream()));
+
+        checkEquals(0, status);
+        checkEquals("from stdin", out.toString(StandardCharsets.UTF_8)); // Standard output is flushed when the parser is closed
+    }
+
+
+    public static void testFilesOpenOnFirstUse() throws Exception {
+        Path input = tempFile("from a file");
+        Path output = input.resolveSibling(input.getFileName() + ".out");
+        output.toFile().deleteOnExit();
+
+        TestRunner.Result result = TestRunner.run(args -> {
+            try (OptionParser parser = new OptionParser(Copy.class)) {
+                parser.parse(args);
+                check(!Files.exists(output), "the output is not created before it is written");
+                Copy.input.transferTo(Copy.output);
+            }
+        }, "-o", output.toString(), input.toString());
+
+        checkEquals(0, result.status);
+        checkEquals("from a file", Files.readString(output));
+    }
+
+
+    public static void testMissingInputFailsOnRead() throws Exception {
+        Path missing = tempFile("");
+        Files.delete(missing);
+
+        TestRunner.Result result = TestRunner.run(args -> {
+            try (OptionParser parser = new OptionParser(Copy.class)) {
+                parser.parse(args);
+                Copy.input.read();
+            }
+        }, missing.toString());
+        checkEquals(1, result.status); // The parse succeeds, and reading throws
+        check(result.err.contains("NoSuchFileException"), "got " + result.err);
+    }
+
+
+    public static void testChannelAndMappedBuffer() throws Exception {
+        Path file = tempFile("mapped");
+
+        TestRunner.Result result = TestRunner.run(args -> {
+            try (OptionParser parser = new OptionParser(Mapped.class)) {
+                parser.parse(args);
+                checkEquals(6L, Mapped.channel.size());
+
+                ByteBuffer read = ByteBuffer.allocate(6);
+                Mapped.channel.read(read);
+                checkEquals("mapped", new String(read.array(), StandardCharsets.UTF_8));
+
+                byte[] mapped = new byte[Mapped.buffer.remaining()];
+                Mapped.buffer.get(mapped);
+                checkEquals("mapped", new String(mapped, StandardCharsets.UTF_8));
+            }
+            check(!Mapped.channel.isOpen(), "the channel is closed with the parser");
+        }, "--channel", file.toString(), file.toString());
+
+        checkEquals(0, result.status);
+    }
+
+
+    public static void testStandardInputIsNotAFile() {
+        TestRunner.Result result = TestRunner.run(new OptionParser(Mapped.class)::parse, "-");
+        check(result.status != 0, "a mapped buffer of standard input is rejected");
+    }
+
+}
+// end: public class OptionParserIOTest
@@ -0,0 +1,138 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// OptionParserListenerTest.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli;
+
+
+import javacli.annotations.Argument;
+import javacli.annotations.Option;
+import javacli.parser.ParseListener;
+
+import java.util.*;
+
+import static javacli.TestRunner.check;
+import static javacli.TestRunner.checkEquals;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class OptionParserListenerTest
+//
+// Tests of OptionParser.parse with a ParseListener
+//
+public class OptionParserListenerTest {
+
+    public static class Top {
+        @Option(name = "verbose", abbreviation = 'v', isFlag = true, type = boolean.class)
+        public static boolean verbose;
+
+        @Option(name = "tag", abbreviation = 't', nargs = 1)
+        public static String tag;
+
+        @Argument(name = "file")
+        public static String file;
+    }
+
+    public static class Sub {
+        @Option(name = "depth", nargs = 2)
+        public static List<String> depth;
+    }
+
+
+    // A listener that records each event as text, copying the values
+    private static class Recorder implements ParseListener {
+        private final List<String> events = new ArrayList<>();
+
+        @Override
+        public void onCommand(Class<?> commandClass) {
+            this.events.add("command:" + commandClass.getSimpleName());
+        }
+
+        @Override
+        public void onOption(Option option, List<String> values) {
+            this.events.add(option.name() + "=" + values);
+        }
+
+        @Override
+        public void onPositional(String argument) {
+            this.events.add("arg:" + argument);
+        }
+
+        @Override
+        public void onEnd() {
+            this.events.add("end");
+        }
+    }
+
+
+    private static OptionParser parser() {
+        return new OptionParser(new ArrayList<>(List.of(Top.class, Sub.class)));
+    }
+
+
+    public static void testEventsInOrder() throws Exception {
+        Top.verbose = false;
+        Top.tag = null;
+        Recorder recorder = new Recorder();
+        parser().parse(List.of("-v", "a", "--tag=x", "Sub", "--depth", "1", "2", "-t", "y", "b"), recorder);
+
+        checkEquals(List.of("verbose=[true]", "arg:a", "tag=[x]", "command:Sub", "depth=[1, 2]", "tag=[y]", "arg:b", "end"), recorder.events);
+        checkEquals(false, Top.verbose); // Nothing is bound
+        checkEquals(null, Top.tag);
+    }
+
+
+    public static void testArgumentsAreReadLazily() throws Exception {
+        int count = 100000;
+        int[] produced = {0};
+        Iterable<String> args = () -> new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return produced[0] < count;
+            }
+
+            @Override
+            public String next() {
+                return (produced[0]++ % 2 == 0) ? "-t" : "value";
+            }
+        };
+
+        int[] seen = {0};
+        parser().parse(args, new ParseListener() {
+            @Override
+            public void onOption(Option option, List<String> values) {
+                check(produced[0] == 2 * (seen[0] + 1), "each option is passed on as soon as it is read");
+                seen[0]++;
+            }
+        });
+        checkEquals(count / 2, seen[0]);
+    }
+
+
+    public static void testMistakesAreThrown() {
+        TestRunner.Result result = TestRunner.run(args -> parser().parse(Arrays.asList(args), new Recorder()), "--nope");
+        checkEquals(1, result.status);
+        check(!result.out.contains("usage:"), "the help message is not printed, got " + result.out);
+    }
+
+
+    public static void testListenerExceptionsAreThrown() throws Exception {
+        try {
+            parser().parse(List.of("a"), new ParseListener() {
+                @Override
+                public void onPositional(String argument) {
+                    throw new IllegalStateException("stop at " + argument);
+                }
+            });
+            check(false, "the exception is thrown");
+        } catch (IllegalStateException e) {
+            checkEquals("stop at a", e.getMessage());
+        }
+    }
+
+}
+// end: public class OptionParserListenerTest
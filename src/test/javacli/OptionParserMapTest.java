@@ -0,0 +1,74 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// OptionParserMapTest.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli;
+
+
+import javacli.annotations.Option;
+
+import java.util.*;
+
+import static javacli.TestRunner.check;
+import static javacli.TestRunner.checkEquals;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class OptionParserMapTest
+//
+// Tests of map options, which collect key=value arguments
+//
+public class OptionParserMapTest {
+
+    public static class Defines {
+        @Option(name = "define", abbreviation = 'D', nargs = 1, type = Integer.class, isMap = true, keyPatterns = {"[a-z.]+"})
+        public static Map<String, Integer> define;
+
+        @Option(name = "property", abbreviation = 'P', nargs = 1, isMap = true)
+        public static Map<String, String> property;
+    }
+
+
+    public static void testEverySpelling() {
+        checkEquals(0, TestRunner.run(new OptionParser(Defines.class)::parse,
+                "-Da=1", "-D", "b=2", "--define", "c=3", "--define=d=4").status);
+        checkEquals(Map.of("a", 1, "b", 2, "c", 3, "d", 4), Defines.define);
+    }
+
+
+    public static void testLaterKeysReplaceEarlierOnes() {
+        checkEquals(0, TestRunner.run(new OptionParser(Defines.class)::parse, "-Dlimit=1", "-Dlimit=2").status);
+        checkEquals(Map.of("limit", 2), Defines.define);
+    }
+
+
+    public static void testValuesKeepCommasAndEquals() {
+        checkEquals(0, TestRunner.run(new OptionParser(Defines.class)::parse, "-Pjvm=-Xmx1g,-Xss2m", "-Purl=a=b").status);
+        checkEquals(Map.of("jvm", "-Xmx1g,-Xss2m", "url", "a=b"), Defines.property);
+    }
+
+
+    public static void testKeyPatterns() {
+        TestRunner.Result result = TestRunner.run(new OptionParser(Defines.class)::parse, "-DLimit=1");
+        checkEquals(1, result.status); // Keys are checked as the values are converted, whose mistakes are thrown
+        check(result.out.contains("Limit"), "the rejected key is named, got " + result.out);
+    }
+
+
+    public static void testMissingEquals() {
+        TestRunner.Result result = TestRunner.run(new OptionParser(Defines.class)::parse, "-Dlimit");
+        check(result.status != 0, "a value without a key is rejected");
+    }
+
+
+    public static void testValuesAreConverted() {
+        TestRunner.Result result = TestRunner.run(new OptionParser(Defines.class)::parse, "-Dlimit=ten");
+        check(result.status != 0, "a value that is not a number is rejected");
+    }
+
+}
+// end: public class OptionParserMapTest
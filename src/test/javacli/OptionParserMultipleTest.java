@@ -0,0 +1,106 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// OptionParserMultipleTest.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli;
+
+
+import javacli.annotations.Option;
+
+import java.util.*;
+
+import static javacli.TestRunner.check;
+import static javacli.TestRunner.checkEquals;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class OptionParserMultipleTest
+//
+// Tests of options that can be used more than once
+//
+public class OptionParserMultipleTest {
+
+    public static class Repeated {
+        @Option(name = "verbose", abbreviation = 'v', isFlag = true, type = boolean.class, multiple = true, doCount = true)
+        public static boolean verbose;
+
+        @Option(name = "tag", abbreviation = 't', nargs = 1, multiple = true)
+        public static List<String> tag;
+
+        @Option(name = "level", nargs = 1, type = int.class, multiple = true)
+        public static List<Integer> level;
+
+        @Option(name = "name", nargs = 1, multiple = true)
+        public static String name;
+    }
+
+    public static class FlagList {
+        @Option(name = "verbose", isFlag = true, type = boolean.class, multiple = true)
+        public static List<Boolean> verbose;
+    }
+
+
+    public static void testMultipleFlag() {
+        Repeated.verbose = false;
+        OptionParser parser = new OptionParser(Repeated.class);
+        checkEquals(0, TestRunner.run(parser::parse, "-v").status);
+        checkEquals(true, Repeated.verbose);
+
+        checkEquals(1, parser.getCount("verbose"));
+        checkEquals(0, TestRunner.run(parser::parse, "-vv", "--verbose").status);
+        checkEquals(true, Repeated.verbose);
+        checkEquals(3, parser.getCount("verbose"));
+    }
+
+
+    public static void testCountsStartOverEachParse() throws Exception {
+        OptionParser parser = new OptionParser(Repeated.class);
+        for (int i = 0; i < 3; i++) {
+            checkEquals(0, TestRunner.run(parser::parse, "-vv").status);
+            checkEquals(2, parser.getCount("verbose"));
+        }
+        checkEquals(0, TestRunner.run(parser::parse, "--name", "x").status);
+        checkEquals(0, parser.getCount("verbose"));
+
+        checkEquals(2, parser.parseLazily("-vv").getCount("verbose"));
+        checkEquals(1, parser.parseLazily("-v").getCount("verbose"));
+    }
+
+
+    public static void testMultipleListUsedOnce() {
+        checkEquals(0, TestRunner.run(new OptionParser(Repeated.class)::parse, "-t", "a", "--level", "2").status);
+        checkEquals(List.of("a"), Repeated.tag);
+        checkEquals(List.of(2), Repeated.level);
+    }
+
+
+    public static void testMultipleScalarUsedOnce() {
+        checkEquals(0, TestRunner.run(new OptionParser(Repeated.class)::parse, "--name", "x").status);
+        checkEquals("x", Repeated.name);
+    }
+
+
+    public static void testBoundListIsReadOnly() {
+        checkEquals(0, TestRunner.run(new OptionParser(Repeated.class)::parse, "-t", "a", "-t", "b", "--tag=c").status);
+        checkEquals(List.of("a", "b", "c"), Repeated.tag);
+
+        boolean threw = false;
+        try { Repeated.tag.clear(); }
+        catch (UnsupportedOperationException e) { threw = true; }
+        check(threw, "clear() of the bound list throws");
+        checkEquals(3, Repeated.tag.size());
+    }
+
+
+    public static void testFlagCannotBeAList() {
+        TestRunner.Result result = TestRunner.run(new OptionParser(FlagList.class)::parse, "--verbose");
+        checkEquals(1, result.status); // A mistake in the definitions is thrown
+        check(result.out.contains("variable type does not match option type"), "the definition is rejected, got " + result.out);
+    }
+
+}
+// end: public class OptionParserMultipleTest
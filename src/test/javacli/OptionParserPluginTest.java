@@ -0,0 +1,121 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// OptionParserPluginTest.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli;
+
+
+import javacli.annotations.Command;
+import javacli.annotations.Option;
+import javacli.helper.CommandIndex;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static javacli.TestRunner.check;
+import static javacli.TestRunner.checkEquals;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class OptionParserPluginTest
+//
+// Tests of plugin commands listed in index files (see CommandIndex)
+//
+public class OptionParserPluginTest {
+
+    public static class Tool {
+        @Option(name = "verbose", isFlag = true, type = boolean.class)
+        public static boolean verbose;
+    }
+
+    @Command(name = "deploy", help = "Deploy a build")
+    public static class Deploy {
+        static {
+            deployLoaded = true;
+        }
+
+        @Option(name = "env", nargs = 1)
+        public static String env;
+    }
+
+    private static boolean deployLoaded; // Set when Deploy is initialized, which only selecting it should do
+
+
+    // A class loader that sees an index file with the given lines
+    private static ClassLoader pluginLoader(String... lines) throws Exception {
+        Path root = Files.createTempDirectory("javacli");
+        Path indexFile = root.resolve(CommandIndex.INDEX_FILE);
+        Files.createDirectories(indexFile.getParent());
+        Files.write(indexFile, Arrays.asList(lines));
+
+        // Files are deleted on exit in the reverse of the order they were registered in, so parents go first
+        Path path = root;
+        path.toFile().deleteOnExit();
+        for (Path part : root.relativize(indexFile)) {
+            path = path.resolve(part);
+            path.toFile().deleteOnExit();
+        }
+
+        return new URLClassLoader(new URL[] {root.toUri().toURL()}, OptionParserPluginTest.class.getClassLoader());
+    }
+
+
+    private static final String[] INDEX = {
+            "# name, class, and help",
+            "deploy\t" + Deploy.class.getName() + "\tDeploy a build",
+            "malformed",
+            "broken\tno.such.Command\tNot installed",
+    };
+
+
+    public static void testIndex() throws Exception {
+        CommandIndex index = CommandIndex.load(pluginLoader(INDEX));
+        List<String> names = new ArrayList<>();
+        for (CommandIndex.Entry entry : index.getCommands()) names.add(entry.getName());
+
+        checkEquals(List.of("deploy", "broken"), names); // Comments and malformed lines are skipped
+        checkEquals("Deploy a build", index.get("deploy").getHelp());
+        checkEquals(null, index.get("malformed"));
+    }
+
+
+    public static void testHelpListsCommandsWithoutLoadingThem() throws Exception {
+        OptionParser parser = new OptionParser(Tool.class);
+        parser.enablePluginCommands(pluginLoader(INDEX));
+        TestRunner.Result result = TestRunner.run(parser::parse, "--help");
+
+        checkEquals(0, result.status);
+        check(result.out.contains("deploy") && result.out.contains("Deploy a build"), "got " + result.out);
+        check(!deployLoaded, "--help does not load the plugin classes");
+    }
+
+
+    public static void testSelectingACommand() throws Exception {
+        OptionParser parser = new OptionParser(Tool.class);
+        parser.enablePluginCommands(pluginLoader(INDEX));
+        checkEquals(0, TestRunner.run(parser::parse, "--verbose", "deploy", "--env", "prod").status);
+
+        check(deployLoaded, "selecting the command loads its class");
+        checkEquals("prod", Deploy.env);
+        checkEquals(true, Tool.verbose);
+    }
+
+
+    public static void testMissingClass() throws Exception {
+        OptionParser parser = new OptionParser(Tool.class);
+        parser.enablePluginCommands(pluginLoader(INDEX));
+        TestRunner.Result result = TestRunner.run(parser::parse, "broken");
+
+        check(result.status != 0, "a command whose class is missing is rejected");
+        check(result.out.contains("no.such.Command"), "the class is named, got " + result.out);
+    }
+
+}
+// end: public class OptionParserPluginTest
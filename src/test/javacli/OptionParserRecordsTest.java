@@ -0,0 +1,78 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// OptionParserRecordsTest.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli;
+
+
+import javacli.annotations.Argument;
+import javacli.annotations.Format;
+import javacli.io.RecordWriter;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static javacli.TestRunner.check;
+import static javacli.TestRunner.checkEquals;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class OptionParserRecordsTest
+//
+// Tests of OptionParser.records and --format
+//
+public class OptionParserRecordsTest {
+
+    @Format(defaultFormat = "csv")
+    public static class Formatted {
+        @Argument(name = "name")
+        public static String name;
+    }
+
+
+    private static TestRunner.Result writeRecord(OptionParser parser, String... argv) {
+        return TestRunner.run(args -> {
+            try (parser) {
+                parser.parse(args);
+                RecordWriter writer = parser.records("name", "size");
+                writer.write(Formatted.name, 1);
+            }
+        }, argv);
+    }
+
+
+    public static void testDefaultFormat() {
+        TestRunner.Result result = writeRecord(new OptionParser(Formatted.class), "a,b");
+        checkEquals(0, result.status);
+        checkEquals("name,size\n\"a,b\",1\n", result.out);
+    }
+
+
+    public static void testFormatOption() {
+        TestRunner.Result result = writeRecord(new OptionParser(Formatted.class), "--format", "jsonl", "a");
+        checkEquals(0, result.status);
+        checkEquals("{\"name\":\"a\",\"size\":1}\n", result.out);
+
+        checkEquals(2, writeRecord(new OptionParser(Formatted.class), "--format", "xml", "a").status);
+    }
+
+
+    public static void testRecordsAfterCacheHit() throws Exception {
+        Path cacheFile = Files.createTempFile("javacli", ".cache");
+        cacheFile.toFile().deleteOnExit();
+
+        for (int run = 0; run < 2; run++) {
+            OptionParser parser = new OptionParser(Formatted.class);
+            parser.enableCache(cacheFile);
+            TestRunner.Result result = writeRecord(parser, "a");
+            checkEquals(0, result.status);
+            check(result.out.endsWith("a,1\n"), "run " + run + " writes the record, got " + result.out);
+        }
+    }
+
+}
+// end: public class OptionParserRecordsTest
@@ -0,0 +1,97 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// OptionParserScopeTest.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli;
+
+
+import javacli.annotations.Argument;
+import javacli.annotations.Option;
+
+import java.util.*;
+
+import static javacli.TestRunner.check;
+import static javacli.TestRunner.checkEquals;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class OptionParserScopeTest
+//
+// Tests of sub commands, which see the options of the commands selected before them
+//
+public class OptionParserScopeTest {
+
+    public static class Top {
+        @Option(name = "verbose", abbreviation = 'v', isFlag = true, type = boolean.class)
+        public static boolean verbose;
+
+        @Option(name = "level", nargs = 1, type = int.class)
+        public static int level;
+
+        @Argument(name = "file")
+        public static String file;
+    }
+
+    public static class Sub {
+        @Option(name = "level", nargs = 1, type = int.class)
+        public static int level;
+
+        @Option(name = "depth", abbreviation = 'd', nargs = 1, type = int.class)
+        public static int depth;
+
+        @Argument(name = "target")
+        public static String target;
+    }
+
+
+    private static TestRunner.Result parse(String... argv) {
+        Top.verbose = false;
+        Top.level = 0;
+        Top.file = null;
+        Sub.level = 0;
+        Sub.depth = 0;
+        Sub.target = null;
+        return TestRunner.run(new OptionParser(new ArrayList<>(List.of(Top.class, Sub.class)))::parse, argv);
+    }
+
+
+    public static void testParentOptionsAfterTheSubCommand() {
+        checkEquals(0, parse("Sub", "-v", "-d", "2", "out").status);
+        checkEquals(true, Top.verbose); // Set on the class that defines it
+        checkEquals(2, Sub.depth);
+    }
+
+
+    public static void testParentOptionsInAShortCluster() {
+        checkEquals(0, parse("Sub", "-vd2", "out").status);
+        checkEquals(true, Top.verbose);
+        checkEquals(2, Sub.depth);
+    }
+
+
+    public static void testSubCommandOptionsHideParentOptions() {
+        checkEquals(0, parse("--level", "1", "Sub", "--level", "2", "out").status);
+        checkEquals(1, Top.level);
+        checkEquals(2, Sub.level);
+    }
+
+
+    public static void testArgumentsBelongToTheLastCommand() {
+        checkEquals(0, parse("Sub", "out").status);
+        checkEquals("out", Sub.target);
+        checkEquals(null, Top.file);
+    }
+
+
+    public static void testSubCommandOptionsBeforeTheSubCommand() {
+        TestRunner.Result result = parse("--depth", "2", "Sub", "out");
+        checkEquals(2, result.status);
+        check(result.out.contains("a specified option does not exist"), "got " + result.out);
+    }
+
+}
+// end: public class OptionParserScopeTest
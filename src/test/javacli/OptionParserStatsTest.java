@@ -0,0 +1,87 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// OptionParserStatsTest.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli;
+
+
+import javacli.annotations.Option;
+import javacli.helper.RuntimeStats;
+
+import java.util.*;
+
+import static javacli.TestRunner.check;
+import static javacli.TestRunner.checkEquals;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class OptionParserStatsTest
+//
+// Tests of the reserved --stats option
+//
+public class OptionParserStatsTest {
+
+    public static class Plain {
+        @Option(name = "name", nargs = 1)
+        public static String name;
+    }
+
+    public static class OwnStats {
+        @Option(name = "stats", nargs = 1)
+        public static String stats;
+    }
+
+
+    public static void testText() {
+        TestRunner.Result result = TestRunner.run(new OptionParser(Plain.class)::parse, "--stats", "text");
+        checkEquals(0, result.status);
+        check(result.err.startsWith("javacli stats\n"), "the report is printed to the standard error, got " + result.err);
+        for (String phase : List.of("startup", "schema", "parse", "bind", "handler", "peak heap", "classes"))
+            check(result.err.contains("\t  " + phase + "\t: ") || result.err.contains("\t" + phase + "\t: "), "the report has " + phase);
+        checkEquals("", result.out);
+    }
+
+
+    public static void testJson() {
+        TestRunner.Result result = TestRunner.run(new OptionParser(Plain.class)::parse, "--stats=json", "--name", "x");
+        checkEquals(0, result.status);
+        String report = result.err.trim();
+        check(report.startsWith("{\"phasesMs\":{\"startup\":") && report.endsWith("}}"), "got " + report);
+        check(report.contains("\"peakHeapBytes\":") && report.contains("\"gc\":["), "got " + report);
+        checkEquals("x", Plain.name);
+    }
+
+
+    public static void testOnlyWhenGiven() {
+        TestRunner.Result result = TestRunner.run(new OptionParser(Plain.class)::parse, "--name", "x");
+        checkEquals(0, result.status);
+        checkEquals("", result.err);
+    }
+
+
+    public static void testUnknownFormat() {
+        TestRunner.Result result = TestRunner.run(new OptionParser(Plain.class)::parse, "--stats", "xml");
+        check(result.status != 0 && result.out.contains("got xml"), "got " + result.out);
+
+        try {
+            new RuntimeStats("xml");
+            check(false, "an unknown format is rejected");
+        } catch (IllegalArgumentException e) {
+            check(e.getMessage().contains("got xml"), "the format is named");
+        }
+    }
+
+
+    public static void testCommandsKeepTheirOwnStatsOption() {
+        TestRunner.Result result = TestRunner.run(new OptionParser(OwnStats.class)::parse, "--stats", "xml");
+        checkEquals(0, result.status);
+        checkEquals("xml", OwnStats.stats);
+        checkEquals("", result.err);
+    }
+
+}
+// end: public class OptionParserStatsTest
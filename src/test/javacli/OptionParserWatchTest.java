@@ -0,0 +1,84 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// OptionParserWatchTest.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli;
+
+
+import javacli.annotations.Argument;
+import javacli.annotations.Watch;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static javacli.TestRunner.checkEquals;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class OptionParserWatchTest
+//
+// Tests of OptionParser.watch
+//
+public class OptionParserWatchTest {
+
+    @Watch
+    public static class Watched {
+        @Argument(name = "input", type = Path.class)
+        public static Path input;
+    }
+
+    public static class Unwatched {
+        @Argument(name = "input", type = Path.class)
+        public static Path input;
+    }
+
+
+    public static void testWithoutWatchRunsOnce() throws Exception {
+        List<Set<Path>> runs = new ArrayList<>();
+        OptionParser parser = new OptionParser(Watched.class);
+        TestRunner.Result result = TestRunner.run(argv -> {
+            parser.parse(argv);
+            parser.watch(runs::add);
+        }, "in.txt");
+
+        checkEquals(0, result.status);
+        checkEquals(List.of(Set.of()), runs);
+    }
+
+
+    public static void testWatchAfterCacheHit() throws Exception {
+        Path cacheFile = Files.createTempFile("javacli", ".cache");
+        cacheFile.toFile().deleteOnExit();
+
+        for (int run = 0; run < 2; run++) {
+            List<Set<Path>> runs = new ArrayList<>();
+            OptionParser parser = new OptionParser(Watched.class);
+            parser.enableCache(cacheFile);
+            TestRunner.Result result = TestRunner.run(argv -> {
+                parser.parse(argv);
+                parser.watch(runs::add);
+            }, "in.txt");
+
+            checkEquals(0, result.status);
+            checkEquals(1, runs.size());
+        }
+    }
+
+
+    public static void testWatchNeedsTheAnnotation() throws Exception {
+        OptionParser parser = new OptionParser(Unwatched.class);
+        TestRunner.Result result = TestRunner.run(argv -> {
+            parser.parse(argv);
+            parser.watch(changed -> { });
+        }, "in.txt");
+
+        checkEquals(1, result.status); // cliAssert throws
+    }
+
+}
+// end: public class OptionParserWatchTest
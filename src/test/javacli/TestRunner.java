@@ -0,0 +1,178 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// TestRunner.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli;
+
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class TestRunner
+//
+// Runs the tests of the library, without a test framework so they build with javac alone (see test.sh).
+// A test is a public static void method with no arguments whose name starts with "test", in one of the
+// classes listed below. It fails by throwing, ex: from check()
+//
+public class TestRunner {
+
+    private static final Class<?>[] TEST_CLASSES = {
+            CommandRunnerTest.class,
+            OptionParserCacheTest.class,
+            OptionParserWatchTest.class,
+            OptionParserRecordsTest.class,
+            OptionParserScopeTest.class,
+            OptionParserStatsTest.class,
+            OptionParserDefaultTest.class,
+            OptionParserIOTest.class,
+            OptionParserListenerTest.class,
+            OptionParserMapTest.class,
+            OptionParserMultipleTest.class,
+            OptionParserPluginTest.class,
+            javacli.helper.ArgumentBufferTest.class,
+            javacli.helper.CommandTokenizerTest.class,
+            javacli.helper.DelimiterScannerTest.class,
+            javacli.helper.GlobExpanderTest.class,
+            javacli.helper.NumberParserTest.class,
+            javacli.helper.ParsedDataTest.class,
+            javacli.helper.TypeConverterTest.class,
+            javacli.parser.ConstraintSetTest.class,
+            javacli.parser.ParseMachineTest.class,
+            javacli.parser.PathCheckSetTest.class,
+            javacli.parser.SchemaTest.class,
+            javacli.pipeline.FanOutTest.class,
+            javacli.pipeline.PipelineTest.class,
+    };
+
+
+    public static void main(String[] args) throws Exception {
+        int run = 0;
+        List<String> failures = new ArrayList<>();
+
+        for (Class<?> testClass : TEST_CLASSES) {
+            List<Method> tests = new ArrayList<>();
+            for (Method m : testClass.getDeclaredMethods()) {
+                if (m.getName().startsWith("test") && Modifier.isStatic(m.getModifiers()) && m.getParameterCount() == 0) tests.add(m);
+            }
+            tests.sort(Comparator.comparing(Method::getName)); // getDeclaredMethods has no order
+
+            for (Method test : tests) {
+                String name = testClass.getSimpleName() + "." + test.getName();
+                run++;
+                try {
+                    test.invoke(null);
+                    System.out.println("ok    " + name);
+                } catch (InvocationTargetException e) {
+                    failures.add(name);
+                    System.out.println("FAIL  " + name + ": " + e.getCause());
+                    e.getCause().printStackTrace(System.out);
+                }
+            }
+        }
+
+        System.out.println(run + " tests, " + failures.size() + " failed" + ((failures.isEmpty()) ? "" : ": " + failures));
+        if (!failures.isEmpty()) System.exit(1);
+    }
+
+
+    // ====================================================================================================
+    // public static void check
+    //
+    // Fails the test if a condition does not hold
+    //
+    // Arguments--
+    //
+    // condition:   the condition
+    //
+    // message:     what was expected, for the failure message
+    //
+    // Returns--
+    //
+    // None
+    //
+    public static void check(boolean condition, String message) {
+        if (!condition) throw new AssertionError(message);
+    }
+    // end: public static void check
+
+
+    // ====================================================================================================
+    // public static void checkEquals
+    //
+    // Fails the test if a value is not the expected one
+    //
+    // Arguments--
+    //
+    // expected:    the expected value
+    //
+    // actual:      the value
+    //
+    // Returns--
+    //
+    // None
+    //
+    public static void checkEquals(Object expected, Object actual) {
+        if (!Objects.equals(expected, actual)) throw new AssertionError("expected <" + expected + "> but got <" + actual + ">");
+    }
+    // end: public static void checkEquals
+
+
+    // ====================================================================================================
+    // public static Result run
+    //
+    // Runs a command in process with a CommandRunner, with empty standard input
+    //
+    // Arguments--
+    //
+    // command: the command
+    //
+    // argv:    the command line arguments
+    //
+    // Returns--
+    //
+    // The exit code and the output of the run
+    //
+    public static Result run(CommandRunner.Command command, String... argv) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        int status = new CommandRunner(command).run(argv, new ByteArrayInputStream(new byte[0]),
+                new PrintStream(out, true, StandardCharsets.UTF_8), new PrintStream(err, true, StandardCharsets.UTF_8));
+        return new Result(status, out.toString(StandardCharsets.UTF_8), err.toString(StandardCharsets.UTF_8));
+    }
+    // end: public static Result run
+
+
+    // ----------------------------------------------------------------------------------------------------
+    // public static class Result
+    //
+    // The exit code and output of a run
+    //
+    public static class Result {
+
+        public final int status;
+        public final String out;
+        public final String err;
+
+        private Result(int status, String out, String err) {
+            this.status = status;
+            this.out = out;
+            this.err = err;
+        }
+
+    }
+    // end: public static class Result
+
+}
+// end: public class TestRunner
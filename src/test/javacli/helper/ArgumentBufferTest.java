@@ -0,0 +1,49 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// ArgumentBufferTest.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.helper;
+
+
+import java.util.*;
+
+import static javacli.TestRunner.checkEquals;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class ArgumentBufferTest
+//
+// Tests of ArgumentBuffer
+//
+public class ArgumentBufferTest {
+
+    public static void testAppendGrowsInOrder() {
+        ArgumentBuffer buffer = new ArgumentBuffer();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            buffer.append("a" + i);
+            expected.add("a" + i);
+        }
+        buffer.appendAll(List.of("b", "c"));
+        expected.addAll(List.of("b", "c"));
+
+        checkEquals(expected, buffer);
+        checkEquals(102, buffer.size());
+    }
+
+
+    public static void testClearKeepsNothing() {
+        ArgumentBuffer buffer = new ArgumentBuffer();
+        buffer.appendAll(List.of("a", "b"));
+        buffer.clear();
+        checkEquals(List.of(), buffer);
+        buffer.append("c");
+        checkEquals(List.of("c"), buffer);
+    }
+
+}
+// end: public class ArgumentBufferTest
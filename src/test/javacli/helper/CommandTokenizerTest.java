@@ -0,0 +1,106 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// CommandTokenizerTest.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.helper;
+
+
+import javacli.OptionParser;
+import javacli.TestRunner;
+import javacli.annotations.Argument;
+import javacli.annotations.Option;
+import javacli.parser.Schema;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static javacli.TestRunner.check;
+import static javacli.TestRunner.checkEquals;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class CommandTokenizerTest
+//
+// Tests of CommandTokenizer, and of parsing command strings on many threads
+//
+public class CommandTokenizerTest {
+
+    public static class Chat {
+        @Option(name = "tag", abbreviation = 't', nargs = 1)
+        public static String tag;
+
+        @Argument(name = "user")
+        public static String user;
+    }
+
+
+    public static void testPlainArguments() throws Exception {
+        checkEquals(List.of("deploy", "--tag", "v1", "-v"), CommandTokenizer.tokenize("  deploy\t--tag v1 \n -v  "));
+        checkEquals(List.of(), CommandTokenizer.tokenize(" \t\n"));
+    }
+
+
+    public static void testQuotes() throws Exception {
+        checkEquals(List.of("release 2", "a'b", "$HOME \\n"), CommandTokenizer.tokenize("'release 2' \"a'b\" '$HOME \\n'"));
+        checkEquals(List.of("", "", "x"), CommandTokenizer.tokenize("\"\" '' x"));
+        checkEquals(List.of("ab c"), CommandTokenizer.tokenize("a\"b c\""));
+        checkEquals(List.of("a\"$`\\b\\n"), CommandTokenizer.tokenize("\"a\\\"\\$\\`\\\\b\\n\""));
+    }
+
+
+    public static void testBackslashes() throws Exception {
+        checkEquals(List.of("a b", "c"), CommandTokenizer.tokenize("a\\ b c"));
+        checkEquals(List.of("ab"), CommandTokenizer.tokenize("a\\\nb"));
+        checkEquals(List.of("ab"), CommandTokenizer.tokenize("\"a\\\nb\""));
+        checkEquals(List.of("a"), CommandTokenizer.tokenize("a \\")); // A trailing backslash is dropped
+
+        // A line continuation between arguments is removed entirely, as in a POSIX shell
+        checkEquals(List.of("a", "b"), CommandTokenizer.tokenize("a \\\n b"));
+        checkEquals(List.of("a", "b"), CommandTokenizer.tokenize("a \\\n\\\n b"));
+    }
+
+
+    public static void testUnclosedQuotes() {
+        for (String command : new String[] {"a 'b", "a \"b", "\"a\\\""}) {
+            TestRunner.Result result = TestRunner.run(argv -> CommandTokenizer.tokenize(command));
+            checkEquals(1, result.status);
+            check(result.out.contains("is not closed"), "the unclosed quote in " + command + " is reported");
+        }
+    }
+
+
+    public static void testSchemaParsesCommandsOnManyThreads() throws Exception {
+        Schema schema = Schema.of(Chat.class);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ParsedData>> results = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                String command = "--tag 'release " + i + "' user" + i;
+                results.add(executor.submit(() -> schema.parseCommand(command)));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                ParsedData data = results.get(i).get();
+                checkEquals("release " + i, data.getString("tag"));
+                checkEquals("user" + i, data.getArgument("user", String.class));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+
+    public static void testParseLazilyReturnsItsOwnResult() throws Exception {
+        OptionParser parser = new OptionParser(Chat.class);
+        ParsedData first = parser.parseLazily("-t one a");
+        ParsedData second = parser.parseLazily("-t two b");
+        checkEquals("one", first.getString("tag"));
+        checkEquals("a", first.getArgument("user", String.class));
+        checkEquals("two", second.getString("tag"));
+    }
+
+}
+// end: public class CommandTokenizerTest
@@ -0,0 +1,79 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// DelimiterScannerTest.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.helper;
+
+
+import java.util.*;
+
+import static javacli.TestRunner.check;
+import static javacli.TestRunner.checkEquals;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class DelimiterScannerTest
+//
+// Tests of DelimiterScanner and VectorDelimiterScanner. test.sh adds jdk.incubator.vector, so both scans run
+//
+public class DelimiterScannerTest {
+
+    // The offsets of a delimiter, found with charAt
+    private static List<Integer> expected(String text, char delimiter) {
+        List<Integer> offsets = new ArrayList<>();
+        for (int i = 0; i < text.length(); i++) if (text.charAt(i) == delimiter) offsets.add(i);
+        return offsets;
+    }
+
+    private static List<Integer> list(int[] offsets) {
+        List<Integer> list = new ArrayList<>();
+        for (int offset : offsets) list.add(offset);
+        return list;
+    }
+
+
+    public static void testVectorScanIsUsed() {
+        check(DelimiterScanner.isVectorized(), "test.sh runs the tests with jdk.incubator.vector");
+    }
+
+
+    public static void testShortText() {
+        for (String text : new String[] {"", ",", "a", "a,b", ",a,,b,", "no delimiter"}) {
+            checkEquals(expected(text, ','), list(DelimiterScanner.find(text, ',')));
+            checkEquals(expected(text, ','), list(DelimiterScanner.findScalar(text, ',')));
+        }
+    }
+
+
+    public static void testScansAgree() {
+        Random random = new Random(46);
+        // Lengths around the vector, block, and minimum lengths, where the tails are handled
+        for (int length : new int[] {255, 256, 257, 1000, 8191, 8192, 8193, 16384 + 31, 100_000}) {
+            for (double density : new double[] {0, 0.01, 0.5, 1}) {
+                char[] chars = new char[length];
+                for (int i = 0; i < length; i++)
+                    chars[i] = (random.nextDouble() < density) ? ',' : (char) ('0' + random.nextInt(10));
+                String text = new String(chars);
+
+                List<Integer> expected = expected(text, ',');
+                checkEquals(expected, list(VectorDelimiterScanner.find(text, ',')));
+                checkEquals(expected, list(DelimiterScanner.findScalar(text, ',')));
+                checkEquals(expected, list(DelimiterScanner.find(text, ',')));
+            }
+        }
+    }
+
+
+    public static void testCharactersOutsideAscii() {
+        // A char whose low or high byte is a comma (U+012C, U+2C2C) is not a comma
+        String text = "\u012C,\u2C2C".repeat(200) + "\u00E9,\u20AC";
+        checkEquals(expected(text, ','), list(VectorDelimiterScanner.find(text, ',')));
+        checkEquals(expected(text, '\u20AC'), list(VectorDelimiterScanner.find(text, '\u20AC')));
+    }
+
+}
+// end: public class DelimiterScannerTest
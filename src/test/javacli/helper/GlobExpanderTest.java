@@ -0,0 +1,111 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// GlobExpanderTest.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.helper;
+
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static javacli.TestRunner.check;
+import static javacli.TestRunner.checkEquals;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class GlobExpanderTest
+//
+// Tests of GlobExpander, including the splitting of its stream between threads
+//
+public class GlobExpanderTest {
+
+    private static Path tree; // Directories a0..a9, each with b0..b4, each with x.log and x.txt, and top.log at the root
+
+
+    private static synchronized Path tree() throws Exception {
+        if (tree != null) return tree;
+
+        tree = Files.createTempDirectory("javacli-glob");
+        Path root = tree;
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try (Stream<Path> paths = Files.walk(root)) {
+                paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            } catch (Exception ignored) {
+            }
+        }));
+        Files.createFile(tree.resolve("top.log"));
+        for (int a = 0; a < 10; a++) {
+            for (int b = 0; b < 5; b++) {
+                Path directory = Files.createDirectories(tree.resolve("a" + a).resolve("b" + b));
+                Files.createFile(directory.resolve("x.log"));
+                Files.createFile(directory.resolve("x.txt"));
+            }
+        }
+        return tree;
+    }
+
+    private static Set<Path> walk(String extension) throws Exception {
+        try (Stream<Path> paths = Files.walk(tree())) {
+            return paths.filter(p -> p.toString().endsWith(extension)).collect(Collectors.toSet());
+        }
+    }
+
+
+    public static void testRecursivePattern() throws Exception {
+        try (Stream<Path> matches = GlobExpander.expand(tree() + "/**/*.log")) {
+            List<Path> list = matches.collect(Collectors.toList());
+            checkEquals(50, list.size()); // ** needs at least one directory, as in PathMatcher
+            checkEquals(walk(".log").stream().filter(p -> !p.getFileName().toString().equals("top.log")).collect(Collectors.toSet()),
+                    new HashSet<>(list));
+        }
+    }
+
+
+    public static void testDepthOfPlainPatterns() throws Exception {
+        try (Stream<Path> matches = GlobExpander.expand(tree() + "/a1/*/x.txt")) {
+            checkEquals(5L, matches.count());
+        }
+        try (Stream<Path> matches = GlobExpander.expand(tree() + "/*.log")) {
+            checkEquals(List.of(tree().resolve("top.log")), matches.collect(Collectors.toList()));
+        }
+    }
+
+
+    public static void testSplitsCoverEveryMatchOnce() throws Exception {
+        try (Stream<Path> matches = GlobExpander.expand(tree() + "/**/x.txt")) {
+            // Split as a parallel stream would, and read each part separately
+            List<Spliterator<Path>> parts = new ArrayList<>(List.of(matches.spliterator()));
+            for (int round = 0; round < 6; round++) {
+                List<Spliterator<Path>> next = new ArrayList<>();
+                for (Spliterator<Path> part : parts) {
+                    Spliterator<Path> split = part.trySplit();
+                    if (split != null) next.add(split);
+                    next.add(part);
+                }
+                parts = next;
+            }
+            check(parts.size() > 1, "the walk can be split");
+
+            List<Path> found = new ArrayList<>();
+            for (Spliterator<Path> part : parts) part.forEachRemaining(found::add);
+            checkEquals(50, found.size());
+            checkEquals(walk(".txt"), new HashSet<>(found));
+        }
+    }
+
+
+    public static void testLiteralPatterns() {
+        checkEquals(List.of(Path.of("missing/file.txt")), GlobExpander.expand("missing/file.txt").collect(Collectors.toList()));
+        check(GlobExpander.isGlob("src/*.java") && GlobExpander.isGlob("a{b,c}") && !GlobExpander.isGlob("a/b.txt"), "glob characters are found");
+        checkEquals(Path.of("src/main"), GlobExpander.baseDirectory("src/main/**/*.java"));
+    }
+
+}
+// end: public class GlobExpanderTest
@@ -0,0 +1,88 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// NumberParserTest.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.helper;
+
+
+import javacli.OptionParser;
+import javacli.TestRunner;
+import javacli.annotations.Option;
+
+import java.time.Duration;
+
+import static javacli.TestRunner.check;
+import static javacli.TestRunner.checkEquals;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class NumberParserTest
+//
+// Tests of NumberParser and of the number types it converts
+//
+public class NumberParserTest {
+
+    public static class Sizes {
+        @Option(name = "count", abbreviation = 'n', nargs = 1, type = int.class)
+        public static int count;
+
+        @Option(name = "buffer", nargs = 1, type = ByteSize.class)
+        public static ByteSize buffer;
+    }
+
+
+    private static boolean rejects(Runnable parse) {
+        try { parse.run(); }
+        catch (NumberFormatException e) { return true; }
+        return false;
+    }
+
+
+    public static void testIntegersLikeLongDecode() {
+        for (String text : new String[] {"0", "123", "-123", "+7", "0x7B", "-0X7b", "#7B", "0173", "9223372036854775807", "-9223372036854775808"})
+            checkEquals(Long.decode(text), NumberParser.parseLong(text, 0, text.length()));
+
+        for (String text : new String[] {"", "-", "0x", "12a", "9223372036854775808", "64k", "1.5"})
+            check(rejects(() -> NumberParser.parseLong(text, 0, text.length())), text + " is rejected");
+
+        check(rejects(() -> NumberParser.parseInt("2147483648", 0, 10)), "an int must fit");
+        checkEquals(42L, NumberParser.parseLong("x=42;", 2, 4)); // Only the range is read
+    }
+
+
+    public static void testSizes() {
+        checkEquals(65536L, NumberParser.parseSize("64k", 0, 3));
+        checkEquals(2L << 30, NumberParser.parseSize("2G", 0, 2));
+        checkEquals(1L << 40, NumberParser.parseSize("1t", 0, 2));
+        checkEquals(100L, NumberParser.parseSize("100", 0, 3));
+        check(rejects(() -> NumberParser.parseSize("k", 0, 1)), "a suffix alone is rejected");
+        check(rejects(() -> NumberParser.parseSize("16777216t", 0, 9)), "an overflowing size is rejected");
+    }
+
+
+    public static void testDoublesAndDurations() {
+        for (String text : new String[] {"0", "1.5", "-2.25", "1e3", "123456789012345678", "0.1", "1e-30"})
+            checkEquals(Double.parseDouble(text), NumberParser.parseDouble(text, 0, text.length()));
+
+        checkEquals(Duration.ofMillis(500), NumberParser.parseDuration("500ms", 0, 5));
+        checkEquals(Duration.ofHours(2), NumberParser.parseDuration("2h", 0, 2));
+        checkEquals(Duration.ofMinutes(90), NumberParser.parseDuration("PT1H30M", 0, 7));
+    }
+
+
+    public static void testSuffixesAreOptIn() {
+        checkEquals(0, TestRunner.run(new OptionParser(Sizes.class)::parse, "-n", "64", "--buffer", "64k").status);
+        checkEquals(64, Sizes.count);
+        checkEquals(65536L, Sizes.buffer.toBytes());
+
+        TestRunner.Result result = TestRunner.run(new OptionParser(Sizes.class)::parse, "-n", "64k");
+        checkEquals(1, result.status); // A value that cannot be converted is thrown
+        check(result.out.contains("invalid argument type"), "64k is not an int, got " + result.out);
+    }
+
+}
+// end: public class NumberParserTest
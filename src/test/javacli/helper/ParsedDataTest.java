@@ -0,0 +1,128 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// ParsedDataTest.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.helper;
+
+
+import javacli.OptionParser;
+import javacli.annotations.Argument;
+import javacli.annotations.Option;
+
+import java.nio.file.Path;
+import java.util.*;
+
+import static javacli.TestRunner.check;
+import static javacli.TestRunner.checkEquals;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class ParsedDataTest
+//
+// Tests of the typed getters of the ParsedData returned by OptionParser.parseLazily
+//
+public class ParsedDataTest {
+
+    public static class Definitions {
+        @Option(name = "port", abbreviation = 'p', nargs = 1, type = int.class, defaultValue = "8080")
+        public static int port;
+
+        @Option(name = "name", nargs = 1)
+        public static String name;
+
+        @Option(name = "verbose", abbreviation = 'v', isFlag = true, type = boolean.class)
+        public static boolean verbose;
+
+        @Option(name = "ids", nargs = 2, type = Path.class)
+        public static List<Path> ids;
+
+        @Option(name = "define", abbreviation = 'D', nargs = 1, type = Integer.class, isMap = true)
+        public static Map<String, Integer> define;
+
+        @Argument(name = "file")
+        public static String file;
+
+        @Argument(name = "rest", type = Integer.class, variadic = true)
+        public static List<Integer> rest;
+    }
+
+
+    private static ParsedData parse(String... argv) throws Exception {
+        return new OptionParser(Definitions.class).parseLazily(argv);
+    }
+
+
+    private static void checkThrows(Class<? extends Exception> expected, Runnable code) {
+        try {
+            code.run();
+            check(false, "expected " + expected.getSimpleName());
+        } catch (Exception e) {
+            check(expected.isInstance(e), "expected " + expected.getSimpleName() + " but got " + e);
+        }
+    }
+
+
+    public static void testTypedGetters() throws Exception {
+        ParsedData data = parse("-p", "9000", "--name", "x", "-v", "--ids", "a,b", "-Dk=1", "in.txt", "1", "2");
+        checkEquals(9000, data.getInt("port"));
+        checkEquals("x", data.getString("name"));
+        checkEquals(true, data.getBoolean("verbose"));
+        checkEquals(List.of(Path.of("a"), Path.of("b")), data.getList("ids", Path.class));
+        checkEquals(Map.of("k", 1), data.getMap("define"));
+        checkEquals("in.txt", data.getArgument("file", String.class));
+        checkEquals(List.of(1, 2), data.getArgumentList("rest", Integer.class));
+    }
+
+
+    public static void testDefaults() throws Exception {
+        ParsedData data = parse("in.txt");
+        checkEquals(8080, data.getInt("port"));
+        checkEquals(false, data.getBoolean("verbose"));
+        checkEquals(null, data.get("name", String.class));
+        checkEquals(List.of(), data.getList("ids", Path.class));
+        checkEquals(Map.of(), data.getMap("define"));
+        checkEquals(List.of(), data.getArgumentList("rest", Integer.class));
+        check(!data.isSpecified("port"), "the default is not specified");
+        checkThrows(NoSuchElementException.class, () -> data.getString("name"));
+    }
+
+
+    public static void testFieldsAreNotSet() throws Exception {
+        Definitions.port = 0;
+        Definitions.file = null;
+        parse("-p", "9000", "in.txt");
+        checkEquals(0, Definitions.port);
+        checkEquals(null, Definitions.file);
+    }
+
+
+    public static void testValuesAreConvertedWhenRead() throws Exception {
+        ParsedData data = parse("-p", "ninety", "in.txt"); // The parse does not convert
+        checkEquals("ninety", data.getString("port"));
+        checkThrows(IllegalArgumentException.class, () -> data.getInt("port"));
+    }
+
+
+    public static void testValuesAreRemembered() throws Exception {
+        ParsedData data = parse("--ids", "a,b", "in.txt");
+        List<Path> ids = data.getList("ids", Path.class);
+        check(ids == data.getList("ids", Path.class), "the second read returns the same list");
+        checkThrows(UnsupportedOperationException.class, () -> ids.add(Path.of("c")));
+    }
+
+
+    public static void testMistakes() throws Exception {
+        ParsedData data = parse("--ids", "a,b", "in.txt");
+        checkThrows(IllegalStateException.class, () -> data.get("ids", Path.class)); // More than one value
+        checkThrows(IllegalArgumentException.class, () -> data.getMap("port")); // Not a map
+
+        ParsedData eager = new ParsedData(new HashMap<>(), new ArrayList<>());
+        checkThrows(IllegalStateException.class, () -> eager.getInt("port"));
+    }
+
+}
+// end: public class ParsedDataTest
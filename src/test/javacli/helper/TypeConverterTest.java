@@ -0,0 +1,83 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// TypeConverterTest.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.helper;
+
+
+import java.util.*;
+
+import static javacli.TestRunner.check;
+import static javacli.TestRunner.checkEquals;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class TypeConverterTest
+//
+// Tests of TypeConverter, including the parallel conversion of large lists
+//
+public class TypeConverterTest {
+
+    public enum Color { RED, GREEN }
+
+
+    private static List<String> numbers(int count) {
+        List<String> texts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) texts.add(Integer.toString(i));
+        return texts;
+    }
+
+
+    public static void testSingleValues() throws Exception {
+        checkEquals(Color.GREEN, TypeConverter.convert(Color.class, " GREEN"));
+        checkEquals(true, TypeConverter.convert(boolean.class, "true"));
+        checkEquals('x', TypeConverter.convert(char.class, "x"));
+        checkEquals(31, TypeConverter.convert(int.class, "0x1F"));
+        checkEquals("a", TypeConverter.convert(String.class, "a"));
+    }
+
+
+    public static void testLargeListsKeepTheirOrder() {
+        // Larger than the threshold for parallel conversion, with a partial last chunk
+        List<String> texts = numbers(100_003);
+
+        List<Object> values = TypeConverter.convertAll(Integer.class, texts);
+        checkEquals(texts.size(), values.size());
+        for (int i = 0; i < values.size(); i++) {
+            if (!values.get(i).equals(i)) checkEquals(i, values.get(i));
+        }
+    }
+
+
+    public static void testFirstFailureByIndexIsReported() {
+        for (int size : new int[] {10, 100_000}) {
+            List<String> texts = numbers(size);
+            texts.set(size - 1, "last");
+            texts.set(size / 2, "middle");
+
+            for (int run = 0; run < 5; run++) { // Chunks finish in any order, the lowest index must win every time
+                try {
+                    TypeConverter.convertAll(int.class, texts);
+                    check(false, "the list cannot be converted");
+                } catch (TypeConverter.ElementException e) {
+                    checkEquals(size / 2, e.getIndex());
+                    checkEquals("middle", e.getText());
+                }
+            }
+        }
+    }
+
+
+    public static void testUnknownType() {
+        boolean threw = false;
+        try { TypeConverter.convertAll(Object[].class, List.of("a")); }
+        catch (IllegalArgumentException e) { threw = true; }
+        check(threw, "a type without a conversion is rejected");
+    }
+
+}
+// end: public class TypeConverterTest
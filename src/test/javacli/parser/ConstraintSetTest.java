@@ -0,0 +1,113 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// ConstraintSetTest.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.parser;
+
+
+import javacli.OptionParser;
+import javacli.TestRunner;
+import javacli.annotations.Constraint;
+import javacli.annotations.Option;
+
+import java.util.*;
+
+import static javacli.TestRunner.check;
+import static javacli.TestRunner.checkEquals;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class ConstraintSetTest
+//
+// Tests of @Constraint rules, checked with ConstraintSet directly and through OptionParser
+//
+public class ConstraintSetTest {
+
+    // Rules over options o0 to o69 (given to forClass), so the masks take more than one word
+    @Constraint(type = Constraint.Type.MUTUALLY_EXCLUSIVE, options = {"o1", "o65"})
+    @Constraint(type = Constraint.Type.REQUIRED_TOGETHER, options = {"o2", "o3", "o66"})
+    @Constraint(type = Constraint.Type.AT_LEAST_ONE, options = {"o0", "o4", "o67"})
+    @Constraint(type = Constraint.Type.REQUIRES, when = "o68", options = {"o5", "o69"})
+    public static class Rules {
+    }
+
+    @Constraint(type = Constraint.Type.MUTUALLY_EXCLUSIVE, options = {"json", "csv"})
+    public static class Formats {
+        @Option(name = "json", isFlag = true, type = boolean.class)
+        public static boolean json;
+
+        @Option(name = "csv", isFlag = true, type = boolean.class)
+        public static boolean csv;
+    }
+
+    @Constraint(type = Constraint.Type.MUTUALLY_EXCLUSIVE, options = {"json", "xml"})
+    public static class UnknownOption {
+        @Option(name = "json", isFlag = true, type = boolean.class)
+        public static boolean json;
+    }
+
+
+    private static final List<String> OPTIONS = new ArrayList<>();
+    static {
+        for (int i = 0; i < 70; i++) OPTIONS.add("o" + i);
+    }
+
+
+    // Checks a set of specified options and returns the error printed, or null if they are allowed
+    private static String errorOf(String... specified) {
+        TestRunner.Result result = TestRunner.run(args -> ConstraintSet.forClass(Rules.class, OPTIONS).check(Arrays.asList(args)), specified);
+        return (result.status == 0) ? null : result.out;
+    }
+
+
+    public static void testAllowed() {
+        checkEquals(null, errorOf("o0"));
+        checkEquals(null, errorOf("o67", "o1", "o2", "o3", "o66"));
+        checkEquals(null, errorOf("o4", "o68", "o5", "o69", "unknown")); // Names of other commands are ignored
+    }
+
+
+    public static void testMutuallyExclusive() {
+        String error = errorOf("o0", "o1", "o65");
+        check(error != null && error.contains("mutually exclusive") && error.contains("[o1, o65]"), "got " + error);
+    }
+
+
+    public static void testRequiredTogether() {
+        String error = errorOf("o0", "o2", "o66");
+        check(error != null && error.contains("[o2, o66] also require [o3]"), "got " + error);
+    }
+
+
+    public static void testAtLeastOne() {
+        String error = errorOf("o1");
+        check(error != null && error.contains("expected at least one of [o0, o4, o67]"), "got " + error);
+    }
+
+
+    public static void testRequires() {
+        String error = errorOf("o0", "o68", "o69");
+        check(error != null && error.contains("option o68 requires [o5]"), "got " + error);
+    }
+
+
+    public static void testParse() {
+        checkEquals(0, TestRunner.run(new OptionParser(Formats.class)::parse, "--json").status);
+
+        TestRunner.Result result = TestRunner.run(new OptionParser(Formats.class)::parse, "--json", "--csv");
+        checkEquals(2, result.status);
+        check(result.out.contains("options [json, csv] cannot be used together"), "got " + result.out);
+    }
+
+
+    public static void testUnknownOptionInRule() {
+        TestRunner.Result result = TestRunner.run(new OptionParser(UnknownOption.class)::parse, "--json");
+        check(result.status != 0 && result.out.contains("in option xml"), "got " + result.out);
+    }
+
+}
+// end: public class ConstraintSetTest
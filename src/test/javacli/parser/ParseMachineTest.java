@@ -0,0 +1,143 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// ParseMachineTest.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.parser;
+
+
+import javacli.TestRunner;
+import javacli.annotations.Option;
+
+import java.util.*;
+
+import static javacli.TestRunner.check;
+import static javacli.TestRunner.checkEquals;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class ParseMachineTest
+//
+// Tests of ParseMachine, with a handler that records what the machine reads as text
+//
+public class ParseMachineTest {
+
+    public static class Definitions {
+        @Option(name = "list", abbreviation = 'l', nargs = -1)
+        public static String list;
+
+        @Option(name = "pair", abbreviation = 'p', nargs = 2)
+        public static String pair;
+
+        @Option(name = "all", abbreviation = 'a', nargs = 0)
+        public static boolean all;
+
+        @Option(name = "brief", abbreviation = 'b', nargs = 0)
+        public static boolean brief;
+
+        @Option(name = "name", abbreviation = 'n', nargs = 1)
+        public static String name;
+    }
+
+
+    // Runs the machine and returns one entry per event, ex: "list=[a, b]" or "arg:x"
+    private static List<String> read(String... argv) throws Exception {
+        List<String> events = new ArrayList<>();
+        new ParseMachine().run(Arrays.asList(argv).iterator(), new OptionScope(Definitions.class, null), null, new ParseMachine.Handler() {
+            @Override
+            public OptionScope onCommand(String word, OptionScope scope) {
+                return null;
+            }
+
+            @Override
+            public void onOption(OptionScope owner, Option option, List<String> values) {
+                events.add(option.name() + "=" + values);
+            }
+
+            @Override
+            public void onPositional(String argument) {
+                events.add("arg:" + argument);
+            }
+
+            @Override
+            public void onSpecialOption(String name) {
+                events.add("special:" + name);
+            }
+
+            @Override
+            public void onEnd(OptionScope scope) {
+            }
+        });
+        return events;
+    }
+
+
+    public static void testValueListsSplitLikeStringSplit() throws Exception {
+        String longList = "12,345,6789,".repeat(100) + ",,x,,"; // Long enough for the bulk scan of DelimiterScanner
+        for (String text : new String[] {"a,b,c", "a,,c", ",a", "a,b,,", "a", ",,", "", longList, ",".repeat(300)}) {
+            List<String> events = read("--list", text);
+            checkEquals(List.of("list=" + Arrays.asList(text.split(","))), events);
+        }
+    }
+
+
+    public static void testFixedArityList() throws Exception {
+        checkEquals(List.of("pair=[a, b]"), read("--pair=a,b"));
+        checkEquals(List.of("pair=[a, b]", "arg:c"), read("-p", "a", "b", "c"));
+
+        TestRunner.Result result = TestRunner.run(ParseMachineTest::read, "--pair=a,b,c");
+        checkEquals(1, result.status);
+        check(result.out.contains("incorrect number of arguments"), "a list with the wrong number of values is rejected");
+    }
+
+
+
+    public static void testShortClusters() throws Exception {
+        checkEquals(List.of("all=[true]", "brief=[true]"), read("-ab"));
+        checkEquals(List.of("all=[true]", "name=[x]"), read("-anx"));
+        checkEquals(List.of("all=[true]", "name=[x]"), read("-an=x"));
+        checkEquals(List.of("all=[true]", "name=[x]", "arg:y"), read("-an", "x", "y"));
+        checkEquals(List.of("name=[-a]"), read("-n", "-a")); // A value may start with "-"
+    }
+
+
+    public static void testLongOptions() throws Exception {
+        checkEquals(List.of("name=[x]"), read("--name=x"));
+        checkEquals(List.of("name=[x]"), read("--name", "x"));
+        checkEquals(List.of("name=[x]"), read("--name=", "x")); // An empty attached value means the value is the next token
+        checkEquals(List.of("name=[a=b]"), read("--name=a=b"));
+    }
+
+
+    public static void testEndOfOptions() throws Exception {
+        checkEquals(List.of("all=[true]", "arg:-b", "arg:--name", "arg:--"), read("-a", "--", "-b", "--name", "--"));
+        checkEquals(List.of("arg:-", "all=[true]"), read("-", "-a"));
+    }
+
+
+    public static void testSpecialOptions() throws Exception {
+        checkEquals(List.of("special:help"), read("--help"));
+        checkEquals(List.of("special:help", "all=[true]"), read("--help=x", "-a"));
+    }
+
+
+    public static void testMistakes() throws Exception {
+        TestRunner.Result unknown = TestRunner.run(ParseMachineTest::read, "--nope");
+        check(unknown.status != 0, "an unknown long option is rejected");
+        check(unknown.out.contains("a specified option does not exist"), "an unknown long option is named");
+
+        TestRunner.Result unknownShort = TestRunner.run(ParseMachineTest::read, "-az");
+        check(unknownShort.status != 0 && unknownShort.out.contains("in option z"), "an unknown abbreviation in a cluster is rejected");
+
+        TestRunner.Result missing = TestRunner.run(ParseMachineTest::read, "-a", "--name");
+        check(missing.status != 0 && missing.out.contains("missing an argument"), "an option without its value at the end is rejected");
+
+        TestRunner.Result flagValue = TestRunner.run(ParseMachineTest::read, "--all=yes");
+        check(flagValue.status != 0 && flagValue.out.contains("a flag option cannot have an argument"), "a flag with a value is rejected");
+    }
+
+}
+// end: public class ParseMachineTest
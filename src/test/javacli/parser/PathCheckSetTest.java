@@ -0,0 +1,116 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// PathCheckSetTest.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.parser;
+
+
+import javacli.OptionParser;
+import javacli.TestRunner;
+import javacli.annotations.Argument;
+import javacli.annotations.Option;
+import javacli.annotations.PathCheck;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static javacli.TestRunner.check;
+import static javacli.TestRunner.checkEquals;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class PathCheckSetTest
+//
+// Tests of @PathCheck, checked when the command line is parsed
+//
+public class PathCheckSetTest {
+
+    public static class Checked {
+        @Option(name = "input", nargs = 1, multiple = true, type = Path.class) @PathCheck(readable = true)
+        public static List<Path> input;
+
+        @Option(name = "output", nargs = 1, type = Path.class) @PathCheck(writableParent = true)
+        public static Path output;
+
+        @Option(name = "work", nargs = 1, type = File.class, defaultValue = "no-such-directory") @PathCheck(isDirectory = true)
+        public static File work;
+
+        @Argument(name = "files", type = Path.class, variadic = true) @PathCheck(mustExist = true)
+        public static List<Path> files;
+    }
+
+    public static class Sub {
+        @Argument(name = "target", type = Path.class) @PathCheck(mustExist = true)
+        public static Path target;
+    }
+
+
+    private static final Path directory = temporaryDirectory();
+
+    private static Path temporaryDirectory() {
+        try {
+            Path created = Files.createTempDirectory("javacli");
+            created.toFile().deleteOnExit();
+            return created;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String file(String name) throws Exception {
+        Path file = directory.resolve(name);
+        if (!Files.exists(file)) Files.createFile(file);
+        file.toFile().deleteOnExit();
+        return file.toString();
+    }
+
+    private static String missing(String name) {
+        return directory.resolve(name).toString();
+    }
+
+
+    public static void testPassingValues() throws Exception {
+        TestRunner.Result result = TestRunner.run(new OptionParser(Checked.class)::parse,
+                "--input", file("a"), "--input", file("b"), "--output", missing("out"), "--work", directory.toString(), file("c"), file("d"));
+        checkEquals(0, result.status); // The default of --work is not checked, and the output does not need to exist
+        checkEquals(List.of(Path.of(file("c")), Path.of(file("d"))), Checked.files);
+    }
+
+
+    public static void testEveryFailureIsReported() throws Exception {
+        TestRunner.Result result = TestRunner.run(new OptionParser(Checked.class)::parse,
+                "--input", missing("x"), "--output", missing("no/out"), "--work", file("a"), file("c"), missing("y"));
+        checkEquals(2, result.status);
+        check(result.out.contains("4 paths did not pass their checks"), "got " + result.out);
+        check(result.out.contains("in option input, " + missing("x") + " does not exist"), "got " + result.out);
+        check(result.out.contains("in option output, " + missing("no/out") + " is not in a writable directory"), "got " + result.out);
+        check(result.out.contains("in option work, " + file("a") + " is not a directory"), "got " + result.out);
+        check(result.out.contains("in argument files, " + missing("y") + " does not exist"), "got " + result.out);
+        check(!result.out.contains("in argument files, " + file("c")), "passing values are not reported");
+    }
+
+
+    public static void testOneFailure() {
+        TestRunner.Result result = TestRunner.run(new OptionParser(Checked.class)::parse, missing("z"));
+        checkEquals(2, result.status);
+        check(result.out.contains("a path did not pass its checks"), "got " + result.out);
+    }
+
+
+    public static void testSubCommandArguments() throws Exception {
+        List<Class<?>> classes = List.of(Checked.class, Sub.class);
+        checkEquals(0, TestRunner.run(new OptionParser(new ArrayList<>(classes))::parse, "--input", file("a"), "Sub", file("b")).status);
+
+        TestRunner.Result result = TestRunner.run(new OptionParser(new ArrayList<>(classes))::parse, "--input", missing("x"), "Sub", missing("y"));
+        checkEquals(2, result.status);
+        check(result.out.contains("in option input") && result.out.contains("in argument target"), "parent options are checked too, got " + result.out);
+    }
+
+}
+// end: public class PathCheckSetTest
@@ -0,0 +1,140 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// SchemaTest.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.parser;
+
+
+import javacli.TestRunner;
+import javacli.annotations.Argument;
+import javacli.annotations.Option;
+import javacli.helper.ParsedData;
+
+import java.util.*;
+
+import static javacli.TestRunner.check;
+import static javacli.TestRunner.checkEquals;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class SchemaTest
+//
+// Tests of schemas built with Schema.builder or read from a definition class
+//
+public class SchemaTest {
+
+    public static class Definitions {
+        @Option(name = "port", abbreviation = 'p', nargs = 1, type = int.class, defaultValue = "8080")
+        public static int port;
+
+        @Argument(name = "file")
+        public static String file;
+    }
+
+
+    private static Schema tool() throws Exception {
+        Schema push = Schema.builder("push").option("force").abbrev('f').flag().argument("refs").variadic().build();
+        return Schema.builder("tool").version("1.0", 'V')
+                .option("port").abbrev('p').type(int.class).nargs(1).defaultValue("8080")
+                .option("define").abbrev('D').map()
+                .command(push, "Push refs")
+                .build();
+    }
+
+
+    // Builds a schema in a CommandRunner and returns the error printed, or null if it was built
+    private static String buildError(SchemaBuilder builder) {
+        TestRunner.Result result = TestRunner.run(args -> builder.build());
+        return (result.status == 0) ? null : result.out;
+    }
+
+
+    public static void testParse() throws Exception {
+        ParsedData data = tool().parse("-p", "9000", "-Da=1", "-Db=2");
+        checkEquals(9000, data.getInt("port"));
+        checkEquals(Map.of("a", "1", "b", "2"), data.getMap("define"));
+        checkEquals("tool", data.getCommandName());
+    }
+
+
+    public static void testSubCommand() throws Exception {
+        ParsedData data = tool().parse("push", "-f", "-p", "1", "main", "dev");
+        checkEquals("push", data.getCommandName());
+        checkEquals(true, data.getBoolean("force"));
+        checkEquals(1, data.getInt("port")); // Options of the parent command stay valid
+        checkEquals(List.of("main", "dev"), data.getArgumentList("refs", String.class));
+
+        checkEquals(8080, tool().parse("push").getInt("port"));
+    }
+
+
+    public static void testSpecialOptions() throws Exception {
+        Schema tool = tool();
+        TestRunner.Result version = TestRunner.run(tool::parse, "-V");
+        checkEquals(0, version.status);
+        checkEquals("tool, version 1.0\n", version.out);
+
+        TestRunner.Result help = TestRunner.run(tool::parse, "push", "--help");
+        checkEquals(0, help.status);
+        check(help.out.contains("force"), "the help of the selected command is printed, got " + help.out);
+    }
+
+
+    public static void testMistakesAreThrown() throws Exception {
+        Schema tool = tool();
+        TestRunner.Result unknown = TestRunner.run(tool::parse, "--nope");
+        checkEquals(1, unknown.status);
+        check(unknown.out.contains("a specified option does not exist"), "got " + unknown.out);
+
+        TestRunner.Result extra = TestRunner.run(tool::parse, "extra");
+        checkEquals(1, extra.status);
+        check(extra.out.contains("expected 0, got 1"), "got " + extra.out);
+    }
+
+
+    public static void testBuildChecksTheDefinitions() {
+        check(buildError(Schema.builder("t").option("a").flag().option("a").flag()).contains("used more than once"), "duplicate names");
+        check(buildError(Schema.builder("t").option("a").abbrev('x').flag().option("b").abbrev('x').flag()).contains("used more than once"), "duplicate abbreviations");
+        check(buildError(Schema.builder("t").option("a").nargs(0)).contains("declared with 0 arguments"), "no arguments without flag()");
+        check(buildError(Schema.builder("t").option("a").nargs(2).defaultValue("x")).contains("defaultValue"), "a default for a list");
+        check(buildError(Schema.builder("t").option("a").nargs(1).type(Object.class)).contains("cannot be converted"), "an unconvertible type");
+        check(buildError(Schema.builder("t").argument("a").variadic().argument("b")).contains("variadic"), "a variadic argument that is not last");
+        checkEquals(null, buildError(Schema.builder("t").option("a").nargs(1).argument("b")));
+    }
+
+
+    public static void testBuilderMisuse() throws Exception {
+        try {
+            Schema.builder("t").abbrev('a');
+            check(false, "settings must follow option()");
+        } catch (IllegalStateException e) {
+            check(e.getMessage().contains("follow option()"), "got " + e.getMessage());
+        }
+
+        SchemaBuilder builder = Schema.builder("t");
+        builder.build();
+        try {
+            builder.option("late");
+            check(false, "a builder cannot be used after build()");
+        } catch (IllegalStateException e) {
+            check(e.getMessage().contains("already built"), "got " + e.getMessage());
+        }
+    }
+
+
+    public static void testSchemaOfAClass() throws Exception {
+        Schema schema = Schema.of(Definitions.class);
+        checkEquals(List.of("port"), schema.getOptionNames());
+        checkEquals('p', schema.getOption('p').abbreviation());
+
+        ParsedData data = schema.parse("in.txt");
+        checkEquals(8080, data.getInt("port"));
+        checkEquals("in.txt", data.getArgument("file", String.class));
+    }
+
+}
+// end: public class SchemaTest
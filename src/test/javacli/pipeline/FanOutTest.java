@@ -0,0 +1,184 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// FanOutTest.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.pipeline;
+
+
+import javacli.OptionParser;
+import javacli.TestRunner;
+import javacli.annotations.Argument;
+import javacli.annotations.ForEach;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static javacli.TestRunner.check;
+import static javacli.TestRunner.checkEquals;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class FanOutTest
+//
+// Tests of FanOut and OptionParser.forEach
+//
+public class FanOutTest {
+
+    public static class Definitions {
+        @Argument(name = "items", type = Integer.class, variadic = true) @ForEach(jobs = 4)
+        public static List<Integer> items;
+    }
+
+
+    // Counts the items in progress, and the most that were in progress at once
+    private static class Tracker {
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicInteger peak = new AtomicInteger();
+
+        private int run(int item) throws InterruptedException {
+            this.peak.accumulateAndGet(this.running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(5 + (item % 4) * 5); // Later items can finish before earlier ones
+                return item * 10;
+            } finally {
+                this.running.decrementAndGet();
+            }
+        }
+    }
+
+
+    // An iterator of 0 to count - 1 that records how many items were taken
+    private static class Counting implements Iterator<Integer> {
+        private final int count;
+        private int taken;
+
+        private Counting(int count) {
+            this.count = count;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.taken < this.count;
+        }
+
+        @Override
+        public Integer next() {
+            return this.taken++;
+        }
+    }
+
+
+    private static List<Integer> range(int count) {
+        List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < count; i++) items.add(i);
+        return items;
+    }
+
+
+    public static void testJobsLimitItemsInProgress() throws Exception {
+        Tracker tracker = new Tracker();
+        List<Integer> results = new ArrayList<>();
+        new FanOut().setJobs(3).run(range(24).iterator(), tracker::run, results::add);
+
+        check(tracker.peak.get() <= 3, "at most 3 items run at once, got " + tracker.peak.get());
+        checkEquals(24, results.size());
+    }
+
+
+    public static void testItemsAreTakenAsTheyFinish() throws Exception {
+        Counting items = new Counting(50);
+        List<Integer> takenAtEachResult = new ArrayList<>();
+        new FanOut().setJobs(2).setVirtualThreads(false).run(items, item -> item, result -> takenAtEachResult.add(items.taken));
+
+        // When the result of item i is output, at most jobs items after it have been taken
+        for (int i = 0; i < takenAtEachResult.size(); i++)
+            check(takenAtEachResult.get(i) <= i + 3, "item " + i + " was output after " + takenAtEachResult.get(i) + " items were taken");
+    }
+
+
+    public static void testOrderedOutput() throws Exception {
+        List<Integer> results = new ArrayList<>();
+        new FanOut().setJobs(4).run(range(16).iterator(), new Tracker()::run, results::add);
+
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 16; i++) expected.add(i * 10);
+        checkEquals(expected, results);
+    }
+
+
+    public static void testUnorderedOutput() throws Exception {
+        List<Integer> results = new ArrayList<>();
+        new FanOut().setJobs(4).setOrdered(false).run(range(16).iterator(), new Tracker()::run, results::add);
+
+        Set<Integer> expected = new HashSet<>();
+        for (int i = 0; i < 16; i++) expected.add(i * 10);
+        checkEquals(expected, new HashSet<>(results));
+        checkEquals(16, results.size());
+    }
+
+
+    public static void testFailFastThrowsTheFirstFailure() throws Exception {
+        Counting items = new Counting(1000);
+        try {
+            new FanOut().setJobs(2).run(items, item -> {
+                if (item == 3) throw new IllegalStateException("bad item");
+                return item;
+            }, result -> {});
+            check(false, "the failure is thrown");
+        } catch (IllegalStateException e) {
+            checkEquals("bad item", e.getMessage());
+        }
+        check(items.taken < 1000, "the run stops taking items after a failure");
+    }
+
+
+    public static void testCollectedFailures() throws Exception {
+        List<Integer> results = new ArrayList<>();
+        try {
+            new FanOut().setJobs(3).setFailFast(false).run(range(10).iterator(), item -> {
+                if (item % 4 == 1) throw new IllegalStateException("bad item " + item);
+                return item;
+            }, results::add);
+            check(false, "the failures are thrown");
+        } catch (Exception e) {
+            checkEquals("3 items failed", e.getMessage());
+            checkEquals(3, e.getSuppressed().length);
+            check(e.getSuppressed()[0].getMessage().startsWith("item 1 failed"), "a failure names its item");
+        }
+        checkEquals(List.of(0, 2, 3, 4, 6, 7, 8), results);
+    }
+
+
+    public static void testJobsMustBePositive() {
+        try {
+            new FanOut().setJobs(0);
+            check(false, "0 jobs is rejected");
+        } catch (IllegalArgumentException e) {
+            check(e.getMessage().contains("got 0"), "the error has the value");
+        }
+    }
+
+
+    public static void testForEachWithJobsOption() throws Exception {
+        for (String[] argv : new String[][] {{"1", "2", "3", "4", "5", "6", "7", "8"}, {"--jobs", "1", "1", "2", "3", "4", "5", "6", "7", "8"}}) {
+            Tracker tracker = new Tracker();
+            List<Integer> results = new ArrayList<>();
+            OptionParser parser = new OptionParser(Definitions.class);
+            TestRunner.Result result = TestRunner.run(args -> {
+                parser.parse(args);
+                parser.forEach("items", (Integer item) -> tracker.run(item), results::add);
+            }, argv);
+
+            checkEquals(0, result.status);
+            checkEquals(List.of(10, 20, 30, 40, 50, 60, 70, 80), results);
+            int limit = (argv[0].equals("--jobs")) ? 1 : 4;
+            check(tracker.peak.get() <= limit, "at most " + limit + " items run at once, got " + tracker.peak.get());
+        }
+    }
+
+}
+// end: public class FanOutTest
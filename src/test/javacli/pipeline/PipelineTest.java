@@ -0,0 +1,186 @@
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// PipelineTest.java
+// Java-CLI
+//
+// Created by agent on 10/19/26
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+
+
+package javacli.pipeline;
+
+
+import javacli.OptionParser;
+import javacli.TestRunner;
+import javacli.annotations.Command;
+import javacli.annotations.Option;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static javacli.TestRunner.check;
+import static javacli.TestRunner.checkEquals;
+
+
+// +=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=+=
+// public class PipelineTest
+//
+// Tests of Pipe and Pipeline
+//
+public class PipelineTest {
+
+    public static class Tool {
+    }
+
+    @Command(name = "count")
+    public static class Count {
+        @Option(name = "to", nargs = 1, type = int.class)
+        public static int to;
+    }
+
+    @Command(name = "times")
+    public static class Times {
+        @Option(name = "by", nargs = 1, type = int.class, defaultValue = "2")
+        public static int by;
+
+        @Option(name = "fail-at", nargs = 1, type = int.class, defaultValue = "-1")
+        public static int failAt;
+    }
+
+    @Command(name = "head")
+    public static class Head {
+        @Option(name = "lines", nargs = 1, type = int.class, defaultValue = "3")
+        public static int lines;
+    }
+
+    @Command(name = "collect")
+    public static class Collect {
+    }
+
+    @Command(name = "unused")
+    public static class Unused {
+    }
+
+
+    private static final List<Object> collected = Collections.synchronizedList(new ArrayList<>());
+
+
+    private static Pipeline pipeline() {
+        OptionParser parser = new OptionParser(new ArrayList<>(List.of(Tool.class, Count.class, Times.class, Head.class, Collect.class, Unused.class)));
+        collected.clear();
+        return new Pipeline(parser)
+                .setCapacity(2) // Small, so the stages wait on each other
+                .stage(Count.class, (args, input, output) -> {
+                    for (int i = 1; i <= args.getInt("to"); i++) output.put(i);
+                })
+                .stage(Times.class, (args, input, output) -> {
+                    for (Object r; (r = input.take()) != null; ) {
+                        if ((int) r == args.getInt("fail-at")) throw new IllegalStateException("failed at " + r);
+                        output.put((int) r * args.getInt("by"));
+                    }
+                })
+                .stage(Head.class, (args, input, output) -> {
+                    for (int i = 0; i < args.getInt("lines"); i++) {
+                        Object r = input.take();
+                        if (r == null) return;
+                        output.put(r);
+                    }
+                })
+                .stage(Collect.class, (args, input, output) -> {
+                    for (Object r; (r = input.take()) != null; ) collected.add(r);
+                });
+    }
+
+
+    public static void testPipe() throws Exception {
+        Pipe<String> pipe = new Pipe<>(3); // Room for the end, since close() waits for space like put()
+        pipe.put("a");
+        pipe.put("b");
+        pipe.close();
+        checkEquals("a", pipe.take());
+        checkEquals("b", pipe.take());
+        checkEquals(null, pipe.take());
+        checkEquals(null, pipe.take()); // Stays ended
+
+        checkEquals(null, Pipe.empty().take());
+        Pipe<String> discarding = Pipe.discarding();
+        discarding.put("dropped");
+        checkEquals(null, discarding.take());
+    }
+
+
+    public static void testClosedReadingBreaksThePipe() throws Exception {
+        Pipe<String> pipe = new Pipe<>(1);
+        pipe.put("a");
+        Thread writer = new Thread(() -> {
+            try { pipe.put("b"); pipe.put("c"); }
+            catch (Pipe.BrokenPipeException | InterruptedException e) { return; }
+            throw new IllegalStateException("the writer was not stopped");
+        });
+        writer.start();
+
+        Thread.sleep(20); // The writer waits on the full pipe
+        pipe.closeReading();
+        writer.join(5000);
+        check(!writer.isAlive(), "a writer waiting on a full pipe is freed");
+
+        try {
+            pipe.put("d");
+            check(false, "put after closeReading is refused");
+        } catch (Pipe.BrokenPipeException e) {
+            check(e.getMessage().contains("stopped reading"), "the error explains why");
+        }
+        pipe.close(); // Does not wait for space
+    }
+
+
+    public static void testStageThatStopsReadingEndsTheStagesBeforeIt() throws Exception {
+        List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+        Thread run = new Thread(() -> {
+            try { pipeline().run(new String[] {"count", "--to", "1000000", "+", "times", "+", "head", "--lines", "3", "+", "collect"}); }
+            catch (Throwable t) { failures.add(t); }
+        });
+        run.start();
+        run.join(10000);
+
+        check(!run.isAlive(), "the pipeline ends when a stage stops reading early");
+        checkEquals(List.of(), failures);
+        checkEquals(List.of(2, 4, 6), collected);
+    }
+
+
+    public static void testStagesAreConnected() throws Exception {
+        pipeline().run(new String[] {"count", "--to", "50", "+", "times", "--by", "3", "+", "times", "+", "collect"});
+
+        List<Object> expected = new ArrayList<>();
+        for (int i = 1; i <= 50; i++) expected.add(i * 6);
+        checkEquals(expected, collected);
+    }
+
+
+    public static void testFailureStopsTheOtherStages() throws Exception {
+        try {
+            // The first stage is left waiting on a full pipe, which the failure interrupts
+            pipeline().run(new String[] {"count", "--to", "100000", "+", "times", "--fail-at", "5", "+", "collect"});
+            check(false, "the failure is thrown");
+        } catch (IllegalStateException e) {
+            checkEquals("failed at 5", e.getMessage());
+        }
+        check(collected.size() <= 4, "no records pass the failed stage, got " + collected);
+    }
+
+
+    public static void testEveryCommandIsParsedFirst() {
+        AtomicBoolean ran = new AtomicBoolean();
+        Pipeline pipeline = pipeline().stage(Count.class, (args, input, output) -> ran.set(true));
+
+        TestRunner.Result mistake = TestRunner.run(pipeline::run, "count", "--to", "1", "+", "collect", "--nope");
+        check(mistake.status != 0, "a mistake in the last command is rejected");
+        check(!ran.get(), "no stage runs before every command is parsed");
+
+        TestRunner.Result unregistered = TestRunner.run(pipeline::run, "count", "--to", "1", "+", "unused");
+        check(unregistered.status != 0 && unregistered.out.contains("no stage is registered for Unused"), "got " + unregistered.out);
+        check(!ran.get(), "no stage runs if one is not registered");
+    }
+
+}
+// end: public class PipelineTest
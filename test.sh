@@ -0,0 +1,7 @@
+# Builds the library together with the tests in src/test and runs them (see src/test/javacli/TestRunner.java).
+# The tests run on the class path, so module-info.java is left out
+# The Vector API is added so the vector scan of DelimiterScanner is tested too. It warns that it is incubating
+rm -rf ./src/test-jv
+javac --add-modules jdk.incubator.vector -d ./src/test-jv $(find ./src/src/javacli ./src/test -name '*.java') || exit 1
+
+java --add-modules jdk.incubator.vector -cp ./src/test-jv javacli.TestRunner